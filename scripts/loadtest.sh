@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# 추천 API 종단간 부하 테스트
+#
+# 사용법:
+#   1) 데이터 생성 (한 번):  java -jar app.jar --spring.profiles.active=prod,datagen --app.datagen.exit-after-load=true
+#   2) 애플리케이션 기동:    java -jar app.jar --spring.profiles.active=prod,stub-llm
+#   3) scripts/loadtest.sh [RATE] [DURATION]
+#
+# k6 시나리오(scripts/loadtest/recommendations.js)를 실행하고, 끝나면 서버 측 통계
+# (입장 제어, 모델 라우팅, 캐시, DataSource 풀)를 같은 리포트 디렉터리에 저장한다.
+# USER_ID_MIN / USER_ID_MAX 를 주지 않으면 DB 의 user_id 범위를 조회한다 (mysql 클라이언트 필요).
+set -euo pipefail
+
+RATE="${1:-${RATE:-20}}"
+DURATION="${2:-${DURATION:-5m}}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+REPORT_DIR="${REPORT_DIR:-build/loadtest}"
+DB_NAME="${DB_NAME:-secondhandmarketplacedb}"
+
+if ! command -v k6 >/dev/null 2>&1; then
+  echo "k6 not found (https://k6.io/docs/get-started/installation/)" >&2
+  exit 1
+fi
+if ! curl -sf -o /dev/null "${BASE_URL}/api/admission/stats"; then
+  echo "application is not reachable at ${BASE_URL}" >&2
+  exit 1
+fi
+
+if [[ -z "${USER_ID_MIN:-}" || -z "${USER_ID_MAX:-}" ]]; then
+  read -r USER_ID_MIN USER_ID_MAX < <(mysql -N -u "${DB_USERNAME:-root}" -p"${DB_PASSWORD:-1234}" "${DB_NAME}" \
+    -e "SELECT MIN(user_id), MAX(user_id) FROM user")
+fi
+
+mkdir -p "${REPORT_DIR}"
+export BASE_URL RATE DURATION REPORT_DIR USER_ID_MIN USER_ID_MAX
+
+status=0
+k6 run scripts/loadtest/recommendations.js || status=$?
+
+# 서버 측 통계 스냅샷 (부하 직후)
+stamp="$(date +%Y%m%dT%H%M%S)"
+for endpoint in admission/stats llm/routing/stats cache/stats datasource/stats; do
+  name="${endpoint//\//-}"
+  curl -sf "${BASE_URL}/api/${endpoint}" > "${REPORT_DIR}/server-${name}-${stamp}.json" || rm -f "${REPORT_DIR}/server-${name}-${stamp}.json"
+done
+
+echo "reports written to ${REPORT_DIR}"
+exit "${status}"
@@ -0,0 +1,116 @@
+// /api/recommendations 부하 시나리오 (k6)
+//
+// 고정 도착률(open model)로 요청을 보내서 서버가 느려져도 부하가 줄지 않게 한다.
+// 요청 문장은 단순(조건만) / 복합(자유 서술) 을 섞고, userId 는 생성된 사용자 범위에서 고른다.
+//
+// 환경 변수:
+//   BASE_URL      (기본 http://localhost:8080)
+//   USER_ID_MIN / USER_ID_MAX  (datagen 로그의 "Generated user ids a..b")
+//   RATE          목표 초당 요청 수 (기본 20)
+//   DURATION      유지 시간 (기본 5m)
+//   DEADLINE_MS   X-Request-Deadline-Ms 헤더 (기본 10000)
+//   REPORT_DIR    리포트 저장 위치 (기본 build/loadtest)
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USER_ID_MIN = parseInt(__ENV.USER_ID_MIN || '1', 10);
+const USER_ID_MAX = parseInt(__ENV.USER_ID_MAX || '2', 10);
+const RATE = parseInt(__ENV.RATE || '20', 10);
+const DURATION = __ENV.DURATION || '5m';
+const DEADLINE_MS = __ENV.DEADLINE_MS || '10000';
+const REPORT_DIR = __ENV.REPORT_DIR || 'build/loadtest';
+
+const shed = new Counter('shed_503');
+
+const SIMPLE_REQUESTS = [
+  '아이폰 50만원 이하 가격순',
+  '맥북 100만원 이하',
+  '서울 강남구 노트북',
+  '갤럭시 30만원 이상 50만원 이하',
+  '이어폰 인기순',
+  '모니터 20만원 이하 가격순',
+];
+const COMPLEX_REQUESTS = [
+  '자취방에서 쓸 가성비 좋은 모니터 추천해줘 너무 크지 않았으면 좋겠어',
+  '졸업 선물로 줄 만한 상태 좋은 이어폰 찾아줘 매너점수 4점 이상인 판매자로',
+  '전공 수업 과제용으로 가벼운 노트북이 필요한데 배터리 오래 가는 걸로',
+  '게임도 조금 하고 영상 편집도 할 수 있는 태블릿이나 노트북 보여줘',
+];
+
+export const options = {
+  scenarios: {
+    recommendations: {
+      executor: 'ramping-arrival-rate',
+      startRate: Math.max(1, Math.floor(RATE / 4)),
+      timeUnit: '1s',
+      preAllocatedVUs: RATE * 2,
+      maxVUs: RATE * 20,
+      stages: [
+        { target: RATE, duration: '1m' },
+        { target: RATE, duration: DURATION },
+        { target: 0, duration: '30s' },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    'http_req_duration{expected_response:true}': ['p(99)<10000'],
+    http_req_failed: ['rate<0.05'],
+  },
+};
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+export default function () {
+  const simple = Math.random() < 0.7;
+  const body = JSON.stringify({
+    userRequest: simple ? pick(SIMPLE_REQUESTS) : pick(COMPLEX_REQUESTS),
+    userId: USER_ID_MIN + Math.floor(Math.random() * (USER_ID_MAX - USER_ID_MIN + 1)),
+  });
+  const response = http.post(`${BASE_URL}/api/recommendations`, body, {
+    headers: { 'Content-Type': 'application/json', 'X-Request-Deadline-Ms': DEADLINE_MS },
+    tags: { kind: simple ? 'simple' : 'complex' },
+    responseCallback: http.expectedStatuses(200, 503),
+    timeout: '30s',
+  });
+  if (response.status === 503) {
+    shed.add(1);
+  }
+  check(response, { 'status is 200 or 503': (r) => r.status === 200 || r.status === 503 });
+}
+
+// 처리량 / 지연 분위수 / 실패율 리포트 (JSON 원본 + 요약 마크다운)
+export function handleSummary(data) {
+  const metric = (name) => (data.metrics[name] ? data.metrics[name].values : {});
+  const duration = metric('http_req_duration{expected_response:true}');
+  const all = metric('http_req_duration');
+  const requests = metric('http_reqs');
+  const failed = metric('http_req_failed');
+  const shedCount = metric('shed_503').count || 0;
+  const ms = (value) => (value === undefined ? '-' : value.toFixed(1));
+  const stamp = new Date().toISOString().replace(/[:.]/g, '-');
+
+  const report = [
+    `# /api/recommendations load test (${new Date().toISOString()})`,
+    '',
+    `- target rate: ${RATE} req/s, steady duration: ${DURATION}`,
+    `- requests: ${requests.count || 0}, throughput: ${(requests.rate || 0).toFixed(2)} req/s`,
+    `- failed (non 200/503): ${((failed.rate || 0) * 100).toFixed(2)}%, shed (503): ${shedCount}`,
+    '',
+    '| latency (ms) | avg | p50 | p90 | p95 | p99 | max |',
+    '|---|---|---|---|---|---|---|',
+    `| expected responses | ${ms(duration.avg)} | ${ms(duration.med)} | ${ms(duration['p(90)'])} | ${ms(duration['p(95)'])} | ${ms(duration['p(99)'])} | ${ms(duration.max)} |`,
+    `| all responses | ${ms(all.avg)} | ${ms(all.med)} | ${ms(all['p(90)'])} | ${ms(all['p(95)'])} | ${ms(all['p(99)'])} | ${ms(all.max)} |`,
+    '',
+  ].join('\n');
+
+  return {
+    stdout: report,
+    [`${REPORT_DIR}/summary-${stamp}.json`]: JSON.stringify(data, null, 2),
+    [`${REPORT_DIR}/report-${stamp}.md`]: report,
+  };
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# 기동 시간 / 첫 요청까지 걸린 시간(time-to-first-request) 비교 스크립트
+#
+# 사용법:
+#   ./gradlew cdsArchive            # build/cds/app.jsa, build/cds/classpath.txt 생성 (MySQL 필요)
+#   scripts/measure-startup.sh [반복횟수]
+#
+# 같은 클래스패스로 (1) CDS 없이 (2) CDS 아카이브로 prod 프로필을 기동하고,
+# Spring 이 출력하는 "Started ... in N seconds" 와 첫 HTTP 응답까지의 시간을 측정해 표로 출력한다.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/cache/stats"
+MAIN_CLASS="ac.su.kdt.secondhandmarketplace.SecondhandmarketplaceApplication"
+CDS_DIR="build/cds"
+ARCHIVE="${CDS_DIR}/app.jsa"
+CLASSPATH_FILE="${CDS_DIR}/classpath.txt"
+
+if [[ ! -f "${ARCHIVE}" || ! -f "${CLASSPATH_FILE}" ]]; then
+  echo "CDS archive not found. Run ./gradlew cdsArchive first." >&2
+  exit 1
+fi
+CP="$(cat "${CLASSPATH_FILE}")"
+
+now_ms() { date +%s%3N; }
+
+# $1: label, 나머지: 추가 JVM 옵션
+measure() {
+  local label="$1"; shift
+  local log; log="$(mktemp)"
+  local start; start="$(now_ms)"
+  java "$@" -cp "${CP}" "${MAIN_CLASS}" --spring.profiles.active=prod --server.port="${PORT}" >"${log}" 2>&1 &
+  local pid=$!
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "application exited, see ${log}" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  local ttfr=$(( $(now_ms) - start ))
+  local started; started="$(grep -o 'Started .* in [0-9.]* seconds' "${log}" | grep -o 'in [0-9.]*' | cut -d' ' -f2)"
+  kill "${pid}"; wait "${pid}" 2>/dev/null || true
+  rm -f "${log}"
+  printf '%-10s %10s %12s\n' "${label}" "${started}" "${ttfr}"
+}
+
+printf '%-10s %10s %12s\n' "mode" "started(s)" "ttfr(ms)"
+for _ in $(seq "${RUNS}"); do
+  measure "baseline" -Xshare:auto
+  measure "appcds" -Xshare:auto -XX:SharedArchiveFile="${ARCHIVE}"
+done
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// LLM 호출 입장 제어 설정 등록
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+}
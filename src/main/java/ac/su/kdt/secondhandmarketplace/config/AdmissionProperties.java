@@ -0,0 +1,45 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// LLM 호출 입장 제어 설정 (app.admission.*)
+// 버킷 단위는 LLM 토큰 (요청마다 예상 토큰만큼 차감, 응답 후 실제 사용량으로 정산)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private int maxConcurrent = 8;             // 동시에 진행하는 LLM 호출 수
+    private int queueCapacity = 64;            // 대기열 최대 길이
+    private long defaultDeadlineMs = 10000;    // 요청 마감 시간 기본값 (X-Request-Deadline-Ms 헤더로 변경 가능)
+    private long initialLatencyMs = 3000;      // 지연 통계가 쌓이기 전 LLM 호출 예상 지연
+    private int maxOutputTokens = 1000;        // 예상 토큰 계산 시 응답 토큰 여유분
+    private Bucket global = new Bucket(200000, 2000);  // 전체 할당량 (Perplexity quota)
+    private Bucket perUser = new Bucket(20000, 100);   // 사용자(또는 IP) 별 할당량
+    private AnswerCache answerCache = new AnswerCache();
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        private double capacity;         // 최대 적립 토큰
+        private double refillPerSecond;  // 초당 충전 토큰
+
+        public Bucket() {
+        }
+
+        public Bucket(double capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class AnswerCache {
+        private long maximumSize = 1000;        // 과부하 시 대신 내줄 최근 응답 캐시 크기
+        private long expireAfterWriteSeconds = 600;
+    }
+}
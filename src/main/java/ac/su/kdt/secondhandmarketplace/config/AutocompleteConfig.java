@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// 검색어 자동완성 설정 등록
+@Configuration
+@EnableConfigurationProperties(AutocompleteProperties.class)
+public class AutocompleteConfig {
+}
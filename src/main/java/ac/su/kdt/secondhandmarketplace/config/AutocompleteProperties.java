@@ -0,0 +1,28 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 검색어 자동완성 설정 (app.autocomplete.*)
+// 제안 가중치 = 상품명 매물 수 x title-weight + 카테고리 x category-weight x log2(2 + 매물 수) + 검색 횟수 x query-weight
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.autocomplete")
+public class AutocompleteProperties {
+
+    private boolean enabled = true;
+    private int maxSuggestions = 10;           // 노드마다 미리 계산해 두는 상위 K (응답 최대 개수)
+    private double titleWeight = 1.0;
+    private double categoryWeight = 20.0;
+    private double queryWeight = 3.0;
+    private double queryDecay = 0.8;           // 재구성마다 검색 횟수에 곱하는 감쇠 (오래된 유행 검색어 정리)
+    private double minQueryCount = 0.5;        // 감쇠 후 이보다 작은 검색어는 사전에서 제거
+    private int minQueryLength = 2;            // 검색 로그로 받는 검색어 길이 범위 (글자)
+    private int maxQueryLength = 30;
+    private int minDistinctClients = 3;        // 검색어를 제안으로 노출하기 전에 필요한 서로 다른 사용자(IP) 수 (개인 문장/조작 방지)
+    private int stagingCapacity = 10000;       // 아직 노출 기준에 못 미친 검색어를 모아 두는 최대 개수
+    private long stagingTtlMs = 86400000;      // 대기 검색어 보관 기간 (마지막 검색 이후)
+    private int maxWordStarts = 4;             // 중간 단어로도 찾을 수 있게 넣는 단어 시작 위치 수
+    private long rebuildIntervalMs = 1800000;  // DB 에서 사전 전체 재구성 주기
+}
@@ -0,0 +1,12 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// 합성 데이터 생성기 설정 등록 (datagen 프로필에서만)
+@Configuration
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGeneratorConfig {
+}
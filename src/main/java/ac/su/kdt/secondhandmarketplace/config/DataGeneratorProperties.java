@@ -0,0 +1,29 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 합성 데이터 생성기 설정 (app.datagen.*, datagen 프로필)
+// 개수 중 "평균" 은 상품 하나당 기하분포 평균 (상품마다 0건 ~ 긴 꼬리)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+
+    private long seed = 20240101L;              // 같은 시드 + 같은 설정이면 같은 데이터
+    private int universities = 40;
+    private int users = 200_000;
+    private int products = 1_000_000;           // 이미 이만큼 상품이 있으면 생성하지 않음
+    private double soldRatio = 0.3;             // 거래 완료(거래 + 판매완료 상태) 비율
+    private double reservedRatio = 0.05;        // 예약중 비율
+    private double reviewRatio = 0.7;           // 거래 중 리뷰가 달리는 비율
+    private double repostRatio = 0.02;          // 같은 판매자가 직전 매물을 다시 올리는 비율 (근접 중복)
+    private double chatRoomsPerProduct = 1.5;   // 평균 채팅방 수
+    private double messagesPerRoom = 8;         // 평균 메시지 수
+    private double viewLogsPerProduct = 6;      // 평균 조회 활동 로그 수
+    private double viewCountPerProduct = 40;    // 평균 조회수 컬럼 값
+    private int historyDays = 730;              // 등록 시간 분포 기간 (오늘부터 과거로)
+    private int batchSize = 2000;               // 배치 INSERT 크기 (상품 기준, 하위 테이블은 같은 묶음으로)
+    private boolean exitAfterLoad = false;      // 생성 후 애플리케이션 종료
+}
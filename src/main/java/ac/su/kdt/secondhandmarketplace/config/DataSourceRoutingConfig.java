@@ -0,0 +1,72 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 읽기/쓰기 분리 DataSource 구성
+// app.datasource.replicas.enabled=true 일 때만 기본 DataSource 자동 구성을 대체한다.
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    // 쓰기(primary) 풀: spring.datasource.* / spring.datasource.hikari.* 그대로 사용
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 DataSourceProperties dataSourceProperties,
+                                                                 ReplicaDataSourceProperties replicaProperties) {
+        Map<String, HikariDataSource> replicaPools = new LinkedHashMap<>();
+        replicaProperties.getPools().forEach((name, pool) -> {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setJdbcUrl(pool.getUrl());
+            replica.setUsername(pool.getUsername() != null ? pool.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(pool.getPassword() != null ? pool.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(pool.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicaPools.put(name, replica);
+        });
+        routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource, replicaPools, replicaProperties.getMaxLagSeconds());
+        return routingDataSource;
+    }
+
+    // JPA/Flyway 가 사용하는 DataSource
+    // 트랜잭션의 readOnly 플래그가 정해진 뒤 첫 쿼리 시점에 실제 커넥션을 얻도록 지연 프록시로 감싼다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:1000}")
+    public void refreshReplicaHealth() {
+        if (routingDataSource != null) {
+            routingDataSource.refreshReplicaHealth();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// 상품 이미지 저장/썸네일 설정 등록
+@Configuration
+@EnableConfigurationProperties(ImageProperties.class)
+public class ImageConfig {
+}
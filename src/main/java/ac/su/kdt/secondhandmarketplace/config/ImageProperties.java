@@ -0,0 +1,24 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 상품 이미지 저장/썸네일 설정 (app.images.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.images")
+public class ImageProperties {
+
+    private String storageDir = "data/images";                        // 원본/썸네일 저장 디렉터리
+    private long maxBytes = 10 * 1024 * 1024;                         // 업로드 파일 최대 크기
+    private long maxPixels = 40_000_000;                              // 디코딩 허용 최대 픽셀 수 (압축 폭탄 방지)
+    private List<Integer> thumbnailSizes = new ArrayList<>(List.of(200, 640));  // 썸네일 긴 변 길이
+    private float thumbnailQuality = 0.8f;                            // 썸네일 JPEG 품질
+    private int thumbnailWorkers = 2;                                 // 썸네일 생성 스레드 수
+    private int thumbnailQueueCapacity = 256;                         // 썸네일 생성 대기열 크기
+    private long cacheMaxAgeSeconds = 31_536_000;                     // 내용 해시 URL 이라 변하지 않으므로 1년
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// LLM 모델 라우팅 설정 등록
+@Configuration
+@EnableConfigurationProperties(ModelRoutingProperties.class)
+public class ModelRoutingConfig {
+}
@@ -0,0 +1,39 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// LLM 모델 라우팅 설정 (app.llm.routing.*)
+// 단순한 요청은 빠르고 저렴한 모델, 나머지는 상위 모델로 보낸다
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.llm.routing")
+public class ModelRoutingProperties {
+
+    private boolean enabled = true;              // false 면 항상 상위 모델 (기존 동작)
+    private boolean escalationEnabled = true;    // 단순 모델 응답이 불확실하면 상위 모델로 재요청
+    private int simpleMaxCandidates = 30;        // 단순 모델에 보낼 수 있는 최대 후보 상품 수
+    private int simpleMaxFreeTokens = 1;         // 추출 조건으로 설명되지 않는 단어 허용 개수
+    private int simpleMaxChatChars = 200;        // 일반 채팅을 단순 모델로 보낼 최대 프롬프트 길이
+    private int latencyWindow = 256;             // 모델별 지연 분위수 계산에 쓰는 최근 호출 수
+    private Model simple = new Model("sonar", 400, 3000);
+    private Model complex = new Model("sonar-pro", 1000, 10000);
+
+    @Getter
+    @Setter
+    public static class Model {
+        private String name;        // Perplexity 모델 이름
+        private int maxTokens;      // max_tokens
+        private long latencySloMs;  // 지연 목표 (단순 모델은 넘기면 상위 모델로 재요청)
+
+        public Model() {
+        }
+
+        public Model(String name, int maxTokens, long latencySloMs) {
+            this.name = name;
+            this.maxTokens = maxTokens;
+            this.latencySloMs = latencySloMs;
+        }
+    }
+}
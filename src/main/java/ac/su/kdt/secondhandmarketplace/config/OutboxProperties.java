@@ -0,0 +1,22 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 변경 이벤트 outbox / relay 설정 (app.outbox.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;             // false 면 relay 를 시작하지 않는다 (outbox 기록은 계속)
+    private long pollIntervalMs = 500;          // 다른 노드의 쓰기를 확인하는 주기 (이 노드의 커밋은 즉시 깨움)
+    private int batchSize = 500;                // 한 번에 읽어 전달하는 이벤트 수
+    private long gapWaitMs = 60000;             // ID 빈 자리를 커밋 전 트랜잭션으로 보고 기다리는 시간 (가장 긴 쓰기 트랜잭션보다 길게, 아카이브/재구성 배치 포함)
+    private int maxAttempts = 10;               // 묶음 전달 연속 실패 허용 횟수 (넘으면 한 건씩 전달하고 실패한 이벤트는 건너뜀)
+    private long maxBackoffMs = 60000;          // 재시도 간격 상한 (pollIntervalMs 부터 두 배씩)
+    private long retentionHours = 72;           // 이벤트 보존 기간 (재생 가능한 범위)
+    private int purgeBatchSize = 5000;          // 정리 시 한 번에 지우는 행 수
+    private long purgeIntervalMs = 600000;      // 정리 주기
+}
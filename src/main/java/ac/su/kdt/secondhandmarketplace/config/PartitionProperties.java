@@ -0,0 +1,27 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 대학교 단위 파티셔닝 설정 (app.partition.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.partition")
+public class PartitionProperties {
+
+    private boolean pinningEnabled = false;         // 대학교 파티션을 노드에 고정 (담당 노드가 아니면 307 리다이렉트)
+    private String selfUrl;                         // 이 노드의 외부 URL (노드 고정 시 nodes 중 하나와 같아야 함, 아니면 기동 실패)
+    private List<String> nodes = new ArrayList<>(); // 파티션을 나눠 갖는 노드 URL 목록
+    private CandidateCache candidateCache = new CandidateCache();
+
+    @Getter
+    @Setter
+    public static class CandidateCache {
+        private long maximumSizePerUniversity = 1000;  // 대학교별 추천 후보 캐시 최대 항목 수
+        private long expireAfterWriteSeconds = 60;     // 대학교별 추천 후보 캐시 만료 시간
+    }
+}
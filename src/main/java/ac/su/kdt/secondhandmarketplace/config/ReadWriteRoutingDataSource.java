@@ -0,0 +1,148 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 읽기/쓰기 분리 DataSource
+// - @Transactional(readOnly = true) 트랜잭션은 복제본(replica) 풀로 라운드로빈 라우팅
+// - 그 외(쓰기, 트랜잭션 없음)는 primary 로 라우팅
+// - 복제 지연이 임계값을 넘거나 연결에 실패한 replica 는 건너뛰고, 모두 불가하면 primary 로 폴백
+// LazyConnectionDataSourceProxy 로 감싸서 readOnly 플래그가 설정된 뒤에 커넥션을 얻도록 해야 한다.
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicLong primaryRoutedCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicaPools, long maxLagSeconds) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaPools.forEach((name, pool) -> {
+            targets.put(name, pool);
+            replicas.add(new Replica(name, pool));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            primaryRoutedCount.incrementAndGet();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replica.routedCount.incrementAndGet();
+                return replica.name;
+            }
+        }
+        // 사용 가능한 replica 가 없으면 primary 에서 읽는다
+        fallbackCount.incrementAndGet();
+        primaryRoutedCount.incrementAndGet();
+        return PRIMARY;
+    }
+
+    /**
+     * 각 replica 의 복제 지연을 확인해 라우팅 대상 여부를 갱신합니다.
+     * - SHOW REPLICA STATUS 의 Seconds_Behind_Source 가 임계값 초과 / NULL(복제 중단) 이면 제외
+     * - 복제 설정이 없는 인스턴스(로컬 테스트용 단독 MySQL)는 지연 0 으로 간주
+     */
+    public void refreshReplicaHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                Long lag = 0L;
+                if (rs.next()) {
+                    long value = rs.getLong("Seconds_Behind_Source");
+                    lag = rs.wasNull() ? null : value;
+                }
+                replica.lagSeconds = lag;
+                boolean healthy = lag != null && lag <= maxLagSeconds;
+                if (replica.healthy != healthy) {
+                    log.warn("Replica {} routing {} (lag={}s)", replica.name, healthy ? "enabled" : "disabled", lag);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} health check failed, routing disabled: {}", replica.name, e.getMessage());
+                }
+                replica.healthy = false;
+                replica.lagSeconds = null;
+            }
+        }
+    }
+
+    /**
+     * 풀별 라우팅/커넥션 지표
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(PRIMARY, poolMetrics(primary, primaryRoutedCount.get(), true, 0L));
+        for (Replica replica : replicas) {
+            result.put(replica.name, poolMetrics(replica.pool, replica.routedCount.get(), replica.healthy, replica.lagSeconds));
+        }
+        result.put("fallbackToPrimaryCount", fallbackCount.get());
+        return result;
+    }
+
+    /**
+     * replica 풀 종료 (primary 풀은 별도 빈으로 관리)
+     */
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Map<String, Object> poolMetrics(HikariDataSource pool, long routedCount, boolean healthy, Long lagSeconds) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("healthy", healthy);
+        metrics.put("lagSeconds", lagSeconds);
+        metrics.put("routedCount", routedCount);
+        if (pool.getHikariPoolMXBean() != null) {
+            metrics.put("activeConnections", pool.getHikariPoolMXBean().getActiveConnections());
+            metrics.put("idleConnections", pool.getHikariPoolMXBean().getIdleConnections());
+            metrics.put("totalConnections", pool.getHikariPoolMXBean().getTotalConnections());
+            metrics.put("threadsAwaitingConnection", pool.getHikariPoolMXBean().getThreadsAwaitingConnection());
+        }
+        return metrics;
+    }
+
+    private static class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private final AtomicLong routedCount = new AtomicLong();
+        private volatile boolean healthy = true;
+        private volatile Long lagSeconds = 0L;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
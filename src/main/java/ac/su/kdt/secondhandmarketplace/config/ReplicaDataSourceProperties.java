@@ -0,0 +1,29 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 읽기 전용 replica 풀 설정 (app.datasource.replicas.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;            // 읽기/쓰기 분리 사용 여부
+    private long maxLagSeconds = 5;             // 허용 복제 지연 (초), 초과 시 해당 replica 제외
+    private long healthCheckIntervalMs = 1000;  // 복제 지연 확인 주기
+    private Map<String, Pool> pools = new LinkedHashMap<>();  // replica 이름 -> 접속 정보
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// 판매자 매너 점수 엔진 설정 등록
+@Configuration
+@EnableConfigurationProperties(ReputationProperties.class)
+public class ReputationConfig {
+}
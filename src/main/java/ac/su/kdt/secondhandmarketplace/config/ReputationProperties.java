@@ -0,0 +1,21 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 판매자 매너 점수 엔진 설정 (app.reputation.*)
+// 점수 범위는 리뷰 평점과 같은 0~5
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reputation")
+public class ReputationProperties {
+
+    private double halfLifeDays = 180;         // 평가 영향이 절반이 되는 기간
+    private double priorMean = 3.5;            // 리뷰가 적은 판매자가 당겨지는 사전 평균
+    private double priorWeight = 5;            // 사전 평균의 가중치 (리뷰 몇 건에 해당하는지)
+    private double transactionWeight = 0.2;    // 거래 완료 1건의 가중치 (리뷰 1건 대비)
+    private double transactionRating = 4.0;    // 거래 완료를 암묵적 평점으로 볼 때의 값
+    private long flushIntervalMs = 5000;       // user.manner_score 배치 반영 주기
+    private int batchSize = 500;               // 배치 갱신 크기
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// 저장된 검색 알림 설정 등록
+@Configuration
+@EnableConfigurationProperties(SavedSearchProperties.class)
+public class SavedSearchConfig {
+}
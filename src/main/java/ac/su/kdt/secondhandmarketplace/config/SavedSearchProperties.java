@@ -0,0 +1,20 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 저장된 검색 알림 설정 (app.saved-search.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.saved-search")
+public class SavedSearchProperties {
+
+    private boolean enabled = true;             // false 면 매물 변경을 매칭하지 않는다 (저장/조회는 가능)
+    private int maxPerUser = 20;                // 사용자당 저장할 수 있는 검색 수
+    private int maxMatchesPerListing = 5000;    // 매물 하나가 만들 수 있는 알림 수 상한 (조건이 넓은 검색 폭주 방지)
+    private int batchSize = 500;                // 알림 배치 저장 크기
+    private long reloadIntervalMs = 300000;     // 역색인 전체 재적재 주기 (다른 노드에서 저장/삭제된 검색 반영)
+    private long sseTimeoutMs = 1800000;        // 알림 SSE 연결 유지 시간
+    private int pageSize = 50;                  // 알림 목록 최대 조회 수
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업(replica 상태 확인 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,22 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+// CDS 아카이브 학습 실행용 설정
+// app.startup.exit-after-ready=true 이면 기동 완료 직후 종료해서
+// -XX:ArchiveClassesAtExit 가 기동 중 로딩된 클래스를 아카이브에 기록하게 한다.
+@Configuration
+@ConditionalOnProperty(name = "app.startup.exit-after-ready", havingValue = "true")
+public class StartupExitConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitAfterReady(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
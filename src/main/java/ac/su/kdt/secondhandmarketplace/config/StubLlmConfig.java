@@ -0,0 +1,12 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// 부하 테스트용 LLM 스텁 설정 등록 (stub-llm 프로필에서만)
+@Configuration
+@Profile("stub-llm")
+@EnableConfigurationProperties(StubLlmProperties.class)
+public class StubLlmConfig {
+}
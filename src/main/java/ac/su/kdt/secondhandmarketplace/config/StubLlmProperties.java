@@ -0,0 +1,21 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 부하 테스트용 LLM 스텁 설정 (app.stub-llm.*, stub-llm 프로필)
+// 지연은 중앙값/p99 로 정한 로그정규분포에서 뽑는다 (실제 LLM 지연처럼 긴 꼬리)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.stub-llm")
+public class StubLlmProperties {
+
+    private long medianLatencyMs = 800;
+    private long p99LatencyMs = 4000;
+    private long maxLatencyMs = 15000;      // 지연 상한
+    private double errorRate = 0.0;         // 500 응답 비율
+    private double rateLimitRate = 0.0;     // 429 응답 비율
+    private int recommendations = 3;        // 추천 응답에 담을 상품 수
+    private int completionTokens = 300;     // usage.completion_tokens
+}
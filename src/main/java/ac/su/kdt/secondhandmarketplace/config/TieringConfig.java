@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// hot / cold 데이터 계층화 설정 등록
+@Configuration
+@EnableConfigurationProperties(TieringProperties.class)
+public class TieringConfig {
+}
@@ -0,0 +1,21 @@
+package ac.su.kdt.secondhandmarketplace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// hot / cold 데이터 계층화 설정 (app.tiering.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tiering")
+public class TieringProperties {
+
+    private boolean enabled = true;                 // false 면 이동/파티션 관리를 하지 않는다
+    private int soldProductRetentionDays = 90;      // 판매 완료 후 product 에 남겨 둘 기간
+    private int chatMessageRetentionDays = 365;     // chatmessage 파티션 보존 기간 (지나면 chatmessage_archive 로)
+    private int activityLogRetentionDays = 180;     // useractivitylog 파티션 보존 기간 (지나면 삭제)
+    private int partitionMonthsAhead = 3;           // 미리 만들어 둘 월 파티션 수 (p_future 에 행이 쌓이지 않도록)
+    private int batchSize = 1000;                   // 한 번에 옮기는 행 수 (배치마다 트랜잭션)
+    private int maxBatchesPerRun = 100;             // 한 번 실행에서 테이블마다 처리할 최대 배치 수 (스케줄러 스레드를 오래 잡지 않도록, 나머지는 다음 실행)
+    private long intervalMs = 3600000;              // 실행 주기
+}
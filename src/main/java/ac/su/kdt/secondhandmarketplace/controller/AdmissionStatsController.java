@@ -0,0 +1,23 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.AdmissionControlService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// LLM 입장 제어 상태 / 사용자별 토큰 사용량 조회용 컨트롤러
+@RestController
+@RequestMapping("/api/admission")
+@RequiredArgsConstructor
+public class AdmissionStatsController {
+
+    private final AdmissionControlService admissionControlService;
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return admissionControlService.stats();
+    }
+}
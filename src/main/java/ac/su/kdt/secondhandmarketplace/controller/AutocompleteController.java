@@ -0,0 +1,36 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.AutocompleteService;
+import ac.su.kdt.secondhandmarketplace.service.SuggestionTrie;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    // 입력 중인 검색어의 자동완성 제안 (상품명/카테고리/인기 검색어, 가중치 순)
+    @GetMapping
+    public List<SuggestionTrie.Suggestion> suggest(@RequestParam("q") String prefix,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.suggest(prefix, limit);
+    }
+
+    // 사전 크기, 조회 지연, 마지막 재구성 시간
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return autocompleteService.stats();
+    }
+
+    // 사전 즉시 재구성
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("entryCount", autocompleteService.rebuildAll());
+    }
+}
@@ -0,0 +1,74 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.CatalogPartitionService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hibernate 2차 캐시 / 쿼리 캐시 통계 조회용 컨트롤러
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogPartitionService catalogPartitionService;
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        result.put("queryCachePutCount", statistics.getQueryCachePutCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+
+        // 영역(region) 별 통계
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("hitCount", region.getHitCount());
+            regionStats.put("missCount", region.getMissCount());
+            regionStats.put("putCount", region.getPutCount());
+            regionStats.put("elementCountInMemory", region.getElementCountInMemory());
+            regions.put(regionName, regionStats);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    // 대학교별 추천 후보 캐시 통계
+    @GetMapping("/partitions")
+    public Map<String, Object> partitions() {
+        Map<Long, Long> sizes = catalogPartitionService.candidateCacheSizes();
+        Map<String, Object> result = new LinkedHashMap<>();
+        catalogPartitionService.candidateCacheStats().forEach((universityId, stats) -> {
+            Map<String, Object> shardStats = new LinkedHashMap<>();
+            shardStats.put("size", sizes.getOrDefault(universityId, 0L));
+            shardStats.put("hitCount", stats.hitCount());
+            shardStats.put("missCount", stats.missCount());
+            shardStats.put("evictionCount", stats.evictionCount());
+            shardStats.put("hitRate", stats.hitRate());
+            result.put(String.valueOf(universityId), shardStats);
+        });
+        return result;
+    }
+}
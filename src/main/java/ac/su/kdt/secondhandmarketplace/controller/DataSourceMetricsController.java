@@ -0,0 +1,28 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.config.ReadWriteRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 읽기/쓰기 분리 풀별 지표 조회용 컨트롤러
+@RestController
+@RequestMapping("/api/datasource")
+@RequiredArgsConstructor
+public class DataSourceMetricsController {
+
+    private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        ReadWriteRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        if (dataSource == null) {
+            return Map.of("routing", "disabled");
+        }
+        return dataSource.metrics();
+    }
+}
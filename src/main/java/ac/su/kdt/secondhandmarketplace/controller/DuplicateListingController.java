@@ -0,0 +1,21 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.DuplicateListingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class DuplicateListingController {
+
+    private final DuplicateListingService duplicateListingService;
+
+    // 같은 판매자가 다시 올린 근접 중복 매물 ID 목록 (메모리 LSH 인덱스에서 조회)
+    @GetMapping("/{productId}/duplicates")
+    public List<Long> duplicates(@PathVariable Long productId) {
+        return duplicateListingService.nearDuplicatesOf(productId);
+    }
+}
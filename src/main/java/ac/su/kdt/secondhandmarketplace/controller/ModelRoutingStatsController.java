@@ -0,0 +1,23 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.ModelRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// LLM 모델 라우팅 결정 / 모델별 지연 통계 조회용 컨트롤러
+@RestController
+@RequestMapping("/api/llm/routing")
+@RequiredArgsConstructor
+public class ModelRoutingStatsController {
+
+    private final ModelRouter modelRouter;
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return modelRouter.stats();
+    }
+}
@@ -0,0 +1,43 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.dto.NotificationResponse;
+import ac.su.kdt.secondhandmarketplace.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    // 최근 알림 (afterId 가 있으면 그 다음부터 오래된 순, 재연결 시 이어받기용: 응답의 마지막 ID 로 다음 페이지를 요청)
+    @GetMapping
+    public List<NotificationResponse> recent(@RequestParam Long userId,
+                                             @RequestParam(required = false) Long afterId,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        return notificationService.recent(userId, afterId, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public Map<String, Object> unreadCount(@RequestParam Long userId) {
+        return Map.of("unreadCount", notificationService.unreadCount(userId));
+    }
+
+    // upToId 이하 알림 읽음 처리
+    @PostMapping("/read")
+    public Map<String, Object> markRead(@RequestParam Long userId, @RequestParam Long upToId) {
+        return Map.of("updated", notificationService.markRead(userId, upToId));
+    }
+
+    // 새 알림은 "notification", 연결 직후 안 읽은 수는 "unread" 이벤트로 전송
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public SseEmitter stream(@RequestParam Long userId) {
+        return notificationService.subscribe(userId);
+    }
+}
@@ -0,0 +1,37 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    // 마지막 이벤트 ID / 구독자별 처리 위치, 지연, 실패 / 정리 통계
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return outboxRelay.stats();
+    }
+
+    // 구독자가 fromEventId 다음 이벤트부터 다시 받게 함 (복구용), 없는 구독자면 404
+    @PostMapping("/subscribers/{name}/replay")
+    public ResponseEntity<?> replay(@PathVariable String name, @RequestParam long fromEventId) {
+        try {
+            return outboxRelay.replay(name, fromEventId)
+                ? ResponseEntity.ok(Map.of("subscriber", name, "fromEventId", fromEventId))
+                : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package ac.su.kdt.secondhandmarketplace.controller;
 
+import ac.su.kdt.secondhandmarketplace.service.AdmissionRejectedException;
 import ac.su.kdt.secondhandmarketplace.service.PerplexityService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
@@ -14,10 +18,18 @@ public class PerplexityController {
 
     private final PerplexityService perplexityService;
 
+    // 입장 제어에서 거절되고 캐시된 응답도 없으면 503 + Retry-After
     @PostMapping("/chat/completions")
-    public Mono<ResponseEntity<Map<String, Object>>> chat(@RequestBody Map<String, Object> request) {
+    public Mono<ResponseEntity<Map<String, Object>>> chat(@RequestBody Map<String, Object> request,
+                                                          @RequestHeader(value = "X-Request-Deadline-Ms", required = false) Long deadlineMs,
+                                                          HttpServletRequest servletRequest) {
         String prompt = (String) request.get("prompt");
-        return perplexityService.chat(prompt)
-            .map(ResponseEntity::ok);
+        Object userId = request.get("userId");
+        String clientKey = userId != null ? "user:" + userId : "ip:" + servletRequest.getRemoteAddr();
+        return perplexityService.chat(prompt, clientKey, deadlineMs)
+            .map(ResponseEntity::ok)
+            .onErrorResume(AdmissionRejectedException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.<String, Object>of("error", e.getReason()))));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.dto.PriceBand;
+import ac.su.kdt.secondhandmarketplace.service.PriceIntelligenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/price-intelligence")
+@RequiredArgsConstructor
+public class PriceIntelligenceController {
+
+    private final PriceIntelligenceService priceIntelligenceService;
+
+    // 카테고리/상품명 기준 예측 가격 범위 조회
+    @GetMapping("/estimate")
+    public ResponseEntity<PriceBand> estimate(@RequestParam Long categoryId, @RequestParam(required = false) String title) {
+        PriceBand band = priceIntelligenceService.estimate(categoryId, title);
+        return band != null ? ResponseEntity.ok(band) : ResponseEntity.noContent().build();
+    }
+
+    // 전체 거래 이력으로 스케치 재구성 (백필)
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("sketchCount", priceIntelligenceService.rebuildAll());
+    }
+}
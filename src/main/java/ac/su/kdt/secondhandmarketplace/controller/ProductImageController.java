@@ -0,0 +1,57 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.config.ImageProperties;
+import ac.su.kdt.secondhandmarketplace.dto.ProductImageResponse;
+import ac.su.kdt.secondhandmarketplace.service.ImageFileSender;
+import ac.su.kdt.secondhandmarketplace.service.ImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductImageController {
+
+    private final ImageService imageService;
+    private final ImageFileSender imageFileSender;
+    private final ImageProperties imageProperties;
+
+    // 상품 이미지 업로드 (multipart "files"), 이미지가 아니거나 너무 크면 400
+    @PostMapping(value = "/api/products/{productId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> upload(@PathVariable Long productId, @RequestParam("files") List<MultipartFile> files) throws IOException {
+        try {
+            return imageService.upload(productId, files)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 내용 해시로 이미지 조회 (size 가 있으면 썸네일, 예: /api/images/{hash}?size=200)
+    @GetMapping("/api/images/{hash}")
+    public void image(@PathVariable String hash, @RequestParam(required = false) Integer size,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<ImageService.ServedFile> file = imageService.resolve(hash, size);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        imageFileSender.send(file.get(), imageProperties.getCacheMaxAgeSeconds(), request, response);
+    }
+
+    // 썸네일 작업 대기열 / 업로드 중복 제거 통계
+    @GetMapping("/api/images/stats")
+    public Map<String, Object> stats() {
+        return imageService.stats();
+    }
+}
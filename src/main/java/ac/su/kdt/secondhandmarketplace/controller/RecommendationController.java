@@ -2,21 +2,46 @@ package ac.su.kdt.secondhandmarketplace.controller;
 
 import ac.su.kdt.secondhandmarketplace.dto.RecommendationRequest;
 import ac.su.kdt.secondhandmarketplace.dto.RecommendationResponse;
+import ac.su.kdt.secondhandmarketplace.service.AdmissionRejectedException;
+import ac.su.kdt.secondhandmarketplace.service.CatalogPartitionService;
 import ac.su.kdt.secondhandmarketplace.service.PerplexityService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/recommendations")
 public class RecommendationController {
     private final PerplexityService perplexityService;
+    private final CatalogPartitionService catalogPartitionService;
 
-    public RecommendationController(PerplexityService perplexityService) {
+    public RecommendationController(PerplexityService perplexityService, CatalogPartitionService catalogPartitionService) {
         this.perplexityService = perplexityService;
+        this.catalogPartitionService = catalogPartitionService;
     }
 
+    // 노드 고정을 쓰면 요청자 대학교를 담당하는 노드로 307 리다이렉트 (POST 본문 유지)
+    // 입장 제어에서 거절되고 대체 응답도 없으면 503 + Retry-After
     @PostMapping
-    public Mono<RecommendationResponse> getRecommendations(@RequestBody RecommendationRequest request) {
-        return perplexityService.getRecommendations(request);
+    public Mono<ResponseEntity<RecommendationResponse>> getRecommendations(@RequestBody RecommendationRequest request,
+                                                                           @RequestHeader(value = "X-Request-Deadline-Ms", required = false) Long deadlineMs,
+                                                                           HttpServletRequest servletRequest) {
+        Optional<URI> owner = catalogPartitionService.redirectFor(
+            catalogPartitionService.universityOf(request.getUserId()), "/api/recommendations");
+        if (owner.isPresent()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build());
+        }
+        String clientKey = request.getUserId() != null ? "user:" + request.getUserId() : "ip:" + servletRequest.getRemoteAddr();
+        return perplexityService.getRecommendations(request, clientKey, deadlineMs)
+            .map(ResponseEntity::ok)
+            .onErrorResume(AdmissionRejectedException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build()));
     }
-} 
\ No newline at end of file
+}
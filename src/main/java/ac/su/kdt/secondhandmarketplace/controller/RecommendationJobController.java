@@ -0,0 +1,67 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationJobResponse;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationRequest;
+import ac.su.kdt.secondhandmarketplace.service.CatalogPartitionService;
+import ac.su.kdt.secondhandmarketplace.service.RecommendationJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/recommendations/jobs")
+public class RecommendationJobController {
+    private final RecommendationJobService recommendationJobService;
+    private final CatalogPartitionService catalogPartitionService;
+
+    public RecommendationJobController(RecommendationJobService recommendationJobService, CatalogPartitionService catalogPartitionService) {
+        this.recommendationJobService = recommendationJobService;
+        this.catalogPartitionService = catalogPartitionService;
+    }
+
+    // 작업 ID 를 바로 돌려준다 (202 + Location), 작업자 대기열이 가득 차면 503 + Retry-After
+    // 작업은 받은 노드 메모리에만 있으므로 노드 고정을 쓰면 담당 노드로 307 리다이렉트
+    @PostMapping
+    public ResponseEntity<RecommendationJobResponse> submit(@RequestBody RecommendationRequest request, HttpServletRequest servletRequest) {
+        Optional<URI> owner = catalogPartitionService.redirectFor(
+            catalogPartitionService.universityOf(request.getUserId()), "/api/recommendations/jobs");
+        if (owner.isPresent()) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build();
+        }
+        String clientKey = request.getUserId() != null ? "user:" + request.getUserId() : "ip:" + servletRequest.getRemoteAddr();
+        return recommendationJobService.submit(request, clientKey)
+            .map(job -> ResponseEntity.accepted()
+                .location(URI.create("/api/recommendations/jobs/" + job.jobId()))
+                .body(job))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RecommendationJobResponse> get(@PathVariable String jobId) {
+        return recommendationJobService.find(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 상태 변경은 "status", 완료 결과는 "result" 이벤트로 전송 후 연결 종료
+    @GetMapping(value = "/{jobId}/events", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> events(@PathVariable String jobId) {
+        return recommendationJobService.subscribe(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return recommendationJobService.stats();
+    }
+}
@@ -0,0 +1,30 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.ReputationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reputation")
+@RequiredArgsConstructor
+public class ReputationController {
+
+    private final ReputationService reputationService;
+
+    // 판매자 매너 점수와 반영된 리뷰/거래 수
+    @GetMapping("/{sellerId}")
+    public ResponseEntity<Map<String, Object>> seller(@PathVariable Long sellerId) {
+        return reputationService.describe(sellerId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 전체 리뷰/거래로 매너 점수 재계산 (백필/복구, 재계산 중에는 증분 반영이 대기)
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("sellerCount", reputationService.rebuildAll());
+    }
+}
@@ -0,0 +1,53 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchRequest;
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchResponse;
+import ac.su.kdt.secondhandmarketplace.service.SavedSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    // 검색 저장 (자연어 요청 또는 조건 직접 지정), 조건이 없거나 저장 수 초과면 400
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody SavedSearchRequest request) {
+        try {
+            return ResponseEntity.ok(savedSearchService.create(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public List<SavedSearchResponse> list(@RequestParam Long userId) {
+        return savedSearchService.list(userId);
+    }
+
+    @DeleteMapping("/{savedSearchId}")
+    public ResponseEntity<Void> delete(@PathVariable Long savedSearchId, @RequestParam Long userId) {
+        return savedSearchService.delete(userId, savedSearchId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    // 역색인 크기 / 매칭 시간 / 알림 전송 통계
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return savedSearchService.stats();
+    }
+
+    // DB 에서 역색인 재적재 (복구용)
+    @PostMapping("/reload")
+    public Map<String, Object> reload() {
+        return Map.of("savedSearchCount", savedSearchService.reload());
+    }
+}
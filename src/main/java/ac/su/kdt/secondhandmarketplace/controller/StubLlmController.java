@@ -0,0 +1,35 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.StubLlmService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// Perplexity API 대신 응답하는 스텁 (stub-llm 프로필에서 perplexity.api.base-url 이 여기를 가리킨다)
+// 지연은 요청 스레드를 잡지 않도록 Mono.delay 로 기다린다
+@RestController
+@Profile("stub-llm")
+@RequestMapping("/stub-llm")
+public class StubLlmController {
+
+    private final StubLlmService stubLlmService;
+
+    public StubLlmController(StubLlmService stubLlmService) {
+        this.stubLlmService = stubLlmService;
+    }
+
+    @PostMapping("/chat/completions")
+    public Mono<ResponseEntity<Map<String, Object>>> completions(@RequestBody Map<String, Object> request) {
+        StubLlmService.Outcome outcome = stubLlmService.nextOutcome();
+        return Mono.delay(stubLlmService.nextLatency())
+            .map(ignored -> switch (outcome) {
+                case OK -> ResponseEntity.ok(stubLlmService.complete(request));
+                case ERROR -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<Map<String, Object>>body(Map.of("error", "stub error"));
+                case RATE_LIMITED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).<Map<String, Object>>body(Map.of("error", "stub rate limit"));
+            });
+    }
+}
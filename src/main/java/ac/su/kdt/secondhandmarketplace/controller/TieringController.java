@@ -0,0 +1,32 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.service.TieringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tiering")
+@RequiredArgsConstructor
+public class TieringController {
+
+    private final TieringService tieringService;
+
+    // 테이블 행 수 (추정), 월 파티션 목록, 마지막 실행 결과 / 누적 이동 통계
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return tieringService.stats();
+    }
+
+    // 계층화를 바로 한 번 실행 (다른 노드가 실행 중이면 409)
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> run() {
+        Map<String, Object> result = tieringService.run();
+        return Boolean.TRUE.equals(result.get("ran"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+}
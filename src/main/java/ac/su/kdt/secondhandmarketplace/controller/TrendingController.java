@@ -0,0 +1,25 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.dto.TrendingItem;
+import ac.su.kdt.secondhandmarketplace.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trending")
+@RequiredArgsConstructor
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    // 인기 상품 목록 (대학교/카테고리/지역 선택, 메모리 순위표에서 조회)
+    @GetMapping
+    public List<TrendingItem> trending(@RequestParam(required = false) Long universityId,
+                                       @RequestParam(required = false) Long categoryId,
+                                       @RequestParam(required = false) String region,
+                                       @RequestParam(defaultValue = "10") int limit) {
+        return trendingService.top(universityId, categoryId, region, Math.min(Math.max(limit, 1), 100));
+    }
+}
@@ -0,0 +1,7 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 인기 순위 계산용 활동 로그 프로젝션 (활동 타입, 대상 상품 ID, 발생 시간)
+public record ActivityEventRow(String activityType, Long targetId, LocalDateTime createAt) {
+}
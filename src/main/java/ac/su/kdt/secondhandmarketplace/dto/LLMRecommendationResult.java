@@ -0,0 +1,15 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+// LLM 구조화(JSON) 응답 DTO
+// response_format 으로 요청한 JSON 스키마와 1:1 로 대응한다.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LLMRecommendationResult(List<Item> recommendations) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(Long productId, String reason) {
+    }
+}
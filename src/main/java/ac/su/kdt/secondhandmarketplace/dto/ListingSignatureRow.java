@@ -0,0 +1,5 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 중복 매물 인덱스 워밍업용 프로젝션 (서명이 없는 상품만 제목/설명을 함께 읽는다)
+public record ListingSignatureRow(Long productId, Long sellerId, Long simhash, String title, String description) {
+}
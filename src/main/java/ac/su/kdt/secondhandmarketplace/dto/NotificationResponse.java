@@ -0,0 +1,13 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 사용자 알림 (type: NEW_LISTING, PRICE_CHANGE)
+public record NotificationResponse(Long notificationId,
+                                   Long savedSearchId,
+                                   Long productId,
+                                   String type,
+                                   String message,
+                                   LocalDateTime createAt,
+                                   LocalDateTime readAt) {
+}
@@ -0,0 +1,34 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// Perplexity chat/completions 응답 DTO
+// Map 캐스팅 대신 필요한 필드만 타입으로 받는다.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PerplexityChatResponse(String model, List<Choice> choices, Usage usage) {
+
+    // 첫 번째 choice 의 메시지 본문 (없으면 null)
+    public String firstContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().content();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(Message message) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String role, String content) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Usage(@JsonProperty("prompt_tokens") Integer promptTokens,
+                        @JsonProperty("completion_tokens") Integer completionTokens,
+                        @JsonProperty("total_tokens") Integer totalTokens) {
+    }
+}
@@ -0,0 +1,8 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.math.BigDecimal;
+
+// 예측 가격 범위 (aiPriceMin ~ aiPriceMax)
+// source: 사용한 스케치 키, sampleCount: 해당 스케치에 반영된 거래 수
+public record PriceBand(BigDecimal min, BigDecimal max, long sampleCount, String source) {
+}
@@ -0,0 +1,5 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 상품별 건수 프로젝션 (추천 후보의 채팅방 / 이미지 수 일괄 조회용)
+public record ProductCount(Long productId, Long count) {
+}
@@ -0,0 +1,13 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 상품 이미지 업로드 결과 (deduplicated: 같은 내용의 파일이 이미 있어 새로 저장하지 않음)
+public record ProductImageResponse(Long imageId,
+                                   Integer sequence,
+                                   String imageUrl,
+                                   String contentHash,
+                                   String contentType,
+                                   Long byteSize,
+                                   Integer width,
+                                   Integer height,
+                                   boolean deduplicated) {
+}
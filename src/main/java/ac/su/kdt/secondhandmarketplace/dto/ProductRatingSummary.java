@@ -0,0 +1,5 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 상품별 평균 평점 프로젝션 (추천 후보 일괄 조회용)
+public record ProductRatingSummary(Long productId, Double averageRating) {
+}
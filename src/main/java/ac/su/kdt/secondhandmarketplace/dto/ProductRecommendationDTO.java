@@ -1,10 +1,10 @@
 package ac.su.kdt.secondhandmarketplace.dto;
 
 import ac.su.kdt.secondhandmarketplace.entity.Product;
-import ac.su.kdt.secondhandmarketplace.repository.ReviewRepository;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
+import java.util.Map;
 
 // 상품을 추천하기 위한 DTO 클래스
 @Getter
@@ -25,7 +25,11 @@ public class ProductRecommendationDTO {
     private String sellerName;          // 판매자 이름
     private Integer sellerReviewCount;  // 판매자 리뷰 수
 
-    public static ProductRecommendationDTO fromEntity(Product product, ReviewRepository reviewRepository) {
+    /**
+     * 상품 엔티티와 일괄 조회한 리뷰 통계로 DTO 를 만든다.
+     * 상품마다 리뷰 쿼리를 날리지 않도록 평점/리뷰 수는 호출 측에서 한 번에 조회해 넘긴다.
+     */
+    public static ProductRecommendationDTO fromEntity(Product product, Map<Long, Double> averageRatings, Map<Long, Long> sellerReviewCounts) {
         ProductRecommendationDTO dto = new ProductRecommendationDTO();
         dto.setId(product.getId());
         dto.setTitle(product.getTitle());
@@ -42,12 +46,11 @@ public class ProductRecommendationDTO {
         if (product.getUser() != null) {
             dto.setMannerScore(product.getUser().getMannerScore().doubleValue());
             dto.setSellerName(product.getUser().getNickname());
-            dto.setSellerReviewCount(reviewRepository.countByUser(product.getUser()).intValue());
+            dto.setSellerReviewCount(sellerReviewCounts.getOrDefault(product.getUser().getId(), 0L).intValue());
         }
         
         // 상품 평균 평점
-        Double avgRating = reviewRepository.getAverageRatingByProductId(product.getId());
-        dto.setAverageRating(avgRating != null ? avgRating : 0.0);
+        dto.setAverageRating(averageRatings.getOrDefault(product.getId(), 0.0));
         
         return dto;
     }
@@ -0,0 +1,7 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.math.BigDecimal;
+
+// 인기 순위 보드에 필요한 상품 메타데이터 (메모리에 캐시해서 조회 시 DB 를 타지 않는다)
+public record ProductTrendingMeta(Long productId, Long categoryId, Long regionCode, Long universityId, String title, BigDecimal price) {
+}
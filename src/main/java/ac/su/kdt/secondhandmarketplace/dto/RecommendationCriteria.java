@@ -8,11 +8,13 @@ import java.math.BigDecimal;
 @Getter
 @Setter
 public class RecommendationCriteria {
+    private Long universityId; // 소속 대학교 ID (null 이면 전체)
     private String productName; // 상품명
     private String category; // 카테고리
     private BigDecimal minPrice; // 최소 가격
     private BigDecimal maxPrice; // 최대 가격
     private String location; // 위치
+    private Long regionCode; // 위치의 지역 코드 (시/도, 시/군/구, 읍/면/동)
     private String sortBy; // 정렬 기준 (예: "price", "rating")
     private String sortDirection; // 정렬 방향 ("asc" 또는 "desc")
     private Double minMannerScore; // 최소 매너 점수
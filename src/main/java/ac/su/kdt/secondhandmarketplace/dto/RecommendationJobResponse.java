@@ -0,0 +1,12 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 비동기 추천 작업 상태 응답 (status: PENDING, RUNNING, SUCCEEDED, FAILED)
+public record RecommendationJobResponse(String jobId,
+                                        String status,
+                                        RecommendationResponse result,
+                                        String error,
+                                        LocalDateTime createdAt,
+                                        LocalDateTime completedAt) {
+}
@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class RecommendationRequest {
     private String userRequest;
+    private Long userId;  // 요청한 사용자 ID (있으면 소속 대학교 상품으로 범위를 좁힌다)
 } 
\ No newline at end of file
@@ -7,4 +7,9 @@ import lombok.Data;
 @AllArgsConstructor
 public class RecommendationResponse {
     private String content;
+    private boolean degraded;  // 과부하로 LLM 대신 DB 순위 기반 대체 응답인지 여부
+
+    public RecommendationResponse(String content) {
+        this.content = content;
+    }
 } 
\ No newline at end of file
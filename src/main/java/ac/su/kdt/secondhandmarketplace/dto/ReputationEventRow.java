@@ -0,0 +1,11 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 매너 점수 반영용 이벤트 (리뷰: rating 있음, 거래 완료: rating 없음)
+public record ReputationEventRow(Long eventId, Long sellerId, Double rating, LocalDateTime occurredAt) {
+
+    public ReputationEventRow(Long eventId, Long sellerId, LocalDateTime occurredAt) {
+        this(eventId, sellerId, null, occurredAt);
+    }
+}
@@ -0,0 +1,14 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 리뷰 화면 표시용 프로젝션 (연관 엔티티 로딩 없이 필요한 컬럼만 조회)
+public record ReviewDisplayDTO(
+    Long reviewId,
+    Double rating,
+    String content,
+    LocalDateTime createAt,
+    Long reviewerId,
+    String reviewerNickname
+) {
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import lombok.Data;
+
+@Data
+public class SavedSearchRequest {
+    private Long userId;  // 알림 받을 사용자 ID
+    private String userRequest;  // 자연어 요청 (예: "맥북 100만원 이하 서울시"), criteria 가 없으면 여기서 조건 추출
+    private RecommendationCriteria criteria;  // 직접 지정한 조건 (있으면 userRequest 분석 대신 사용)
+}
@@ -0,0 +1,10 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.time.LocalDateTime;
+
+// 저장된 검색 (criteria: 저장된 필터 조건)
+public record SavedSearchResponse(Long savedSearchId,
+                                  String userRequest,
+                                  RecommendationCriteria criteria,
+                                  LocalDateTime createAt) {
+}
@@ -0,0 +1,15 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.math.BigDecimal;
+
+// 저장된 검색의 매칭 조건 (역색인 적재용, null 조건은 전체)
+public record SavedSearchRow(Long id,
+                             Long userId,
+                             Long universityId,
+                             String productName,
+                             Long categoryId,
+                             BigDecimal minPrice,
+                             BigDecimal maxPrice,
+                             Long regionCode,
+                             Double minMannerScore) {
+}
@@ -0,0 +1,5 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 사용자별 리뷰 수 프로젝션 (추천 후보 일괄 조회용)
+public record SellerReviewCount(Long userId, Long reviewCount) {
+}
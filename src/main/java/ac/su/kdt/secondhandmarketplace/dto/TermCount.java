@@ -0,0 +1,5 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+// 단어별 건수 프로젝션 (자동완성 사전 구성용: 상품명/카테고리명 -> 판매중 매물 수)
+public record TermCount(String term, Long count) {
+}
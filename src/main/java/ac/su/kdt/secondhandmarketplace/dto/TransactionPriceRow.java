@@ -0,0 +1,7 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.math.BigDecimal;
+
+// 가격 스케치 갱신용 거래 프로젝션 (거래 ID, 최종 가격, 상품명, 카테고리 ID)
+public record TransactionPriceRow(Long transactionId, BigDecimal finalPrice, String title, Long categoryId) {
+}
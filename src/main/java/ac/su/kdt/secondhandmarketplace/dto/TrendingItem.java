@@ -0,0 +1,7 @@
+package ac.su.kdt.secondhandmarketplace.dto;
+
+import java.math.BigDecimal;
+
+// 인기 상품 응답 항목 (현재 시점 기준 감쇠 점수)
+public record TrendingItem(Long productId, String title, BigDecimal price, double score) {
+}
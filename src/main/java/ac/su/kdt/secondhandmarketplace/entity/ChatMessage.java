@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "chatmessage")
+@Table(name = "chatmessage")  // sent_at 월 단위 RANGE 파티션 (파티션 테이블은 외래 키 불가)
 public class ChatMessage {
     
     @Id
@@ -16,12 +16,12 @@ public class ChatMessage {
     @Column(name = "chatmessage_id")
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "chatroom_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chatroom_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private ChatRoom chatRoom;
     
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
     
     @Column(name = "message_type", nullable = false, length = 20)
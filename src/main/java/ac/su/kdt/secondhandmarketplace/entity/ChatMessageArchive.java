@@ -0,0 +1,37 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 보존 기간이 지난 채팅 메시지 아카이브 (cold)
+// 이동은 TieringService 가 파티션 단위 JDBC 배치로 하고, 엔티티는 지난 이력 조회에 쓴다.
+@Entity
+@Getter
+@Setter
+@Table(name = "chatmessage_archive")
+public class ChatMessageArchive {
+
+    @Id
+    @Column(name = "chatmessage_id")
+    private Long id;  // 원래 메시지 ID
+
+    @Column(name = "chatroom_id", nullable = false)
+    private Long chatRoomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "message_type", nullable = false, length = 20)
+    private String messageType;
+
+    @Column(name = "message_content", columnDefinition = "TEXT")
+    private String messageContent;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;  // 아카이브로 옮긴 시간
+}
@@ -10,22 +10,36 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "chatroom")
+@EntityListeners(OutboxEntityListener.class)
+@NamedEntityGraph(  // 채팅 목록용 fetch plan: 상품과 두 참여자를 한 번에 로딩
+    name = ChatRoom.GRAPH_CHAT_LIST,
+    attributeNodes = {
+        @NamedAttributeNode("product"),
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("user2")
+    }
+)
 public class ChatRoom {
+
+    public static final String GRAPH_CHAT_LIST = "ChatRoom.chatList";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "chatroom_id")
     private Long id;  // 채팅방 고유 식별자
     
-    @ManyToOne
-    @JoinColumn(name = "product_id", nullable = false)
-    private Product product;  // 관련 상품
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Product product;  // 관련 상품 (판매 완료 후 product_archive 로 옮겨졌을 수 있으므로 읽는 쪽은 productId 로 확인)
+
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;  // 관련 상품 ID (프록시를 초기화하지 않고 읽는다)
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;  // 첫 번째 사용자
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user2_id", nullable = false)
     private User user2;  // 두 번째 사용자
     
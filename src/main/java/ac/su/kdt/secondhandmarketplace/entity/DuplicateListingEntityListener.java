@@ -0,0 +1,19 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import ac.su.kdt.secondhandmarketplace.service.ListingSimHash;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+// 중복 매물 엔티티 리스너 (Product)
+// - 등록/수정 전: 상품명 + 설명으로 SimHash 서명 계산
+// LSH 인덱스 반영은 커밋 후 outbox 이벤트로 DuplicateListingService 가 한다.
+@Component
+public class DuplicateListingEntityListener {
+
+    @PrePersist
+    @PreUpdate
+    public void beforeSave(Product product) {
+        product.setSimhash(ListingSimHash.of(product.getTitle(), product.getDescription()));
+    }
+}
@@ -0,0 +1,44 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 사용자 알림 (저장된 검색에 맞는 새 매물 / 가격 변경)
+// 생성은 NotificationService 가 JDBC 배치로 하고, 엔티티는 조회/읽음 처리에 사용한다.
+@Entity
+@Getter
+@Setter
+@Table(name = "notification")
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;  // 받는 사용자
+
+    @Column(name = "saved_search_id")
+    private Long savedSearchId;  // 매칭된 저장된 검색 (검색이 삭제되어도 알림은 남는다)
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;  // 매칭된 상품 (외래 키 없음, 판매 완료 후 product_archive 로 옮겨져도 알림은 남는다)
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;  // 알림을 만든 outbox 이벤트 ID ((user_id, product_id, event_id) 유일, 재전달 중복 방지)
+
+    @Column(name = "type", nullable = false, length = 20)
+    private String type;  // NEW_LISTING, PRICE_CHANGE
+
+    @Column(name = "message", nullable = false, length = 200)
+    private String message;
+
+    @Column(name = "create_at", nullable = false)
+    private LocalDateTime createAt;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;  // 읽은 시간 (안 읽었으면 null)
+}
@@ -0,0 +1,69 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import ac.su.kdt.secondhandmarketplace.service.ChangeEvent;
+import ac.su.kdt.secondhandmarketplace.service.OutboxService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// 변경 이벤트 outbox 엔티티 리스너 (Product, Review, Transaction, ChatRoom)
+// - 조회 후: 가격 변경 이벤트용으로 조회 시점 상품 가격을 loadedPrice 에 기억
+// - 등록/수정/삭제 후: 같은 트랜잭션에서 outbox_event 에 기록 (SQL 실행 직후라 방금 쓴 행을 읽을 수 있다)
+// 커밋 후 처리는 OutboxRelay 구독자가 한다.
+// EntityManagerFactory 생성 시점에 만들어지므로 서비스는 ObjectProvider 로 늦게 조회한다.
+@Component
+public class OutboxEntityListener {
+
+    private final ObjectProvider<OutboxService> outboxService;
+
+    public OutboxEntityListener(ObjectProvider<OutboxService> outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @PostLoad
+    public void afterLoad(Object entity) {
+        if (entity instanceof Product product) {
+            product.setLoadedPrice(product.getPrice());
+        }
+    }
+
+    @PostPersist
+    public void afterInsert(Object entity) {
+        afterSave(entity, ChangeEvent.CREATED);
+    }
+
+    @PostUpdate
+    public void afterUpdate(Object entity) {
+        afterSave(entity, ChangeEvent.UPDATED);
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        if (entity instanceof Product product) {
+            outboxService.getObject().recordDeleted(ChangeEvent.PRODUCT, product.getId(), product.getUniversityId());
+        } else if (entity instanceof Review review) {
+            outboxService.getObject().recordDeleted(ChangeEvent.REVIEW, review.getId(), null);
+        } else if (entity instanceof Transaction transaction) {
+            outboxService.getObject().recordDeleted(ChangeEvent.TRANSACTION, transaction.getId(), null);
+        } else if (entity instanceof ChatRoom chatRoom) {
+            outboxService.getObject().recordDeleted(ChangeEvent.CHATROOM, chatRoom.getId(), null);
+        }
+    }
+
+    private void afterSave(Object entity, String eventType) {
+        if (entity instanceof Product product) {
+            outboxService.getObject().recordProduct(product.getId(), eventType,
+                    ChangeEvent.CREATED.equals(eventType) ? null : product.getLoadedPrice());
+            product.setLoadedPrice(product.getPrice());
+        } else if (entity instanceof Review review) {
+            outboxService.getObject().record(ChangeEvent.REVIEW, review.getId(), eventType);
+        } else if (entity instanceof Transaction transaction) {
+            outboxService.getObject().record(ChangeEvent.TRANSACTION, transaction.getId(), eventType);
+        } else if (entity instanceof ChatRoom chatRoom) {
+            outboxService.getObject().record(ChangeEvent.CHATROOM, chatRoom.getId(), eventType);
+        }
+    }
+}
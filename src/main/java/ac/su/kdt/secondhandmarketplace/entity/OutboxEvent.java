@@ -0,0 +1,36 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 변경 이벤트 outbox
+// 기록은 OutboxEntityListener 가 엔티티 쓰기와 같은 트랜잭션에서 JDBC 로, 전달은 OutboxRelay 가 한다.
+// 엔티티는 스키마 관리(로컬 ddl-auto / prod validate) 용이다.
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;  // 전달 순서
+
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private String aggregateType;  // PRODUCT, REVIEW, TRANSACTION, CHATROOM
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;  // CREATED, UPDATED, DELETED
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;  // 기록 시점 행 스냅샷 (JSON)
+
+    @Column(name = "create_at", nullable = false)
+    private LocalDateTime createAt;
+}
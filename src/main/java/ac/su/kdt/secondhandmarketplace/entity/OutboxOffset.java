@@ -0,0 +1,25 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 공유 구독자의 outbox 처리 위치 (노드 메모리 상태만 갱신하는 구독자는 메모리에 둔다)
+// 갱신은 OutboxRelay 가 JDBC 로 한다.
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_offset")
+public class OutboxOffset {
+
+    @Id
+    @Column(name = "subscriber", length = 64)
+    private String subscriber;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;  // 마지막으로 처리한 이벤트 ID
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
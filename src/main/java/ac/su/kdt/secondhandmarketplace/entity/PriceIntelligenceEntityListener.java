@@ -0,0 +1,25 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import ac.su.kdt.secondhandmarketplace.service.PriceIntelligenceService;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// 가격 예측 엔티티 리스너 (Product)
+// - 상품 등록 전: 예측 가격 범위(aiPriceMin/aiPriceMax) 채우기
+// 거래 가격의 스케치 반영은 커밋 후 outbox 이벤트로 PriceIntelligenceService 가 한다.
+// EntityManagerFactory 생성 시점에 만들어지므로 서비스는 ObjectProvider 로 늦게 조회한다.
+@Component
+public class PriceIntelligenceEntityListener {
+
+    private final ObjectProvider<PriceIntelligenceService> priceIntelligenceService;
+
+    public PriceIntelligenceEntityListener(ObjectProvider<PriceIntelligenceService> priceIntelligenceService) {
+        this.priceIntelligenceService = priceIntelligenceService;
+    }
+
+    @PrePersist
+    public void beforeInsert(Product product) {
+        priceIntelligenceService.getObject().applyTo(product);
+    }
+}
@@ -0,0 +1,38 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 거래 가격 분위수 스케치(t-digest) 저장 테이블
+// 재시작 시 거래 테이블 전체를 다시 읽지 않도록 직렬화된 스케치와 마지막 반영 거래 ID 를 보관한다.
+@Entity
+@Getter
+@Setter
+@Table(name = "price_sketch")
+public class PriceSketch {
+
+    @Id
+    @Column(name = "sketch_key", length = 150)
+    private String sketchKey;  // 스케치 키 (카테고리 / 카테고리+상품명 클러스터)
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;  // 카테고리 ID
+
+    @Column(name = "cluster_key", length = 100)
+    private String clusterKey;  // 상품명 클러스터 키 (카테고리 전체 스케치는 null)
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;  // 반영된 거래 수
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;  // 마지막으로 반영된 거래 ID
+
+    @Lob
+    @Column(name = "digest", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] digest;  // 직렬화된 t-digest
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;  // 저장 시간
+}
@@ -3,6 +3,7 @@ package ac.su.kdt.secondhandmarketplace.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,22 +12,36 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "product")
+@EntityListeners({PriceIntelligenceEntityListener.class, RegionEntityListener.class, DuplicateListingEntityListener.class, UniversityPartitionEntityListener.class,
+    OutboxEntityListener.class})
+@NamedEntityGraph(  // 추천 후보 렌더링용 fetch plan: 카테고리/판매자를 한 번에 로딩
+    name = Product.GRAPH_RECOMMENDATION_CANDIDATE,
+    attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("user")
+    }
+)
 public class Product {
+
+    public static final String GRAPH_RECOMMENDATION_CANDIDATE = "Product.recommendationCandidate";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "product_id")
     private Long id;  // 상품 고유 식별자
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id2", nullable = false)
     private Category category;  // 상품 카테고리
     
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;  // 판매자 정보
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private SellerProfile user;  // 판매자 정보 (2차 캐시되는 판매자 프로필)
+
+    @Column(name = "university_id", nullable = false)
+    private Long universityId;  // 판매자 소속 대학교 ID (파티션 키, 등록 시 판매자에게서 복사)
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ai_predicted_category_id")
     private Category aiPredictedCategory;  // AI가 예측한 카테고리
     
@@ -39,6 +54,9 @@ public class Product {
     @Column(name = "price", precision = 10, scale = 0)
     private BigDecimal price;  // 상품 가격
 
+    @Transient
+    private BigDecimal loadedPrice;  // 조회/마지막 저장 시점 가격 (outbox 가격 변경 이벤트용, 저장하지 않음)
+
     @Column(name = "status", nullable = false, length = 20)
     private String status;  // 상품 상태 (판매중, 예약중 등)
 
@@ -56,6 +74,12 @@ public class Product {
     
     @Column(name = "location_info", length = 100)
     private String locationInfo;  // 위치 정보 (100자 제한)
+
+    @Column(name = "region_code")
+    private Long regionCode;  // 법정동 지역 코드 (위치 정보에서 파싱, 인식하지 못하면 null)
+
+    @Column(name = "simhash")
+    private Long simhash;  // 상품명 + 설명 64비트 SimHash (근접 중복 매물 탐지용)
     
     @Column(name = "create_at", nullable = false)
     private LocalDateTime createAt;  // 상품 등록 시간
@@ -69,9 +93,11 @@ public class Product {
     @Column(name = "sold_at")
     private LocalDateTime soldAt;  // 판매 완료 시간
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<ProductImage> images;  // 상품 이미지 목록
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<ChatRoom> chatRooms;  // 상품 관련 채팅방 목록
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 판매 완료 상품 아카이브 (cold)
+// 이동은 TieringService 가 JDBC 배치로 하고, 엔티티는 지난 거래 재생 쿼리에서 상품명/카테고리/판매자를 보완하는 데 쓴다.
+@Entity
+@Getter
+@Setter
+@Table(name = "product_archive")
+public class ProductArchive {
+
+    @Id
+    @Column(name = "product_id")
+    private Long id;  // 원래 상품 ID
+
+    @Column(name = "category_id2", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "university_id", nullable = false)
+    private Long universityId;
+
+    @Column(name = "ai_predicted_category_id")
+    private Long aiPredictedCategoryId;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "price", precision = 10, scale = 0)
+    private BigDecimal price;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "ai_price_min", precision = 10, scale = 0)
+    private BigDecimal aiPriceMin;
+
+    @Column(name = "ai_price_max", precision = 10, scale = 0)
+    private BigDecimal aiPriceMax;
+
+    @Column(name = "view_count")
+    private Integer viewCount;
+
+    @Column(name = "chat_count")
+    private Integer chatCount;
+
+    @Column(name = "location_info", length = 100)
+    private String locationInfo;
+
+    @Column(name = "region_code")
+    private Long regionCode;
+
+    @Column(name = "simhash")
+    private Long simhash;
+
+    @Column(name = "create_at", nullable = false)
+    private LocalDateTime createAt;
+
+    @Column(name = "update_at", nullable = false)
+    private LocalDateTime updateAt;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+
+    @Column(name = "sold_at")
+    private LocalDateTime soldAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;  // 아카이브로 옮긴 시간
+}
@@ -16,9 +16,9 @@ public class ProductImage {
     @Column(name = "image_id")
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "product_id", nullable = false)
-    private Product product;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Product product;  // 판매 완료 후 아카이브로 옮겨졌을 수 있음 (ProductArchive)
     
     @Column(name = "image_url", nullable = false, length = 200)
     private String imageUrl;
@@ -28,4 +28,22 @@ public class ProductImage {
     
     @Column(name = "uploaded_at", nullable = false)
     private LocalDateTime uploadedAt;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;  // 원본 파일 SHA-256 (같은 내용이면 파일 하나를 공유)
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    @Column(name = "byte_size")
+    private Long byteSize;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "thumbnail_ready", nullable = false)
+    private boolean thumbnailReady;  // 썸네일 생성 완료 여부 (목록 화면은 완료된 경우 썸네일 URL 사용)
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import ac.su.kdt.secondhandmarketplace.service.RegionService;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// 상품 지역 코드 엔티티 리스너 (Product)
+// - 등록/수정 전: 위치 정보 문자열을 파싱해서 regionCode 채우기 (인식하지 못하면 null)
+// EntityManagerFactory 생성 시점에 만들어지므로 서비스는 ObjectProvider 로 늦게 조회한다.
+@Component
+public class RegionEntityListener {
+
+    private final ObjectProvider<RegionService> regionService;
+
+    public RegionEntityListener(ObjectProvider<RegionService> regionService) {
+        this.regionService = regionService;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void beforeSave(Object entity) {
+        if (entity instanceof Product product) {
+            product.setRegionCode(regionService.getObject().codeOf(product.getLocationInfo()));
+        }
+    }
+}
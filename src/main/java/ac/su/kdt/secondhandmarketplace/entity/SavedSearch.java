@@ -0,0 +1,56 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 저장된 검색 (RecommendationCriteria 의 필터 조건을 컬럼으로 저장)
+// 새 매물 등록 / 가격 변경 시 SavedSearchService 의 역색인으로 매칭해서 알림을 보낸다.
+// 정렬 기준과 최소 리뷰 평점은 새 매물 알림에 의미가 없으므로 저장하지 않는다.
+@Entity
+@Getter
+@Setter
+@Table(name = "saved_search")
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "saved_search_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;  // 알림 받을 사용자
+
+    @Column(name = "user_request", length = 200)
+    private String userRequest;  // 저장할 때의 자연어 요청 원문 (예: "맥북 100만원 이하 서울시")
+
+    @Column(name = "university_id")
+    private Long universityId;  // 소속 대학교 ID (null 이면 전체)
+
+    @Column(name = "product_name", length = 100)
+    private String productName;  // 상품명 키워드 (상품명에 포함)
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;  // 카테고리 (null 이면 전체)
+
+    @Column(name = "min_price", precision = 10, scale = 0)
+    private BigDecimal minPrice;  // 최소 가격
+
+    @Column(name = "max_price", precision = 10, scale = 0)
+    private BigDecimal maxPrice;  // 최대 가격
+
+    @Column(name = "location", length = 100)
+    private String location;  // 위치 (지역명)
+
+    @Column(name = "region_code")
+    private Long regionCode;  // 위치의 지역 코드 (하위 지역 포함)
+
+    @Column(name = "min_manner_score")
+    private Double minMannerScore;  // 최소 판매자 매너 점수
+
+    @Column(name = "create_at", nullable = false)
+    private LocalDateTime createAt;
+}
@@ -0,0 +1,39 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+// user 테이블의 판매자 프로필 부분만 매핑한 읽기 전용 엔티티
+// 상품 조회마다 필요한 판매자 정보만 2차 캐시에 올리고, 비밀번호/이메일 등은 캐시하지 않는다.
+// 매너 점수 등 값 변경은 User 엔티티(또는 배치 업데이트) 로 하고 이 캐시 영역을 evict 한다.
+@Entity
+@Getter
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "seller-profile")
+@Subselect("SELECT user_id, university_id, nickname, profile_image_url, manner_score FROM user")
+@Synchronize("user")
+public class SellerProfile {
+
+    @Id
+    @Column(name = "user_id")
+    private Long id;  // 사용자 고유 식별자
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "university_id", nullable = false)
+    private University university;  // 소속 대학교
+
+    @Column(nullable = false, length = 30)
+    private String nickname;  // 닉네임
+
+    @Column(name = "profile_image_url", length = 200)
+    private String profileImageUrl;  // 프로필 이미지 URL
+
+    @Column(name = "manner_score", nullable = false)
+    private Double mannerScore;  // 매너 점수
+}
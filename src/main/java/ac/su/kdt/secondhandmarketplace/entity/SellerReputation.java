@@ -0,0 +1,44 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 판매자 매너 점수 누적 상태
+// 리뷰/거래 테이블을 다시 집계하지 않고 이벤트마다 증분 갱신할 수 있도록 감쇠 가중 합을 보관한다.
+// 저장은 ReputationService 가 JDBC 배치로 하고, 엔티티는 상태 조회에만 사용한다.
+@Entity
+@Getter
+@Setter
+@Table(name = "seller_reputation")
+public class SellerReputation {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;  // 판매자(user) ID
+
+    @Column(name = "rating_sum", nullable = false)
+    private Double ratingSum;  // 기준 시점 가중 평점 합
+
+    @Column(name = "weight_sum", nullable = false)
+    private Double weightSum;  // 기준 시점 가중치 합
+
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount;  // 반영된 리뷰 수
+
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount;  // 반영된 거래 수
+
+    @Column(name = "last_event_epoch_second", nullable = false)
+    private Long lastEventEpochSecond;  // 마지막 이벤트 시각 (점수 계산 기준 시점)
+
+    @Column(name = "last_outbox_event_id", nullable = false)
+    private Long lastOutboxEventId;  // 반영한 마지막 outbox 이벤트 ID (재전달/구독 노드 변경 시 중복 반영 방지, 재계산 후 0)
+
+    @Column(name = "manner_score", nullable = false)
+    private Double mannerScore;  // 계산된 매너 점수 (user.manner_score 와 같음)
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;  // 저장 시간
+}
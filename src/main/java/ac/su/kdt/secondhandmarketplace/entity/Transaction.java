@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Table(name = "transaction")
+@EntityListeners(OutboxEntityListener.class)
 public class Transaction {
     
     @Id
@@ -17,11 +18,11 @@ public class Transaction {
     @Column(name = "transaction_id")
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "product_id", nullable = false)
-    private Product product;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Product product;  // 판매 완료 후 아카이브로 옮겨졌을 수 있음 (ProductArchive)
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
@@ -31,7 +32,7 @@ public class Transaction {
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime transactionDate;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "review_id2")
     private Review review;
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import ac.su.kdt.secondhandmarketplace.service.TrendingService;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 활동 로그 엔티티 리스너: 커밋된 조회/채팅/거래 이벤트를 인기 순위에 반영
+@Component
+public class TrendingEntityListener {
+
+    private final ObjectProvider<TrendingService> trendingService;
+
+    public TrendingEntityListener(ObjectProvider<TrendingService> trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    @PostPersist
+    public void afterInsert(UserActivityLog log) {
+        String activityType = log.getActivityType();
+        Long targetId = log.getTargetId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            trendingService.getObject().record(activityType, targetId, log.getCreateAt());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                trendingService.getObject().record(activityType, targetId, log.getCreateAt());
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package ac.su.kdt.secondhandmarketplace.entity;
+
+import jakarta.persistence.PrePersist;
+import org.springframework.stereotype.Component;
+
+// 대학교 파티션 엔티티 리스너 (Product)
+// - 등록 전: 판매자의 소속 대학교를 product.university_id 에 복사 (파티션 키)
+// 추천 후보 캐시 무효화는 커밋 후 outbox 이벤트로 CatalogPartitionService 가 한다.
+@Component
+public class UniversityPartitionEntityListener {
+
+    @PrePersist
+    public void beforeInsert(Product product) {
+        if (product.getUniversityId() == null && product.getUser() != null) {
+            product.setUniversityId(product.getUser().getUniversity().getId());
+        }
+    }
+}
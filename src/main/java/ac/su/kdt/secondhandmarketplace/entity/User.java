@@ -16,7 +16,7 @@ public class User {
     @Column(name = "user_id")
     private Long id;  // 사용자 고유 식별자
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id", nullable = false)
     private University university;  // 소속 대학교
     
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "useractivitylog")
+@Table(name = "useractivitylog")  // create_at 월 단위 RANGE 파티션 (파티션 테이블은 외래 키 불가)
+@EntityListeners(TrendingEntityListener.class)
 public class UserActivityLog {
     
     @Id
@@ -16,8 +17,8 @@ public class UserActivityLog {
     @Column(name = "log_id")
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
     
     @Column(name = "session_id", nullable = false, length = 64)
@@ -0,0 +1,35 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.TermCount;
+import ac.su.kdt.secondhandmarketplace.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    // 카테고리명으로 조회 (쿼리 캐시 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Category> findByCategoryName(String categoryName);
+
+    // 하위 카테고리 목록 조회 (쿼리 캐시 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findByParentCategoryId(Long parentCategoryId);
+
+    // 자동완성 사전: 카테고리명별 판매중 매물 수 (매물이 없는 카테고리는 0)
+    @Transactional(readOnly = true)
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.TermCount(c.categoryName, COUNT(p))
+    FROM Category c LEFT JOIN Product p ON p.category = c AND p.status = '판매중'
+    GROUP BY c.categoryName
+""")
+    List<TermCount> countOnSaleByCategoryName();
+}
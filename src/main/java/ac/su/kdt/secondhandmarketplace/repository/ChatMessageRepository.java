@@ -0,0 +1,20 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.entity.ChatMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    // 채팅방의 메시지 이력 조회 (발신자는 LAZY, 필요 시 2차 조회)
+    // sent_at 하한으로 보존 기간 안의 파티션만 읽는다 (그 이전 이력은 chatmessage_archive)
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatRoom.id = :chatRoomId AND m.sentAt >= :since ORDER BY m.sentAt ASC")
+    List<ChatMessage> findHistoryByChatRoomId(@Param("chatRoomId") Long chatRoomId, @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,39 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.ProductCount;
+import ac.su.kdt.secondhandmarketplace.entity.ChatRoom;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+
+    // 사용자의 채팅 목록 조회 (상품/참여자를 한 번의 쿼리로 로딩)
+    @EntityGraph(value = ChatRoom.GRAPH_CHAT_LIST)
+    @Query("""
+    SELECT cr FROM ChatRoom cr
+    WHERE cr.user.id = :userId OR cr.user2.id = :userId
+    ORDER BY cr.createAt DESC
+""")
+    List<ChatRoom> findChatListByUserId(@Param("userId") Long userId);
+
+    // 상품별 채팅방 수 조회
+    @Query("SELECT COUNT(cr) FROM ChatRoom cr WHERE cr.product.id = :productId")
+    Long countByProductId(@Param("productId") Long productId);
+
+    // 여러 상품의 채팅방 수를 한 번에 조회 (채팅방이 없는 상품은 결과에 없음)
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ProductCount(cr.productId, COUNT(cr))
+    FROM ChatRoom cr
+    WHERE cr.productId IN :productIds
+    GROUP BY cr.productId
+""")
+    List<ProductCount> countByProductIds(@Param("productIds") Collection<Long> productIds);
+}
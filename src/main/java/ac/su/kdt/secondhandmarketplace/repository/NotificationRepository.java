@@ -0,0 +1,26 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // 사용자의 최근 알림 (최근 순)
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.id DESC")
+    List<Notification> findRecent(@Param("userId") Long userId, Pageable pageable);
+
+    // afterId 다음 알림부터 오래된 순 (이어받기, 마지막으로 받은 ID 를 다시 afterId 로 넘겨 다음 페이지)
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<Notification> findAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    long countByUserIdAndReadAtIsNull(Long userId);
+}
@@ -0,0 +1,9 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.entity.PriceSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PriceSketchRepository extends JpaRepository<PriceSketch, String> {
+}
@@ -0,0 +1,32 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.ProductCount;
+import ac.su.kdt.secondhandmarketplace.entity.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+
+    // 상품의 마지막 이미지 순서 (이미지가 없으면 null)
+    @Query("SELECT MAX(pi.sequence) FROM ProductImage pi WHERE pi.product.id = :productId")
+    Integer findMaxSequence(@Param("productId") Long productId);
+
+    // 썸네일이 아직 없는 원본 해시 (기동 시 썸네일 생성 재개용)
+    @Query("SELECT DISTINCT pi.contentHash FROM ProductImage pi WHERE pi.contentHash IS NOT NULL AND pi.thumbnailReady = false")
+    List<String> findHashesWithoutThumbnail();
+
+    // 여러 상품의 이미지 수를 한 번에 조회 (이미지가 없는 상품은 결과에 없음)
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ProductCount(pi.product.id, COUNT(pi))
+    FROM ProductImage pi
+    WHERE pi.product.id IN :productIds
+    GROUP BY pi.product.id
+""")
+    List<ProductCount> countByProductIds(@Param("productIds") Collection<Long> productIds);
+}
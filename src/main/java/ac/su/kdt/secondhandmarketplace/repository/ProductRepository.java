@@ -1,24 +1,37 @@
 package ac.su.kdt.secondhandmarketplace.repository;
 
+import ac.su.kdt.secondhandmarketplace.dto.ListingSignatureRow;
+import ac.su.kdt.secondhandmarketplace.dto.ProductTrendingMeta;
+import ac.su.kdt.secondhandmarketplace.dto.TermCount;
 import ac.su.kdt.secondhandmarketplace.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @Transactional(readOnly = true)
+    @EntityGraph(value = Product.GRAPH_RECOMMENDATION_CANDIDATE)
     @Query("""
     SELECT p FROM Product p 
     WHERE 
+        (:universityId IS NULL OR p.universityId = :universityId) AND 
         (:productName IS NULL OR p.title LIKE CONCAT('%', :productName, '%')) AND 
-        (:category IS NULL OR p.category.categoryName = :category) AND 
+        (:categoryId IS NULL OR p.category.id = :categoryId) AND 
         (:maxPrice IS NULL OR p.price <= :maxPrice) AND 
         (:minPrice IS NULL OR p.price >= :minPrice) AND 
-        (:location IS NULL OR p.locationInfo LIKE CONCAT('%', :location, '%')) AND 
+        (:regionFrom IS NULL OR p.regionCode BETWEEN :regionFrom AND :regionTo) AND 
         p.status = '판매중' AND 
         (:minMannerScore IS NULL OR p.user.mannerScore >= :minMannerScore) 
     ORDER BY 
@@ -41,27 +54,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 """)
 
     List<Product> findByRecommendationCriteria( // 상품 추천 조건에 맞는 상품을 조회하는 메서드
+        @Param("universityId") Long universityId,
         @Param("productName") String productName,
-        @Param("category") String category,
+        @Param("categoryId") Long categoryId,
         @Param("maxPrice") BigDecimal maxPrice,
         @Param("minPrice") BigDecimal minPrice,
-        @Param("location") String location,
+        @Param("regionFrom") Long regionFrom,
+        @Param("regionTo") Long regionTo,
         @Param("minMannerScore") Double minMannerScore,
         @Param("sortBy") String sortBy,
         @Param("sortDirection") String sortDirection
     );
 
 
+    @Transactional(readOnly = true)
+    @EntityGraph(value = Product.GRAPH_RECOMMENDATION_CANDIDATE)
     @Query("""
-    SELECT DISTINCT p FROM Product p
-    LEFT JOIN FETCH p.user u
-    LEFT JOIN FETCH p.category c
+    SELECT p FROM Product p
     WHERE p.status = '판매중'
+        AND (:universityId IS NULL OR p.universityId = :universityId)
         AND (:minPrice IS NULL OR p.price >= :minPrice)
         AND (:maxPrice IS NULL OR p.price <= :maxPrice)
-        AND (:location IS NULL OR p.locationInfo LIKE CONCAT('%', :location, '%'))
-        AND (:category IS NULL OR c.categoryName = :category)
-        AND (:minMannerScore IS NULL OR u.mannerScore >= :minMannerScore)
+        AND (:regionFrom IS NULL OR p.regionCode BETWEEN :regionFrom AND :regionTo)
+        AND (:categoryId IS NULL OR p.category.id = :categoryId)
+        AND (:minMannerScore IS NULL OR p.user.mannerScore >= :minMannerScore)
         AND (:minRating IS NULL OR 
             (SELECT AVG(r.rating) FROM Review r JOIN r.transaction t WHERE t.product = p) >= :minRating)
     ORDER BY 
@@ -83,16 +99,49 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         END DESC
 """)
     List<Product> findProductsByCriteria(
+            @Param("universityId") Long universityId,
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
-            @Param("location") String location,
-            @Param("category") String category,
+            @Param("regionFrom") Long regionFrom,
+            @Param("regionTo") Long regionTo,
+            @Param("categoryId") Long categoryId,
             @Param("minMannerScore") Double minMannerScore,
             @Param("minRating") Double minRating,
             @Param("sortBy") String sortBy,
             @Param("sortDirection") String sortDirection
     );
 
+    // 캐시된 추천 후보 ID 로 상품 재조회 (판매중인 상품만, 카테고리/판매자 함께 로딩)
+    @Transactional(readOnly = true)
+    @EntityGraph(value = Product.GRAPH_RECOMMENDATION_CANDIDATE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :productIds AND p.status = '판매중'")
+    List<Product> findCandidatesByIds(@Param("productIds") Collection<Long> productIds);
 
+    // 인기 순위 보드용 상품 메타데이터 일괄 조회
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ProductTrendingMeta(p.id, p.category.id, p.regionCode, p.universityId, p.title, p.price)
+    FROM Product p
+    WHERE p.id IN :productIds AND p.status = '판매중'
+""")
+    List<ProductTrendingMeta> findTrendingMetaByIds(@Param("productIds") Collection<Long> productIds);
+
+    // 판매중 상품의 중복 탐지 서명 스트리밍 조회 (서명이 없는 상품만 제목/설명 포함)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ListingSignatureRow(
+        p.id, p.user.id, p.simhash,
+        CASE WHEN p.simhash IS NULL THEN p.title END,
+        CASE WHEN p.simhash IS NULL THEN p.description END)
+    FROM Product p
+    WHERE p.status = '판매중'
+""")
+    Stream<ListingSignatureRow> streamListingSignatures();
 
-}
\ No newline at end of file
+    // 자동완성 사전: 판매중 상품명별 매물 수
+    @Transactional(readOnly = true)
+    @Query("SELECT new ac.su.kdt.secondhandmarketplace.dto.TermCount(p.title, COUNT(p)) FROM Product p WHERE p.status = '판매중' GROUP BY p.title")
+    List<TermCount> countOnSaleByTitle();
+}
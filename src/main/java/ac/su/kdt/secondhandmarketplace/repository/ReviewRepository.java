@@ -1,25 +1,78 @@
 package ac.su.kdt.secondhandmarketplace.repository;
 
+import ac.su.kdt.secondhandmarketplace.dto.ProductRatingSummary;
+import ac.su.kdt.secondhandmarketplace.dto.ReputationEventRow;
+import ac.su.kdt.secondhandmarketplace.dto.ReviewDisplayDTO;
+import ac.su.kdt.secondhandmarketplace.dto.SellerReviewCount;
 import ac.su.kdt.secondhandmarketplace.entity.Review;
 import ac.su.kdt.secondhandmarketplace.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     // 특정 사용자의 리뷰 수 조회
     @Query("SELECT COUNT(r) FROM Review r WHERE r.user = :user")
     Long countByUser(@Param("user") User user);
+
+    // 특정 사용자 ID 의 리뷰 수 조회 (User 엔티티 로딩 없이)
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.user.id = :userId")
+    Long countByUserId(@Param("userId") Long userId);
+
+    // 여러 사용자의 리뷰 수 일괄 조회 (추천 후보용)
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.SellerReviewCount(r.user.id, COUNT(r))
+    FROM Review r
+    WHERE r.user.id IN :userIds
+    GROUP BY r.user.id
+""")
+    List<SellerReviewCount> countByUserIds(@Param("userIds") Collection<Long> userIds);
     
     // 특정 상품의 평균 평점 조회
     @Query("SELECT AVG(r.rating) FROM Review r JOIN r.transaction t WHERE t.product.id = :productId")
     Double getAverageRatingByProductId(@Param("productId") Long productId);
+
+    // 여러 상품의 평균 평점 일괄 조회 (추천 후보용)
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ProductRatingSummary(t.product.id, AVG(r.rating))
+    FROM Review r JOIN r.transaction t
+    WHERE t.product.id IN :productIds
+    GROUP BY t.product.id
+""")
+    List<ProductRatingSummary> getAverageRatingsByProductIds(@Param("productIds") Collection<Long> productIds);
     
     // 특정 상품의 리뷰 목록 조회
     @Query("SELECT r FROM Review r JOIN r.transaction t WHERE t.product.id = :productId")
     List<Review> findByProductId(@Param("productId") Long productId);
-} 
\ No newline at end of file
+
+    // 리뷰 화면 표시용 프로젝션 조회
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ReviewDisplayDTO(
+        r.id, r.rating, r.content, r.createAt, u.id, u.nickname)
+    FROM Review r
+    JOIN r.transaction t
+    JOIN r.user u
+    WHERE t.product.id = :productId
+    ORDER BY r.createAt DESC
+""")
+    List<ReviewDisplayDTO> findDisplayByProductId(@Param("productId") Long productId);
+
+    // 전체 리뷰를 ID 순으로 스트리밍 조회 (매너 점수 전체 재계산용)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ac.su.kdt.secondhandmarketplace.dto.ReputationEventRow(r.id, r.user.id, r.rating, r.createAt) FROM Review r ORDER BY r.id")
+    Stream<ReputationEventRow> streamReputationEvents();
+}
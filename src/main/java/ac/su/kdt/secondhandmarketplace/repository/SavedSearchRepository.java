@@ -0,0 +1,39 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchRow;
+import ac.su.kdt.secondhandmarketplace.entity.SavedSearch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    // 사용자의 저장된 검색 목록 (최근 순, 카테고리 함께 로딩)
+    @Transactional(readOnly = true)
+    @Query("SELECT s FROM SavedSearch s LEFT JOIN FETCH s.category WHERE s.userId = :userId ORDER BY s.id DESC")
+    List<SavedSearch> findByUserId(@Param("userId") Long userId);
+
+    @Transactional(readOnly = true)
+    long countByUserId(Long userId);
+
+    // 역색인 적재용 매칭 조건 스트리밍 조회
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.SavedSearchRow(
+        s.id, s.userId, s.universityId, s.productName, c.id, s.minPrice, s.maxPrice, s.regionCode, s.minMannerScore)
+    FROM SavedSearch s LEFT JOIN s.category c
+""")
+    Stream<SavedSearchRow> streamRows();
+}
@@ -0,0 +1,12 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.entity.SellerProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// 판매자 프로필 조회 (2차 캐시 seller-profile 영역 사용)
+@Repository
+@Transactional(readOnly = true)
+public interface SellerProfileRepository extends JpaRepository<SellerProfile, Long> {
+}
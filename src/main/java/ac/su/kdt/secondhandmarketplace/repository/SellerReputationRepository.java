@@ -0,0 +1,20 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.entity.SellerReputation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface SellerReputationRepository extends JpaRepository<SellerReputation, Long> {
+
+    // 증분 갱신의 시작 상태 조회 (읽고 더해서 덮어쓰므로 복제 지연이 있는 replica 가 아닌 primary 에서 읽는다)
+    @Transactional
+    @Query("SELECT r FROM SellerReputation r WHERE r.sellerId = :sellerId")
+    Optional<SellerReputation> findOnPrimaryById(@Param("sellerId") Long sellerId);
+}
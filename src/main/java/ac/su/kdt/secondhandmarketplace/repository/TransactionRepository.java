@@ -0,0 +1,49 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.ReputationEventRow;
+import ac.su.kdt.secondhandmarketplace.dto.TransactionPriceRow;
+import ac.su.kdt.secondhandmarketplace.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.stream.Stream;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // 거래 ID 이후의 가격 데이터를 ID 순으로 스트리밍 조회 (스케치 재구성/따라잡기용)
+    // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때 행 단위 스트리밍을 한다.
+    // 아카이브로 옮겨진 상품은 product_archive 에서 상품명/카테고리를 읽는다.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.TransactionPriceRow(
+        t.id, t.finalPrice, COALESCE(p.title, pa.title), COALESCE(p.category.id, pa.categoryId))
+    FROM Transaction t
+    LEFT JOIN t.product p
+    LEFT JOIN ProductArchive pa ON pa.id = t.product.id
+    WHERE t.id > :afterId
+    ORDER BY t.id
+""")
+    Stream<TransactionPriceRow> streamPriceRowsAfter(@Param("afterId") Long afterId);
+
+    // 전체 거래를 ID 순으로 스트리밍 조회 (매너 점수 전체 재계산용, 아카이브된 상품은 product_archive 의 판매자)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ReputationEventRow(t.id, COALESCE(p.user.id, pa.sellerId), t.transactionDate)
+    FROM Transaction t
+    LEFT JOIN t.product p
+    LEFT JOIN ProductArchive pa ON pa.id = t.product.id
+    ORDER BY t.id
+""")
+    Stream<ReputationEventRow> streamReputationEvents();
+}
@@ -0,0 +1,32 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.ActivityEventRow;
+import ac.su.kdt.secondhandmarketplace.entity.UserActivityLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Repository
+public interface UserActivityLogRepository extends JpaRepository<UserActivityLog, Long> {
+
+    // 특정 시점 이후의 상품 대상 활동 로그 스트리밍 조회 (인기 순위 워밍업용)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new ac.su.kdt.secondhandmarketplace.dto.ActivityEventRow(l.activityType, l.targetId, l.createAt)
+    FROM UserActivityLog l
+    WHERE l.createAt >= :since AND l.targetId IS NOT NULL AND l.activityType IN :activityTypes
+    ORDER BY l.createAt
+""")
+    Stream<ActivityEventRow> streamProductEventsSince(@Param("since") LocalDateTime since,
+                                                      @Param("activityTypes") Collection<String> activityTypes);
+}
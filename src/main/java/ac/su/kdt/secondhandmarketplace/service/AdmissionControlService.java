@@ -0,0 +1,410 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.AdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 입장 제어 (admission control)
+ * - 전체 / 사용자별 토큰 버킷: 요청마다 예상 토큰을 차감하고 응답의 usage 로 정산
+ * - 동시 호출 수 제한 + 크기 제한 우선순위 대기열 (우선순위 높은 순, 같으면 마감 임박 순)
+ * - 마감 시간 안에 끝날 수 없다고 예측되면 대기열에 넣지 않고 바로 거절
+ * - 거절/타임아웃/상위 오류 시 최근 캐시 응답 또는 호출 측이 준비한 저비용 응답(DB 순위)으로 대체
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+
+    public static final int PRIORITY_CHAT = 0;
+    public static final int PRIORITY_RECOMMENDATION = 10;
+
+    static final String REJECT_USER_RATE = "user-rate-limit";
+    static final String REJECT_GLOBAL_RATE = "global-rate-limit";
+    static final String REJECT_QUEUE_FULL = "queue-full";
+    static final String REJECT_DEADLINE = "deadline";
+    static final String REJECT_TIMEOUT = "timeout";
+    static final String REJECT_UPSTREAM = "upstream-error";
+
+    private static final double LATENCY_EWMA_ALPHA = 0.2;
+    private static final int TOP_CLIENTS = 20;
+
+    // 우선순위 높은 순 -> 마감 임박 순 -> 도착 순
+    private static final Comparator<Waiter> WAITER_ORDER = Comparator
+            .comparingInt((Waiter waiter) -> -waiter.ticket.priority())
+            .thenComparingLong(waiter -> waiter.ticket.deadlineNanos())
+            .thenComparingLong(waiter -> waiter.sequence);
+
+    private final AdmissionProperties properties;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Cache<String, Object> answers;
+    private final Cache<String, ClientUsage> usage;
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(WAITER_ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private int inFlight;  // this 로 보호
+    private volatile double averageLatencyMs;
+
+    public AdmissionControlService(AdmissionProperties properties) {
+        this.properties = properties;
+        this.globalBucket = new TokenBucket(properties.getGlobal().getCapacity(), properties.getGlobal().getRefillPerSecond());
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(properties.getAnswerCache().getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getAnswerCache().getExpireAfterWriteSeconds()))
+                .build();
+        this.usage = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.averageLatencyMs = properties.getInitialLatencyMs();
+    }
+
+    /**
+     * 입장 요청을 만듭니다. (deadlineMs 가 없으면 기본 마감 시간)
+     */
+    public AdmissionTicket ticket(String clientKey, int priority, Long deadlineMs, String prompt, String cacheKey) {
+        long timeoutMs = deadlineMs != null && deadlineMs > 0 ? deadlineMs : properties.getDefaultDeadlineMs();
+        long estimatedTokens = estimateTokens(prompt) + properties.getMaxOutputTokens();
+        return new AdmissionTicket(clientKey != null ? clientKey : "anonymous", priority,
+                System.nanoTime() + timeoutMs * 1_000_000, estimatedTokens, cacheKey, new AdmissionTicket.Settlement(estimatedTokens));
+    }
+
+    /**
+     * LLM 호출을 입장 제어 하에 실행합니다.
+     * - call: 실제 LLM 호출 (입장 허가 후 구독)
+     * - fallback: 과부하 시 대체 응답 (캐시 응답이 없을 때 사용, null 이면 AdmissionRejectedException)
+     */
+    public <T> Mono<T> submit(AdmissionTicket ticket, Supplier<Mono<T>> call, Supplier<T> fallback) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            String rejection = charge(ticket);
+            if (rejection != null) {
+                return degrade(ticket, rejection, fallback);
+            }
+            AtomicBoolean called = new AtomicBoolean();
+            return Mono.<T, Permit>usingWhen(
+                            acquire(ticket),
+                            permit -> {
+                                called.set(true);
+                                return timed(ticket, call);
+                            },
+                            permit -> Mono.fromRunnable(permit::release),
+                            (permit, error) -> Mono.fromRunnable(permit::release),
+                            permit -> Mono.fromRunnable(permit::release))
+                    .onErrorResume(error -> {
+                        if (!called.get()) {
+                            refund(ticket);  // LLM 을 호출하지 않았으면 차감한 토큰을 돌려준다
+                        }
+                        return degrade(ticket, reasonOf(error), fallback);
+                    });
+        });
+    }
+
+    /**
+     * LLM 응답의 실제 사용 토큰으로 버킷과 사용량을 정산합니다.
+     * 한 티켓의 여러 응답(모델 에스컬레이션)은 누적 사용량 기준으로 정산하므로 예상 토큰을 한 번만 돌려준다.
+     */
+    public void recordUsage(AdmissionTicket ticket, Integer actualTokens) {
+        if (actualTokens == null || actualTokens <= 0) {
+            return;
+        }
+        AdmissionTicket.Settlement settlement = ticket.settlement();
+        long delta;
+        synchronized (settlement) {
+            settlement.usedTokens += actualTokens;
+            delta = settlement.usedTokens - settlement.chargedTokens;
+            settlement.chargedTokens = settlement.usedTokens;
+        }
+        globalBucket.adjust(delta);
+        bucketOf(ticket.clientKey()).adjust(delta);
+        usageOf(ticket.clientKey()).actualTokens.add(actualTokens);
+    }
+
+    /**
+     * 현재 상태와 누적 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (this) {
+            result.put("inFlight", inFlight);
+            result.put("queued", queue.size());
+        }
+        result.put("maxConcurrent", properties.getMaxConcurrent());
+        result.put("queueCapacity", properties.getQueueCapacity());
+        result.put("averageLatencyMs", Math.round(averageLatencyMs));
+        result.put("globalTokensAvailable", Math.round(globalBucket.available()));
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+
+        List<Map.Entry<String, ClientUsage>> clients = new ArrayList<>(usage.asMap().entrySet());
+        clients.sort(Comparator.comparingLong((Map.Entry<String, ClientUsage> entry) -> entry.getValue().actualTokens.sum()).reversed());
+        Map<String, Object> topClients = new LinkedHashMap<>();
+        for (Map.Entry<String, ClientUsage> entry : clients.subList(0, Math.min(TOP_CLIENTS, clients.size()))) {
+            Map<String, Long> clientStats = new LinkedHashMap<>();
+            clientStats.put("requests", entry.getValue().requests.sum());
+            clientStats.put("estimatedTokens", entry.getValue().estimatedTokens.sum());
+            clientStats.put("actualTokens", entry.getValue().actualTokens.sum());
+            topClients.put(entry.getKey(), clientStats);
+        }
+        result.put("clients", topClients);
+        return result;
+    }
+
+    long counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    // 사용자 버킷 -> 전체 버킷 순으로 예상 토큰 차감 (거절 사유 또는 null)
+    private String charge(AdmissionTicket ticket) {
+        ClientUsage clientUsage = usageOf(ticket.clientKey());
+        clientUsage.requests.increment();
+        clientUsage.estimatedTokens.add(ticket.estimatedTokens());
+        TokenBucket userBucket = bucketOf(ticket.clientKey());
+        if (!userBucket.tryAcquire(ticket.estimatedTokens())) {
+            return REJECT_USER_RATE;
+        }
+        if (!globalBucket.tryAcquire(ticket.estimatedTokens())) {
+            userBucket.adjust(-ticket.estimatedTokens());
+            return REJECT_GLOBAL_RATE;
+        }
+        return null;
+    }
+
+    private void refund(AdmissionTicket ticket) {
+        globalBucket.adjust(-ticket.estimatedTokens());
+        bucketOf(ticket.clientKey()).adjust(-ticket.estimatedTokens());
+    }
+
+    // 동시 호출 슬롯 획득 (바로 얻거나, 대기열에서 차례를 기다리거나, 거절)
+    private Mono<Permit> acquire(AdmissionTicket ticket) {
+        Mono<Permit> permit = Mono.create(sink -> {
+            Waiter waiter = new Waiter(ticket, sink, sequence.incrementAndGet());
+            Waiter evicted = null;
+            String rejection = null;
+            synchronized (this) {
+                if (inFlight < properties.getMaxConcurrent() && queue.isEmpty()) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else if (expectedWaitMs(ticket) > ticket.remainingMillis()) {
+                    rejection = REJECT_DEADLINE;
+                } else if (queue.size() >= properties.getQueueCapacity()) {
+                    Waiter lowest = lowestPriority();
+                    if (lowest != null && lowest.ticket.priority() < ticket.priority()) {
+                        queue.remove(lowest);
+                        evicted = lowest;
+                        queue.add(waiter);
+                    } else {
+                        rejection = REJECT_QUEUE_FULL;
+                    }
+                } else {
+                    queue.add(waiter);
+                }
+            }
+            sink.onCancel(() -> cancel(waiter));
+            if (evicted != null) {
+                evicted.sink.error(new AdmissionRejectedException(REJECT_QUEUE_FULL));
+            }
+            if (rejection != null) {
+                sink.error(new AdmissionRejectedException(rejection));
+            } else if (waiter.permit != null) {
+                sink.success(waiter.permit);
+            }
+        });
+        long remaining = Math.max(1, ticket.remainingMillis());
+        return permit.timeout(Duration.ofMillis(remaining),
+                Mono.error(new AdmissionRejectedException(REJECT_DEADLINE)));
+    }
+
+    // 대기 중 취소(마감 시간 초과 등): 대기열에서 빼거나, 이미 받은 슬롯을 반납
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (this) {
+            if (queue.remove(waiter)) {
+                return;
+            }
+            permit = waiter.permit;
+        }
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    // 슬롯 반납 후 대기열 앞에서부터 마감이 지나지 않은 요청에 슬롯을 넘긴다
+    private void releaseSlot() {
+        List<Waiter> granted = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < properties.getMaxConcurrent() && !queue.isEmpty()) {
+                Waiter next = queue.poll();
+                if (next.ticket.remainingMillis() <= 0) {
+                    expired.add(next);
+                    continue;
+                }
+                inFlight++;
+                next.permit = new Permit();
+                granted.add(next);
+            }
+        }
+        expired.forEach(waiter -> waiter.sink.error(new AdmissionRejectedException(REJECT_DEADLINE)));
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    // 앞선(우선순위가 같거나 높은) 대기 요청 수로 예상 대기 + 처리 시간 계산
+    private long expectedWaitMs(AdmissionTicket ticket) {
+        int ahead = 0;
+        for (Waiter waiter : queue) {
+            if (waiter.ticket.priority() >= ticket.priority()) {
+                ahead++;
+            }
+        }
+        return (long) ((ahead / properties.getMaxConcurrent() + 1) * averageLatencyMs);
+    }
+
+    private Waiter lowestPriority() {
+        Waiter lowest = null;
+        for (Waiter waiter : queue) {
+            if (lowest == null || WAITER_ORDER.compare(waiter, lowest) > 0) {
+                lowest = waiter;
+            }
+        }
+        return lowest;
+    }
+
+    // 남은 마감 시간 안에서 호출, 성공하면 지연 통계와 응답 캐시 갱신
+    private <T> Mono<T> timed(AdmissionTicket ticket, Supplier<Mono<T>> call) {
+        long remaining = ticket.remainingMillis();
+        if (remaining <= 0) {
+            return Mono.error(new AdmissionRejectedException(REJECT_DEADLINE));
+        }
+        long start = System.nanoTime();
+        return Mono.defer(call)
+                .timeout(Duration.ofMillis(remaining))
+                .doOnSuccess(result -> {
+                    double latencyMs = (System.nanoTime() - start) / 1_000_000d;
+                    averageLatencyMs = averageLatencyMs + LATENCY_EWMA_ALPHA * (latencyMs - averageLatencyMs);
+                    count("admitted");
+                    if (result != null && ticket.cacheKey() != null) {
+                        answers.put(ticket.cacheKey(), result);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> degrade(AdmissionTicket ticket, String reason, Supplier<T> fallback) {
+        count("rejected." + reason);
+        if (ticket.cacheKey() != null) {
+            Object cached = answers.getIfPresent(ticket.cacheKey());
+            if (cached != null) {
+                count("degraded.cache");
+                return Mono.just((T) cached);
+            }
+        }
+        T value = fallback != null ? fallback.get() : null;
+        if (value != null) {
+            count("degraded.fallback");
+            return Mono.just(value);
+        }
+        return Mono.error(new AdmissionRejectedException(reason));
+    }
+
+    private String reasonOf(Throwable error) {
+        if (error instanceof AdmissionRejectedException rejected) {
+            return rejected.getReason();
+        }
+        if (error instanceof TimeoutException) {
+            return REJECT_TIMEOUT;
+        }
+        log.warn("LLM call failed, serving degraded answer: {}", error.toString());
+        return REJECT_UPSTREAM;
+    }
+
+    private TokenBucket bucketOf(String clientKey) {
+        return userBuckets.get(clientKey, key -> new TokenBucket(
+                properties.getPerUser().getCapacity(), properties.getPerUser().getRefillPerSecond()));
+    }
+
+    private ClientUsage usageOf(String clientKey) {
+        return usage.get(clientKey, key -> new ClientUsage());
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 프롬프트 토큰 수 추정 (한글/한자 1자 = 1토큰, 그 외 4자 = 1토큰)
+     */
+    static long estimateTokens(String prompt) {
+        if (prompt == null) {
+            return 0;
+        }
+        long wide = 0;
+        long narrow = 0;
+        for (int i = 0; i < prompt.length(); i++) {
+            if (prompt.charAt(i) >= 0x1100) {
+                wide++;
+            } else {
+                narrow++;
+            }
+        }
+        return wide + (narrow + 3) / 4;
+    }
+
+    // 동시 호출 슬롯 (여러 경로에서 반납해도 한 번만 반영)
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+    }
+
+    private static class Waiter {
+        private final AdmissionTicket ticket;
+        private final MonoSink<Permit> sink;
+        private final long sequence;
+        private Permit permit;  // 슬롯을 받으면 설정 (AdmissionControlService 로 보호)
+
+        private Waiter(AdmissionTicket ticket, MonoSink<Permit> sink, long sequence) {
+            this.ticket = ticket;
+            this.sink = sink;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class ClientUsage {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder estimatedTokens = new LongAdder();
+        private final LongAdder actualTokens = new LongAdder();
+    }
+}
@@ -0,0 +1,16 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+// 입장 제어에서 거절되었고 대체 응답도 없을 때 발생 (컨트롤러에서 503 으로 변환)
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+
+    public AdmissionRejectedException(String reason) {
+        super("LLM request rejected: " + reason);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
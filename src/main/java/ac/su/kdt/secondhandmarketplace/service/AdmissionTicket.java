@@ -0,0 +1,28 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+/**
+ * LLM 호출 한 건의 입장 요청
+ * - clientKey: 사용자 ID 또는 IP (사용자별 버킷/사용량 집계 키)
+ * - priority: 높을수록 대기열에서 먼저 처리
+ * - deadlineNanos: System.nanoTime 기준 마감 시각 (이때까지 응답할 수 없으면 대체 응답)
+ * - estimatedTokens: 버킷에서 미리 차감할 예상 토큰
+ * - cacheKey: 성공 응답을 저장해 과부하 시 대신 내줄 키 (null 이면 캐시 안 함)
+ * - settlement: 응답 usage 정산 상태 (모델 에스컬레이션이면 한 티켓으로 LLM 을 여러 번 호출한다)
+ */
+public record AdmissionTicket(String clientKey, int priority, long deadlineNanos, long estimatedTokens, String cacheKey,
+                              Settlement settlement) {
+
+    public long remainingMillis() {
+        return (deadlineNanos - System.nanoTime()) / 1_000_000;
+    }
+
+    // 지금까지 응답들의 실제 토큰 합과 버킷에 반영된 토큰 (처음에는 예상 토큰), AdmissionControlService 가 티켓 단위로 잠금
+    static final class Settlement {
+        long usedTokens;
+        long chargedTokens;
+
+        Settlement(long chargedTokens) {
+            this.chargedTokens = chargedTokens;
+        }
+    }
+}
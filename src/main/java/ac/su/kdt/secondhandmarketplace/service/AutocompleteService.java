@@ -0,0 +1,388 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.AutocompleteProperties;
+import ac.su.kdt.secondhandmarketplace.dto.TermCount;
+import ac.su.kdt.secondhandmarketplace.repository.CategoryRepository;
+import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 검색어 자동완성
+ * - 사전: 판매중 상품명(매물 수), 카테고리명, 추천 요청 검색어(횟수, 재구성마다 감쇠)
+ *   검색어는 서로 다른 사용자 min-distinct-clients 명이 검색해야 노출 (그 전에는 크기 제한 대기 목록에만 보관)
+ * - 키는 한글 자모 분해 열이라 "맥ㅂ", "앞"(아프리카 입력 중) 같은 입력 중간 상태도 접두어로 매칭
+ *   자음만 입력하면 초성 사전에서 찾는다 (예: "ㅇㅇㅍ" -> 아이폰)
+ * - 단어 시작 위치마다 키를 넣어서 중간 단어로도 찾을 수 있다 (예: "그램" -> LG 그램 노트북)
+ * - 조회는 radix trie 노드에 미리 계산된 상위 K 를 읽기만 하므로 사전 크기와 무관하게 수 마이크로초
+ * - 새 매물/검색어는 해당 키 경로만 증분 갱신하고, 판매 완료/수정/감쇠는 주기적 전체 재구성으로 반영
+ */
+@Slf4j
+@Service
+public class AutocompleteService implements ChangeSubscriber {
+
+    public static final String TYPE_CATEGORY = "CATEGORY";
+    public static final String TYPE_TITLE = "TITLE";
+    public static final String TYPE_QUERY = "QUERY";
+    private static final String STATUS_ON_SALE = "판매중";
+
+    private final AutocompleteProperties properties;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAccumulator maxLookupNanos = new LongAccumulator(Long::max, 0);
+
+    private final Cache<String, StagedQuery> stagedQueries;  // 노출 기준에 못 미친 검색어 -> 검색한 사용자 / 횟수
+
+    private volatile Dictionary dictionary;
+    private Map<String, Integer> queriesDuringRebuild;  // 재구성 중 들어온 검색어 (lock 으로 보호, 재구성 중이 아니면 null)
+    private volatile long lastRebuildMs;
+    private volatile LocalDateTime lastRebuildAt;
+
+    public AutocompleteService(AutocompleteProperties properties,
+                               ProductRepository productRepository,
+                               CategoryRepository categoryRepository) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.dictionary = new Dictionary(properties.getMaxSuggestions());
+        this.stagedQueries = Caffeine.newBuilder()
+                .maximumSize(properties.getStagingCapacity())
+                .expireAfterAccess(Duration.ofMillis(properties.getStagingTtlMs()))
+                .build();
+    }
+
+    // 노출 전 검색어 (clients 는 min-distinct-clients 명까지만 모은다, 자기 자신으로 동기화)
+    private static class StagedQuery {
+        private final Set<String> clients = new HashSet<>();
+        private int count;
+    }
+
+    // 사전 한 벌 (entries 와 두 trie 는 lock 으로 보호)
+    private static class Dictionary {
+        private final Map<String, Entry> entries = new HashMap<>();  // 표시 문자열 -> 항목
+        private final SuggestionTrie jamo;
+        private final SuggestionTrie initials;
+
+        private Dictionary(int topK) {
+            this.jamo = new SuggestionTrie(topK);
+            this.initials = new SuggestionTrie(topK);
+        }
+
+        private Entry entry(String text) {
+            return entries.computeIfAbsent(text, Entry::new);
+        }
+    }
+
+    private static class Entry {
+        private final String text;
+        private long titleCount;          // 이 상품명의 판매중 매물 수
+        private boolean category;
+        private long categoryListings;    // 카테고리의 판매중 매물 수
+        private double queryCount;        // 감쇠된 검색 횟수
+
+        private Entry(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * 입력 중인 검색어의 자동완성 제안 (가중치 순, 최대 max-suggestions 개)
+     */
+    public List<SuggestionTrie.Suggestion> suggest(String prefix, int limit) {
+        String text = HangulJamo.normalizeDisplay(prefix);
+        if (!properties.isEnabled() || text.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), properties.getMaxSuggestions());
+        long start = System.nanoTime();
+        List<SuggestionTrie.Suggestion> result;
+        lock.readLock().lock();
+        try {
+            result = HangulJamo.isInitialsQuery(text)
+                    ? dictionary.initials.find(HangulJamo.initials(text), size)
+                    : dictionary.jamo.find(HangulJamo.decompose(text), size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        long elapsed = System.nanoTime() - start;
+        count("lookup");
+        lookupNanos.add(elapsed);
+        maxLookupNanos.accumulate(elapsed);
+        return result;
+    }
+
+    /**
+     * 검색어(입장 허가된 추천 요청 문장)를 기록합니다. (clientKey: 사용자 ID 또는 IP)
+     * 이미 노출 중인 검색어는 횟수만 올리고, 아니면 대기 목록에서 서로 다른 사용자 수가 기준에 닿을 때 사전에 넣는다.
+     */
+    public void recordQuery(String query, String clientKey) {
+        String text = HangulJamo.normalizeDisplay(query);
+        int length = text.replace(" ", "").length();
+        if (!properties.isEnabled() || length < properties.getMinQueryLength() || text.length() > properties.getMaxQueryLength()) {
+            return;
+        }
+        if (addQueryCount(text, 1, true)) {
+            count("query.recorded");
+            return;
+        }
+        StagedQuery staged = stagedQueries.get(text, key -> new StagedQuery());
+        int promoted = 0;
+        synchronized (staged) {
+            staged.count++;
+            if (staged.clients.size() < properties.getMinDistinctClients()) {
+                staged.clients.add(clientKey != null ? clientKey : "anonymous");
+            }
+            if (staged.clients.size() >= properties.getMinDistinctClients()) {
+                promoted = staged.count;
+                staged.count = 0;  // 동시에 같은 항목을 잡은 요청이 횟수를 두 번 올리지 않도록
+            }
+        }
+        if (promoted == 0) {
+            count("query.staged");
+            return;
+        }
+        stagedQueries.invalidate(text);
+        addQueryCount(text, promoted, false);
+        count("query.promoted");
+    }
+
+    // 사전 검색 횟수에 더한다 (onlyIfVisible 이면 이미 검색어로 노출 중일 때만, 더했으면 true)
+    private boolean addQueryCount(String text, int amount, boolean onlyIfVisible) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = onlyIfVisible ? dictionary.entries.get(text) : dictionary.entry(text);
+            if (entry == null || (onlyIfVisible && entry.queryCount <= 0)) {
+                return false;
+            }
+            entry.queryCount += amount;
+            index(dictionary, entry, true);
+            if (queriesDuringRebuild != null) {
+                queriesDuringRebuild.merge(text, amount, Integer::sum);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String subscriberName() {
+        return "autocomplete";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.PRODUCT);
+    }
+
+    /**
+     * 커밋된 새 매물의 상품명을 사전에 반영합니다. (수정/삭제는 주기적 재구성에서 반영)
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (ChangeEvent event : events) {
+            if (event.created()) {
+                addTitle(event.text("title"), event.text("status"));
+            }
+        }
+    }
+
+    private void addTitle(String title, String status) {
+        String text = HangulJamo.normalizeDisplay(title);
+        if (text.isEmpty() || !STATUS_ON_SALE.equals(status)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = dictionary.entry(text);
+            entry.titleCount++;
+            index(dictionary, entry, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        count("title.added");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        rebuildAll();
+    }
+
+    @Scheduled(initialDelayString = "${app.autocomplete.rebuild-interval-ms:1800000}",
+               fixedDelayString = "${app.autocomplete.rebuild-interval-ms:1800000}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    /**
+     * DB 에서 사전을 새로 만들어 교체합니다. (조회는 교체 전까지 기존 사전 사용)
+     * 검색 횟수는 이전 사전 값에 감쇠를 곱해 이어받고, 재구성 중 들어온 검색어는 교체 직전에 더한다.
+     */
+    public synchronized int rebuildAll() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Map<String, Double> queryCounts = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            dictionary.entries.values().stream()
+                    .filter(entry -> entry.queryCount > 0)
+                    .forEach(entry -> queryCounts.put(entry.text, entry.queryCount));
+            queriesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Dictionary next = new Dictionary(properties.getMaxSuggestions());
+        try {
+            for (TermCount title : productRepository.countOnSaleByTitle()) {
+                String text = HangulJamo.normalizeDisplay(title.term());
+                if (!text.isEmpty()) {
+                    next.entry(text).titleCount += title.count();
+                }
+            }
+            for (TermCount category : categoryRepository.countOnSaleByCategoryName()) {
+                String text = HangulJamo.normalizeDisplay(category.term());
+                if (!text.isEmpty()) {
+                    Entry entry = next.entry(text);
+                    entry.category = true;
+                    entry.categoryListings += category.count();
+                }
+            }
+            queryCounts.forEach((text, queryCount) -> {
+                double decayed = queryCount * properties.getQueryDecay();
+                if (decayed >= properties.getMinQueryCount()) {
+                    next.entry(text).queryCount += decayed;
+                }
+            });
+            for (Entry entry : next.entries.values()) {
+                index(next, entry, false);
+            }
+            next.jamo.recomputeAll();
+            next.initials.recomputeAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                queriesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            queriesDuringRebuild.forEach((text, recorded) -> {
+                Entry entry = next.entry(text);
+                entry.queryCount += recorded;
+                index(next, entry, true);
+            });
+            queriesDuringRebuild = null;
+            dictionary = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRebuildMs = (System.nanoTime() - start) / 1_000_000;
+        lastRebuildAt = LocalDateTime.now();
+        log.info("Rebuilt autocomplete dictionary: {} entries in {} ms", next.entries.size(), lastRebuildMs);
+        return next.entries.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            result.put("entries", dictionary.entries.size());
+            result.put("jamoKeys", dictionary.jamo.size());
+            result.put("initialsKeys", dictionary.initials.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        long lookups = counter("lookup");
+        result.put("averageLookupMicros", lookups > 0 ? lookupNanos.sum() / lookups / 1000.0 : 0.0);
+        result.put("maxLookupMicros", maxLookupNanos.get() / 1000.0);
+        result.put("lastRebuildMs", lastRebuildMs);
+        result.put("lastRebuildAt", lastRebuildAt);
+        result.put("stagedQueries", stagedQueries.estimatedSize());
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    // 단어 시작 위치마다 자모/초성 키로 넣는다 (가중치가 0 이하가 되면 제거)
+    private void index(Dictionary target, Entry entry, boolean incremental) {
+        double weight = weight(entry);
+        SuggestionTrie.Suggestion suggestion = new SuggestionTrie.Suggestion(entry.text, type(entry), weight);
+        String[] words = entry.text.split(" ");
+        for (int i = 0; i < words.length && i < properties.getMaxWordStarts(); i++) {
+            String suffix = String.join(" ", List.of(words).subList(i, words.length));
+            put(target.jamo, HangulJamo.decompose(suffix), suggestion, weight, incremental);
+            put(target.initials, HangulJamo.initials(suffix), suggestion, weight, incremental);
+        }
+    }
+
+    private void put(SuggestionTrie trie, String key, SuggestionTrie.Suggestion suggestion, double weight, boolean incremental) {
+        if (key.isEmpty()) {
+            return;
+        }
+        if (weight <= 0) {
+            trie.remove(key, suggestion.text());
+        } else if (incremental) {
+            trie.put(key, suggestion);
+        } else {
+            trie.add(key, suggestion);
+        }
+    }
+
+    private double weight(Entry entry) {
+        double weight = entry.titleCount * properties.getTitleWeight() + entry.queryCount * properties.getQueryWeight();
+        if (entry.category) {
+            weight += properties.getCategoryWeight() * (Math.log(2 + entry.categoryListings) / Math.log(2));
+        }
+        return weight;
+    }
+
+    private static String type(Entry entry) {
+        if (entry.category) {
+            return TYPE_CATEGORY;
+        }
+        return entry.titleCount > 0 ? TYPE_TITLE : TYPE_QUERY;
+    }
+
+    private long counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+}
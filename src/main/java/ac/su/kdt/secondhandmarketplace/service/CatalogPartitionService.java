@@ -0,0 +1,193 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.PartitionProperties;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
+import ac.su.kdt.secondhandmarketplace.repository.SellerProfileRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 대학교 단위 카탈로그 파티셔닝
+ * - 사용자 -> 대학교 조회 (판매자 프로필 2차 캐시)
+ * - 대학교별 추천 후보 캐시 (상품 ID 목록만 캐시하고, 적중 시 PK 조회로 엔티티를 다시 읽는다)
+ * - 노드 고정: rendezvous 해싱으로 대학교마다 담당 노드를 정하고, 노드가 추가되면 일부 대학교만 옮겨간다
+ *   노드 URL 은 정규화해서 비교하고, self-url 이 nodes 에 없으면 기동을 실패시킨다 (자기 자신으로 무한 리다이렉트 방지)
+ */
+@Slf4j
+@Service
+public class CatalogPartitionService implements ChangeSubscriber {
+
+    private final SellerProfileRepository sellerProfileRepository;
+    private final ProductRepository productRepository;
+    private final PartitionProperties properties;
+    private final UniversityPartitionedCache<String, List<Long>> candidateCache;
+    private final List<String> nodes;  // 정규화된 노드 URL
+    private final String selfUrl;      // 정규화된 이 노드 URL (노드 고정을 쓰지 않으면 null)
+
+    public CatalogPartitionService(SellerProfileRepository sellerProfileRepository,
+                                   ProductRepository productRepository,
+                                   PartitionProperties properties) {
+        this.sellerProfileRepository = sellerProfileRepository;
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.candidateCache = new UniversityPartitionedCache<>(
+                properties.getCandidateCache().getMaximumSizePerUniversity(),
+                Duration.ofSeconds(properties.getCandidateCache().getExpireAfterWriteSeconds()));
+        this.nodes = properties.getNodes().stream().map(CatalogPartitionService::normalizeUrl).distinct().toList();
+        this.selfUrl = properties.getSelfUrl() != null && !properties.getSelfUrl().isBlank()
+                ? normalizeUrl(properties.getSelfUrl()) : null;
+        if (properties.isPinningEnabled() && (selfUrl == null || !nodes.contains(selfUrl))) {
+            throw new IllegalStateException("app.partition.self-url (" + properties.getSelfUrl()
+                    + ") must be one of app.partition.nodes " + properties.getNodes() + " when pinning is enabled");
+        }
+    }
+
+    /**
+     * 사용자의 소속 대학교 ID (사용자가 없으면 null)
+     */
+    public Long universityOf(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return sellerProfileRepository.findById(userId)
+                .map(profile -> profile.getUniversity().getId())
+                .orElse(null);
+    }
+
+    /**
+     * 대학교별 추천 후보 조회 (캐시 적중 시 조건 검색 쿼리를 건너뛴다)
+     * - 캐시에는 후보 상품 ID 순서만 저장, 적중 시 판매중인 상품만 PK 로 다시 읽어 순서대로 돌려준다
+     * - 대학교가 없으면(전체 검색) 캐시하지 않는다
+     */
+    public List<Product> candidates(Long universityId, String criteriaKey, Supplier<List<Product>> loader) {
+        if (universityId == null) {
+            return loader.get();
+        }
+        List<Product> loaded = new ArrayList<>();
+        List<Long> ids = candidateCache.get(universityId, criteriaKey, key -> {
+            loaded.addAll(loader.get());
+            return loaded.stream().map(Product::getId).collect(Collectors.toList());
+        });
+        if (!loaded.isEmpty() || ids.isEmpty()) {
+            return loaded;
+        }
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        List<Product> products = new ArrayList<>(productRepository.findCandidatesByIds(ids));
+        products.sort(Comparator.comparing(product -> order.get(product.getId())));
+        return products;
+    }
+
+    @Override
+    public String subscriberName() {
+        return "catalog-partition";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.PRODUCT);
+    }
+
+    /**
+     * 상품 등록/수정/삭제가 커밋되면 해당 대학교 후보 캐시만 비웁니다. (묶음 안의 대학교마다 한 번)
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        Set<Long> universityIds = new HashSet<>();
+        for (ChangeEvent event : events) {
+            Long universityId = event.longValue("universityId");
+            if (universityId != null && universityIds.add(universityId)) {
+                candidateCache.invalidate(universityId);
+            }
+        }
+    }
+
+    public Map<Long, CacheStats> candidateCacheStats() {
+        return candidateCache.stats();
+    }
+
+    public Map<Long, Long> candidateCacheSizes() {
+        return candidateCache.sizes();
+    }
+
+    /**
+     * 대학교 파티션을 담당하는 노드 URL (노드 고정을 쓰지 않으면 null)
+     */
+    public String ownerOf(Long universityId) {
+        if (!properties.isPinningEnabled() || universityId == null || nodes.isEmpty()) {
+            return null;
+        }
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = rendezvousScore(node, universityId);
+            if (owner == null || score > best) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * 이 노드가 담당하지 않는 대학교면 담당 노드의 같은 경로 URI
+     */
+    public Optional<URI> redirectFor(Long universityId, String pathAndQuery) {
+        String owner = ownerOf(universityId);
+        if (owner == null || owner.equals(selfUrl)) {
+            return Optional.empty();
+        }
+        return Optional.of(URI.create(owner + pathAndQuery));
+    }
+
+    // 노드 URL 해시와 대학교 ID 를 섞은 점수 (가장 높은 노드가 담당)
+    private static long rendezvousScore(String node, long universityId) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : node.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= universityId * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // scheme/host 소문자, 기본 포트 생략, 끝 슬래시 제거 (예: "HTTP://Node-1:80/" -> "http://node-1")
+    static String normalizeUrl(String url) {
+        URI uri = URI.create(url.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalStateException("Invalid partition node URL: " + url);
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + (defaultPort ? "" : ":" + port) + path;
+    }
+}
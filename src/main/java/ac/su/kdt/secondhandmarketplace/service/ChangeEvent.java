@@ -0,0 +1,78 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+
+/**
+ * outbox 변경 이벤트 한 건 (eventId 순서로 전달)
+ * payload 는 기록 시점 행 스냅샷이라 구독자가 MySQL 을 다시 조회하지 않아도 된다.
+ * - PRODUCT: id, sellerId, universityId, categoryId, regionCode, title, status, price, previousPrice(수정 전 가격), simhash
+ * - REVIEW: id, sellerId(리뷰 대상), transactionId, productId, rating, createAt
+ * - TRANSACTION: id, productId, buyerId, sellerId, categoryId, title, finalPrice, transactionDate
+ * - CHATROOM: id, productId, userId, user2Id, createAt
+ * - DELETED: id (상품은 universityId 포함)
+ */
+public record ChangeEvent(long eventId, String aggregateType, long aggregateId, String eventType, JsonNode payload,
+                          LocalDateTime createAt) {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String REVIEW = "REVIEW";
+    public static final String TRANSACTION = "TRANSACTION";
+    public static final String CHATROOM = "CHATROOM";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    // MySQL JSON 날짜 표기 (예: 2024-05-01 13:05:00.000000)
+    private static final DateTimeFormatter MYSQL_DATETIME = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .toFormatter();
+
+    public boolean created() {
+        return CREATED.equals(eventType);
+    }
+
+    public boolean deleted() {
+        return DELETED.equals(eventType);
+    }
+
+    public Long longValue(String field) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.asLong() : null;
+    }
+
+    public Double doubleValue(String field) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.asDouble() : null;
+    }
+
+    public BigDecimal decimal(String field) {
+        JsonNode node = payload.get(field);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return node.isNumber() ? node.decimalValue() : new BigDecimal(node.asText());
+    }
+
+    public String text(String field) {
+        JsonNode node = payload.get(field);
+        return node != null && !node.isNull() ? node.asText() : null;
+    }
+
+    public LocalDateTime time(String field) {
+        String value = text(field);
+        if (value == null) {
+            return null;
+        }
+        return value.indexOf('T') >= 0 ? LocalDateTime.parse(value) : LocalDateTime.parse(value, MYSQL_DATETIME);
+    }
+}
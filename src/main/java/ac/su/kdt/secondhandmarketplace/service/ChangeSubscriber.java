@@ -0,0 +1,34 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * outbox 변경 이벤트 구독자 (OutboxRelay 가 빈을 모아 전달)
+ * - 노드 구독자(기본): 노드 메모리 상태(인덱스/캐시/스케치)를 갱신, 노드마다 모든 이벤트를 받고 처리 위치는 메모리에 둔다
+ *   기동 시점 이후 이벤트부터 받으므로 기동 시 자체 적재와 함께 쓴다
+ * - 공유 구독자(shared): DB 에 부수 효과를 남기는 처리(알림 저장, 점수 저장), 클러스터에서 한 노드만 처리하고
+ *   처리 위치는 outbox_offset 에 저장한다
+ * 전달은 최소 한 번: onChanges 가 예외를 던지면 같은 이벤트부터 다시 전달하므로 처리는 중복에 안전해야 한다.
+ */
+public interface ChangeSubscriber {
+
+    /**
+     * 구독자 이름 (처리 위치 키, 64자 이하)
+     */
+    String subscriberName();
+
+    /**
+     * 받을 aggregate 종류 (ChangeEvent.PRODUCT 등)
+     */
+    Set<String> aggregateTypes();
+
+    default boolean shared() {
+        return false;
+    }
+
+    /**
+     * eventId 순서의 이벤트 묶음 (aggregateTypes 에 해당하는 것만)
+     */
+    void onChanges(List<ChangeEvent> events);
+}
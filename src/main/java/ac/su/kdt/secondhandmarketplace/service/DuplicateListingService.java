@@ -0,0 +1,125 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.ListingSignatureRow;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 근접 중복 매물 탐지 (같은 판매자의 재등록)
+ * - 상품 저장 시 상품명 + 설명 SimHash 를 계산해 product.simhash 에 저장 (엔티티 리스너)
+ * - 판매중 상품 서명은 판매자별 LSH 인덱스에 유지, outbox 상품 이벤트로 노드마다 증분 반영
+ * - 추천 파이프라인은 후보 목록에서 중복 묶음을 대표 상품 하나로 접어 프롬프트 토큰을 아낀다
+ */
+@Slf4j
+@Service
+public class DuplicateListingService implements ChangeSubscriber {
+
+    private static final String STATUS_ON_SALE = "판매중";
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SimHashLshIndex index;
+    private final int maxDistance;
+
+    public DuplicateListingService(ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.dedup.max-distance:8}") int maxDistance) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxDistance = maxDistance;
+        this.index = new SimHashLshIndex(maxDistance);
+    }
+
+    /**
+     * 기동 시 판매중 상품 서명을 읽어 인덱스를 채웁니다. (서명이 없는 기존 상품은 즉석 계산)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ListingSignatureRow> rows = productRepository.streamListingSignatures()) {
+                for (ListingSignatureRow row : (Iterable<ListingSignatureRow>) rows::iterator) {
+                    long simhash = row.simhash() != null ? row.simhash() : ListingSimHash.of(row.title(), row.description());
+                    index.add(row.productId(), row.sellerId(), simhash);
+                }
+            }
+        });
+        log.info("Duplicate listing index warmed up with {} listings", index.size());
+    }
+
+    @Override
+    public String subscriberName() {
+        return "duplicate-listing";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.PRODUCT);
+    }
+
+    /**
+     * 커밋된 상품 등록/수정/삭제를 인덱스에 반영합니다. (판매중이 아니면 인덱스에서 제거)
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            Long sellerId = event.longValue("sellerId");
+            Long simhash = event.longValue("simhash");
+            if (event.deleted() || sellerId == null || simhash == null || !STATUS_ON_SALE.equals(event.text("status"))) {
+                index.remove(event.aggregateId());
+            } else {
+                index.add(event.aggregateId(), sellerId, simhash);
+            }
+        }
+    }
+
+    /**
+     * 판매중인 같은 판매자의 근접 중복 상품 ID
+     */
+    public List<Long> nearDuplicatesOf(Long productId) {
+        return index.nearDuplicatesOf(productId);
+    }
+
+    /**
+     * 후보 목록의 근접 중복 묶음을 대표 상품 하나로 접습니다.
+     * - 목록 순서(정렬 결과)를 유지하고, 묶음마다 앞선 상품을 대표로 남긴다
+     * - 앞선 상품 중 하나와라도 가까우면 같은 묶음 (단일 연결)
+     */
+    public List<Product> collapse(List<Product> products) {
+        if (products.size() < 2) {
+            return products;
+        }
+        SimHashLshIndex seen = new SimHashLshIndex(maxDistance);
+        List<Product> representatives = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (product.getUser() == null) {
+                representatives.add(product);
+                continue;
+            }
+            long sellerId = product.getUser().getId();
+            long simhash = product.getSimhash() != null
+                ? product.getSimhash()
+                : ListingSimHash.of(product.getTitle(), product.getDescription());
+            if (seen.nearDuplicates(sellerId, simhash, product.getId()).isEmpty()) {
+                representatives.add(product);
+            }
+            seen.add(product.getId(), sellerId, simhash);
+        }
+        if (representatives.size() < products.size()) {
+            log.debug("Collapsed {} candidates into {} after near-duplicate detection", products.size(), representatives.size());
+        }
+        return representatives;
+    }
+}
@@ -0,0 +1,107 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.Map;
+
+/**
+ * 한글 자모 분해 (자동완성 접두어 매칭용)
+ * - 완성형 음절을 초성/중성/종성 호환 자모로 풀고, 겹모음/겹받침은 입력 순서대로 다시 나눈다
+ *   예) "맥북" -> ㅁㅐㄱㅂㅜㄱ, "과" -> ㄱㅗㅏ, "닭" -> ㄷㅏㄹㄱ
+ * - 그래서 입력 중인 "맥ㅂ", "앞"(아프리카를 치는 중) 도 같은 자모 열의 접두어가 된다
+ * - 공백은 버리고 영문은 소문자로 (띄어쓰기가 달라도 매칭)
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final char COMPAT_FIRST = 0x3131;  // ㄱ
+    private static final char COMPAT_LAST_CONSONANT = 0x314E;  // ㅎ
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 단독으로 입력된 겹자모
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+
+    private HangulJamo() {
+    }
+
+    /**
+     * 자모 열 (접두어 매칭 키)
+     */
+    public static String decompose(String text) {
+        StringBuilder result = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int offset = c - SYLLABLE_BASE;
+                result.append(CHOSEONG.charAt(offset / (21 * 28)));
+                result.append(JUNGSEONG[offset % (21 * 28) / 28]);
+                result.append(JONGSEONG[offset % 28]);
+            } else {
+                String compound = COMPOUND_JAMO.get(c);
+                if (compound != null) {
+                    result.append(compound);
+                } else {
+                    result.append(Character.toLowerCase(c));
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 초성 열 (초성 검색 키, 한글이 아닌 글자는 소문자로 유지)
+     * 예) "LG 그램 노트북" -> lgㄱㄹㄴㅌㅂ
+     */
+    public static String initials(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                result.append(CHOSEONG.charAt((c - SYLLABLE_BASE) / (21 * 28)));
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 입력이 자음만으로 되어 있는지 (초성 검색으로 처리, 예: "ㅇㅇㅍ")
+     */
+    public static boolean isInitialsQuery(String text) {
+        boolean consonant = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < COMPAT_FIRST || c > COMPAT_LAST_CONSONANT) {
+                return false;
+            }
+            consonant = true;
+        }
+        return consonant;
+    }
+
+    /**
+     * 화면 표시용 정규화 (앞뒤 공백 제거, 연속 공백 하나로, 영문 대소문자는 유지)
+     */
+    public static String normalizeDisplay(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ");
+    }
+}
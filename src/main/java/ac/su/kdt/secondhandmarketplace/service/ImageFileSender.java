@@ -0,0 +1,104 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이미지 파일 응답 전송
+ * - 강한 ETag (내용 해시) + If-None-Match 304, 단일 Range 206 / 범위 밖 416 (여러 범위는 전체 응답)
+ * - Tomcat NIO 커넥터가 sendfile 을 지원하면 요청 속성으로 파일 영역만 넘겨서
+ *   응답 본문을 커넥터 poller 가 커널 sendfile 로 보낸다 (요청 스레드/힙 버퍼를 거치지 않음)
+ * - 지원하지 않으면 (sendfile 이 꺼진 커넥터, APR/NIO2, 테스트 컨테이너) 응답 스트림으로 버퍼 복사해서 보낸다
+ *   응답 스트림은 소켓 채널이 아니므로 transferTo 도 JDK 내부 힙 버퍼를 거친다 (zero-copy 아님)
+ */
+@Component
+public class ImageFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void send(ImageService.ServedFile file, long maxAgeSeconds, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.immutable()
+                ? "public, max-age=" + maxAgeSeconds + ", immutable"
+                : "public, max-age=60");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag())) {
+            return;  // 304 (ETag 헤더는 checkNotModified 가 설정)
+        }
+        response.setContentType(file.contentType());
+
+        long length = file.length();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, file.etag())) {
+            List<HttpRange> ranges = parse(range);
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        // 대체 경로: 요청 스레드에서 힙 버퍼로 복사 (운영에서는 커넥터의 sendfile 을 켜 둔다)
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // If-Range 가 없거나 현재 ETag 와 같을 때만 부분 응답 (강한 비교)
+    private boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    // 형식이 잘못된 Range 헤더는 무시하고 전체 응답
+    private List<HttpRange> parse(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
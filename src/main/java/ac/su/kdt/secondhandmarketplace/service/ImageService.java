@@ -0,0 +1,271 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.ImageProperties;
+import ac.su.kdt.secondhandmarketplace.dto.ProductImageResponse;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.entity.ProductImage;
+import ac.su.kdt.secondhandmarketplace.repository.ProductImageRepository;
+import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 이미지 업로드 / 썸네일 / 서빙 파일 조회
+ * - 업로드는 내용 해시(SHA-256)로 저장해서 같은 사진을 여러 번 올려도 파일은 하나
+ * - 썸네일은 커밋 후 크기 제한 작업자 풀에서 생성 (요청 스레드에서 디코딩/인코딩하지 않음)
+ * - 썸네일이 아직 없으면 원본을 내주고 생성 작업을 다시 요청
+ */
+@Slf4j
+@Service
+public class ImageService {
+
+    private final ImageProperties properties;
+    private final ImageStore store;
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor thumbnailWorkers;
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+    private final Cache<String, ImageStore.StoredImage> originals;
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 서빙할 파일 (immutable: 같은 URL 이 항상 같은 내용을 가리키는지, 썸네일 대신 원본을 내주는 경우 false)
+     */
+    public record ServedFile(Path path, String contentType, long length, String etag, boolean immutable) {
+    }
+
+    public ImageService(ImageProperties properties,
+                        ProductRepository productRepository,
+                        ProductImageRepository productImageRepository,
+                        JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        try {
+            this.store = new ImageStore(Paths.get(properties.getStorageDir()), properties.getMaxPixels(), properties.getThumbnailQuality());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to initialize image storage " + properties.getStorageDir(), e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.thumbnailWorkers = new ThreadPoolExecutor(properties.getThumbnailWorkers(), properties.getThumbnailWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getThumbnailQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.originals = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * 상품에 이미지를 추가합니다. 상품이 없으면 empty, 이미지가 아니면 IllegalArgumentException.
+     * 파일은 트랜잭션 전에 저장되므로 롤백되면 참조 없는 파일이 남을 수 있다 (같은 내용 재업로드 시 재사용).
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public Optional<List<ProductImageResponse>> upload(Long productId, List<MultipartFile> files) throws IOException {
+        Optional<Product> product = productRepository.findById(productId);
+        if (product.isEmpty()) {
+            return Optional.empty();
+        }
+        Integer lastSequence = productImageRepository.findMaxSequence(productId);
+        int sequence = lastSequence != null ? lastSequence : 0;
+        List<ProductImageResponse> result = new ArrayList<>();
+        List<String> hashes = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file.getSize() > properties.getMaxBytes()) {
+                throw new IllegalArgumentException("이미지 파일이 너무 큽니다: " + file.getOriginalFilename());
+            }
+            ImageStore.StoredImage stored;
+            try (InputStream input = file.getInputStream()) {
+                stored = store.store(input);
+            }
+            count(stored.deduplicated() ? "upload.deduplicated" : "upload.stored");
+
+            ProductImage image = new ProductImage();
+            image.setProduct(product.get());
+            image.setImageUrl(imageUrl(stored.hash()));
+            image.setSequence(++sequence);
+            image.setUploadedAt(LocalDateTime.now());
+            image.setContentHash(stored.hash());
+            image.setContentType(stored.contentType());
+            image.setByteSize(stored.byteSize());
+            image.setWidth(stored.width());
+            image.setHeight(stored.height());
+            image.setThumbnailReady(stored.deduplicated() && thumbnailsExist(stored.hash()));
+            productImageRepository.save(image);
+            if (!image.isThumbnailReady()) {
+                hashes.add(stored.hash());
+            }
+            result.add(new ProductImageResponse(image.getId(), image.getSequence(), image.getImageUrl(), stored.hash(),
+                    stored.contentType(), stored.byteSize(), stored.width(), stored.height(), stored.deduplicated()));
+        }
+        afterCommit(() -> hashes.forEach(this::requestThumbnails));
+        return Optional.of(result);
+    }
+
+    /**
+     * 서빙할 파일을 찾습니다. size 가 없으면 원본, 있으면 설정된 썸네일 크기만 허용.
+     */
+    public Optional<ServedFile> resolve(String hash, Integer size) throws IOException {
+        if (!ImageStore.isHash(hash) || (size != null && !properties.getThumbnailSizes().contains(size))) {
+            return Optional.empty();
+        }
+        if (size != null) {
+            Path thumbnail = store.thumbnailPath(hash, size);
+            if (Files.isRegularFile(thumbnail)) {
+                count("serve.thumbnail");
+                return Optional.of(new ServedFile(thumbnail, ImageStore.THUMBNAIL_CONTENT_TYPE, Files.size(thumbnail), "\"" + hash + "-" + size + "\"", true));
+            }
+        }
+        Optional<ImageStore.StoredImage> original = findOriginal(hash);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        if (size != null) {
+            count("serve.thumbnail-missing");
+            requestThumbnails(hash);
+        } else {
+            count("serve.original");
+        }
+        ImageStore.StoredImage stored = original.get();
+        return Optional.of(new ServedFile(stored.path(), stored.contentType(), stored.byteSize(), "\"" + hash + "\"", size == null));
+    }
+
+    /**
+     * 기동 시 썸네일이 없는 이미지의 썸네일 생성을 재개합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeThumbnails() {
+        List<String> hashes = productImageRepository.findHashesWithoutThumbnail();
+        hashes.forEach(this::requestThumbnails);
+        if (!hashes.isEmpty()) {
+            log.info("Requested thumbnails for {} images", hashes.size());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("thumbnailQueueDepth", thumbnailWorkers.getQueue().size());
+        result.put("thumbnailActiveWorkers", thumbnailWorkers.getActiveCount());
+        result.put("thumbnailPending", pendingThumbnails.size());
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailWorkers.shutdownNow();
+    }
+
+    public static String imageUrl(String hash) {
+        return "/api/images/" + hash;
+    }
+
+    // 같은 원본의 썸네일 작업은 하나만 대기열에 둔다 (대기열이 가득 차면 다음 요청/기동 때 다시 시도)
+    private void requestThumbnails(String hash) {
+        if (!pendingThumbnails.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailWorkers.execute(() -> {
+                try {
+                    generateThumbnails(hash);
+                } finally {
+                    pendingThumbnails.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingThumbnails.remove(hash);
+            count("thumbnail.rejected");
+        }
+    }
+
+    private void generateThumbnails(String hash) {
+        try {
+            Optional<ImageStore.StoredImage> original = findOriginal(hash);
+            if (original.isEmpty()) {
+                return;
+            }
+            BufferedImage source = store.read(original.get().path());
+            for (Integer size : properties.getThumbnailSizes()) {
+                store.writeThumbnail(source, hash, size);
+            }
+            jdbcTemplate.update("UPDATE product_image SET thumbnail_ready = TRUE WHERE content_hash = ?", hash);
+            count("thumbnail.generated");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for {}: {}", hash, e.toString());
+            count("thumbnail.failed");
+        }
+    }
+
+    private boolean thumbnailsExist(String hash) {
+        return properties.getThumbnailSizes().stream().allMatch(size -> Files.isRegularFile(store.thumbnailPath(hash, size)));
+    }
+
+    private Optional<ImageStore.StoredImage> findOriginal(String hash) throws IOException {
+        ImageStore.StoredImage cached = originals.getIfPresent(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ImageStore.StoredImage> found = store.findOriginal(hash);
+        found.ifPresent(stored -> originals.put(hash, stored));
+        return found;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+}
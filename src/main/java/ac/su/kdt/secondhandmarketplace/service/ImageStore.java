@@ -0,0 +1,223 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소 기반 이미지 파일 저장소
+ * - 원본은 SHA-256 해시를 파일명으로 저장하므로 같은 내용은 한 번만 저장된다
+ *   originals/ab/abcd...{64}.jpg, thumbnails/{size}/ab/abcd...{64}.jpg
+ * - 임시 파일에 쓰면서 해시를 계산하고, 헤더만 읽어 형식/크기를 검증한 뒤 원자적으로 이동
+ * - 썸네일은 긴 변 기준으로 축소한 JPEG
+ */
+public class ImageStore {
+
+    public static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Map<String, String> CONTENT_TYPES = Map.of("jpeg", "image/jpeg", "png", "image/png", "gif", "image/gif");
+    private static final Map<String, String> EXTENSIONS = Map.of("image/jpeg", "jpg", "image/png", "png", "image/gif", "gif");
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final Path temp;
+    private final long maxPixels;
+    private final float thumbnailQuality;
+
+    public ImageStore(Path root, long maxPixels, float thumbnailQuality) throws IOException {
+        this.originals = root.resolve("originals");
+        this.thumbnails = root.resolve("thumbnails");
+        this.temp = root.resolve("tmp");
+        this.maxPixels = maxPixels;
+        this.thumbnailQuality = thumbnailQuality;
+        Files.createDirectories(originals);
+        Files.createDirectories(thumbnails);
+        Files.createDirectories(temp);
+    }
+
+    /**
+     * 저장된 원본 이미지 정보 (deduplicated: 이미 같은 파일이 있었음)
+     */
+    public record StoredImage(String hash, String contentType, Path path, long byteSize, int width, int height, boolean deduplicated) {
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    /**
+     * 업로드 스트림을 저장합니다. 지원하지 않는 형식이거나 너무 크면 IllegalArgumentException.
+     */
+    public StoredImage store(InputStream input) throws IOException {
+        Path upload = Files.createTempFile(temp, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(input, digest)) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Probe probe = probe(upload);
+            Path target = originalPath(hash, probe.contentType());
+            boolean deduplicated = Files.exists(target);
+            if (!deduplicated) {
+                Files.createDirectories(target.getParent());
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredImage(hash, probe.contentType(), target, Files.size(target), probe.width(), probe.height(), deduplicated);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * 해시로 원본 파일을 찾습니다. (형식별 확장자 확인)
+     */
+    public Optional<StoredImage> findOriginal(String hash) throws IOException {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        for (String contentType : EXTENSIONS.keySet()) {
+            Path path = originalPath(hash, contentType);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(new StoredImage(hash, contentType, path, Files.size(path), 0, 0, true));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Path thumbnailPath(String hash, int size) {
+        return thumbnails.resolve(Integer.toString(size)).resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    /**
+     * 원본에서 긴 변이 size 이하인 JPEG 썸네일을 만듭니다. (원본이 더 작으면 크기 유지, JPEG 로만 변환)
+     */
+    public void writeThumbnail(BufferedImage source, String hash, int size) throws IOException {
+        Path target = thumbnailPath(hash, size);
+        if (Files.exists(target)) {
+            return;
+        }
+        BufferedImage scaled = scale(source, size);
+        Path output = Files.createTempFile(temp, "thumb-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(output.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(thumbnailQuality);
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(output, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * 원본을 디코딩합니다. (썸네일 생성용, 저장 시 픽셀 수를 검증했으므로 크기 제한 안에 있음)
+     */
+    public BufferedImage read(Path original) throws IOException {
+        BufferedImage image = ImageIO.read(original.toFile());
+        if (image == null) {
+            throw new IOException("Unreadable image: " + original);
+        }
+        return image;
+    }
+
+    private Path originalPath(String hash, String contentType) {
+        return originals.resolve(hash.substring(0, 2)).resolve(hash + "." + EXTENSIONS.get(contentType));
+    }
+
+    // 헤더만 읽어서 형식과 가로/세로 크기 확인
+    private Probe probe(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String contentType = CONTENT_TYPES.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+                if (contentType == null) {
+                    throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다: " + reader.getFormatName());
+                }
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다: " + width + "x" + height);
+                }
+                return new Probe(contentType, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 목표 크기로 맞춘다
+    // 투명 배경은 흰색으로 채워 RGB 로 변환
+    private static BufferedImage scale(BufferedImage source, int size) {
+        int longest = Math.max(source.getWidth(), source.getHeight());
+        double ratio = Math.min(1.0, (double) size / longest);
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Probe(String contentType, int width, int height) {
+    }
+}
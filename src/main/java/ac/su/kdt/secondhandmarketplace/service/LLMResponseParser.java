@@ -0,0 +1,148 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.LLMRecommendationResult;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationDTO;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LLMResponseParser {
+
+    private static final Pattern PRODUCT_ID_PATTERN = Pattern.compile("\\[상품(\\d+)\\]([^\\[]+)");
+
+    // LLM 에 요청하는 response_format (json_schema)
+    public static final Map<String, Object> RESPONSE_FORMAT = Map.of(
+        "type", "json_schema",
+        "json_schema", Map.of("schema", Map.of(
+            "type", "object",
+            "properties", Map.of(
+                "recommendations", Map.of(
+                    "type", "array",
+                    "items", Map.of(
+                        "type", "object",
+                        "properties", Map.of(
+                            "productId", Map.of("type", "integer"),
+                            "reason", Map.of("type", "string")
+                        ),
+                        "required", List.of("productId", "reason")
+                    )
+                )
+            ),
+            "required", List.of("recommendations")
+        ))
+    );
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 후보 상품 목록을 상품 ID 기준 해시 인덱스로 변환합니다.
+     */
+    public static Map<Long, ProductRecommendationDTO> indexById(List<ProductRecommendationDTO> products) {
+        Map<Long, ProductRecommendationDTO> index = new LinkedHashMap<>(Math.max(16, products.size() * 2));
+        for (ProductRecommendationDTO product : products) {
+            index.putIfAbsent(product.getId(), product);
+        }
+        return index;
+    }
+
+    /**
+     * LLM 응답 본문을 추천 목록으로 변환합니다.
+     * - 우선 JSON 스키마 응답을 스트리밍 파싱
+     * - JSON 이 아니거나 깨진 경우 [상품N] 정규식 파서로 폴백
+     * - 후보 목록에 없는 상품 ID, 중복 ID 는 제외
+     */
+    public List<ProductRecommendationResponse> parse(String content, Map<Long, ProductRecommendationDTO> candidates) {
+        if (content == null || content.isBlank()) {
+            return new ArrayList<>();
+        }
+        String json = extractJsonObject(content);
+        if (json != null) {
+            try {
+                return parseStructured(json, candidates);
+            } catch (IOException e) {
+                log.warn("구조화 응답 파싱 실패, 정규식 파서로 폴백합니다: {}", e.getMessage());
+            }
+        }
+        return parseFreeText(content, candidates);
+    }
+
+    /**
+     * {"recommendations":[{"productId":..,"reason":..}, ...]} 형태를 토큰 단위로 읽어
+     * 항목마다 후보 인덱스에서 O(1) 로 검증합니다.
+     */
+    private List<ProductRecommendationResponse> parseStructured(String json, Map<Long, ProductRecommendationDTO> candidates) throws IOException {
+        Map<Long, ProductRecommendationResponse> result = new LinkedHashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON object expected");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!"recommendations".equals(field) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                found = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    LLMRecommendationResult.Item item = parser.readValueAs(LLMRecommendationResult.Item.class);
+                    if (item == null || item.productId() == null || !candidates.containsKey(item.productId())) {
+                        continue;
+                    }
+                    String reason = item.reason() != null ? item.reason().trim() : "";
+                    result.putIfAbsent(item.productId(), new ProductRecommendationResponse(item.productId(), reason));
+                }
+            }
+            if (!found) {
+                throw new IOException("recommendations field missing");
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * 기존 자유 텍스트 형식([상품N] 이유) 파서 - 구조화 응답 실패 시 폴백
+     */
+    private List<ProductRecommendationResponse> parseFreeText(String content, Map<Long, ProductRecommendationDTO> candidates) {
+        Map<Long, ProductRecommendationResponse> result = new LinkedHashMap<>();
+        Matcher matcher = PRODUCT_ID_PATTERN.matcher(content);
+        while (matcher.find()) {
+            Long productId;
+            try {
+                productId = Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (candidates.containsKey(productId)) {
+                result.putIfAbsent(productId, new ProductRecommendationResponse(productId, matcher.group(2).trim()));
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    // 코드 펜스(```json)나 앞뒤 설명문이 붙은 경우 가장 바깥 JSON 객체만 잘라낸다.
+    private String extractJsonObject(String content) {
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return null;
+        }
+        return content.substring(start, end + 1);
+    }
+}
@@ -0,0 +1,73 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.Locale;
+
+/**
+ * 매물 텍스트(제목 + 설명)의 64비트 SimHash
+ * - 특징: 정규화한 단어 토큰 + 단어 내부 문자 2-gram (띄어쓰기/조사 차이에 강하도록, 한글은 음절 2개면 대부분 형태소를 덮는다)
+ * - 제목 특징은 설명보다 가중치를 높게 준다
+ * - 비슷한 텍스트는 해밍 거리가 작은 서명을 갖는다
+ */
+public final class ListingSimHash {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int SHINGLE = 2;
+
+    private ListingSimHash() {
+    }
+
+    public static long of(String title, String description) {
+        int[] votes = new int[64];
+        addFeatures(votes, title, TITLE_WEIGHT);
+        addFeatures(votes, description, DESCRIPTION_WEIGHT);
+        long signature = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void addFeatures(int[] votes, String text, int weight) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        if (normalized.isEmpty()) {
+            return;
+        }
+        for (String token : normalized.split(" ")) {
+            vote(votes, hash(token, 0, token.length(), 'w'), weight);
+            for (int i = 0; i + SHINGLE <= token.length(); i++) {
+                vote(votes, hash(token, i, i + SHINGLE, 's'), weight);
+            }
+        }
+    }
+
+    private static void vote(int[] votes, long hash, int weight) {
+        for (int bit = 0; bit < 64; bit++) {
+            votes[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    // FNV-1a 64 + murmur3 finalizer (비트 분포 균등화)
+    private static long hash(String text, int from, int to, char kind) {
+        long h = 0xcbf29ce484222325L ^ kind;
+        for (int i = from; i < to; i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,258 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.ModelRoutingProperties;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationCriteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * LLM 모델 라우터
+ * - 추출된 추천 조건과 후보 수로 요청 복잡도를 판단해서 단순 요청은 빠른 모델 + 작은 max_tokens 로 보낸다
+ *   예) "아이폰 50만원 이하 가격순" 은 모든 단어가 조건으로 설명되므로 단순 요청
+ * - 단순 모델 응답이 불확실하거나(호출 측 판정), 오류이거나, 지연 목표를 넘기면 상위 모델로 재요청
+ * - 라우팅 결정/재요청 사유와 모델별 지연(평균, p50, p95, 목표 초과 수)을 기록
+ */
+@Service
+public class ModelRouter {
+
+    public enum Tier { SIMPLE, COMPLEX }
+
+    /**
+     * 라우팅 결정 (reason 은 통계 키로도 쓰임)
+     */
+    public record Route(Tier tier, String reason) {
+    }
+
+    static final String REASON_DISABLED = "disabled";
+    static final String REASON_STRUCTURED = "structured";
+    static final String REASON_FREE_TEXT = "free-text";
+    static final String REASON_NO_FILTER = "no-filter";
+    static final String REASON_MANY_CANDIDATES = "many-candidates";
+    static final String REASON_SHORT_CHAT = "short-chat";
+    static final String REASON_LONG_CHAT = "long-chat";
+
+    static final String ESCALATE_LOW_CONFIDENCE = "low-confidence";
+    static final String ESCALATE_SLO = "latency-slo";
+    static final String ESCALATE_ERROR = "error";
+
+    // 추천 조건 추출기가 이해하는 단어 (가격/점수 조건, 정렬, 흔한 수식어)
+    private static final Pattern STRUCTURED_TOKEN = Pattern.compile(
+            "\\d+(만원|원|점)?|이하|이상|미만|초과|가격순|평점순|조회순|인기순|인기|높은|낮은|싼|저렴한|매너점수|평점|상품|중고|판매중|추천|추천해줘|찾아줘|보여줘");
+    // 토큰 끝에 붙어도 같은 단어로 보는 조사
+    private static final Pattern PARTICLE = Pattern.compile("(으로|에서|은|는|이|가|을|를|에|의|로|도)$");
+
+    private final ModelRoutingProperties properties;
+    private final RegionService regionService;
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyStats> latencies = new ConcurrentHashMap<>();
+
+    public ModelRouter(ModelRoutingProperties properties, RegionService regionService) {
+        this.properties = properties;
+        this.regionService = regionService;
+    }
+
+    /**
+     * 추천 요청 라우팅
+     * - 단순: 가격/지역/상품명/정렬 중 하나 이상이 추출되었고, 조건으로 설명되지 않는 단어가 거의 없고, 후보가 적을 때
+     */
+    public Route route(RecommendationCriteria criteria, String userRequest, int candidateCount) {
+        Route route;
+        if (!properties.isEnabled()) {
+            route = new Route(Tier.COMPLEX, REASON_DISABLED);
+        } else if (!hasFilter(criteria)) {
+            route = new Route(Tier.COMPLEX, REASON_NO_FILTER);
+        } else if (freeTokens(criteria, userRequest) > properties.getSimpleMaxFreeTokens()) {
+            route = new Route(Tier.COMPLEX, REASON_FREE_TEXT);
+        } else if (candidateCount > properties.getSimpleMaxCandidates()) {
+            route = new Route(Tier.COMPLEX, REASON_MANY_CANDIDATES);
+        } else {
+            route = new Route(Tier.SIMPLE, REASON_STRUCTURED);
+        }
+        count("route." + route.tier().name().toLowerCase() + "." + route.reason());
+        return route;
+    }
+
+    /**
+     * 일반 채팅 라우팅 (짧은 프롬프트만 단순 모델)
+     */
+    public Route routeChat(String prompt) {
+        Route route;
+        if (!properties.isEnabled()) {
+            route = new Route(Tier.COMPLEX, REASON_DISABLED);
+        } else if (prompt != null && prompt.length() <= properties.getSimpleMaxChatChars()) {
+            route = new Route(Tier.SIMPLE, REASON_SHORT_CHAT);
+        } else {
+            route = new Route(Tier.COMPLEX, REASON_LONG_CHAT);
+        }
+        count("route." + route.tier().name().toLowerCase() + "." + route.reason());
+        return route;
+    }
+
+    public ModelRoutingProperties.Model model(Tier tier) {
+        return tier == Tier.SIMPLE ? properties.getSimple() : properties.getComplex();
+    }
+
+    /**
+     * 라우팅된 모델로 호출하고, 단순 모델 결과가 confident 를 만족하지 못하면 상위 모델로 한 번 더 호출합니다.
+     * - call: 모델 설정을 받아 실제 LLM 을 호출
+     * - 단순 모델은 지연 목표 시간 안에 끝나지 않으면 취소하고 상위 모델로 넘긴다
+     */
+    public <T> Mono<T> execute(Route route, Function<ModelRoutingProperties.Model, Mono<T>> call, Predicate<T> confident) {
+        if (route.tier() == Tier.COMPLEX) {
+            return timed(properties.getComplex(), call);
+        }
+        if (!properties.isEscalationEnabled()) {
+            return timed(properties.getSimple(), call);
+        }
+        ModelRoutingProperties.Model simple = properties.getSimple();
+        return timed(simple, call)
+                .timeout(Duration.ofMillis(simple.getLatencySloMs()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(result -> {
+                    if (result.isPresent() && confident.test(result.get())) {
+                        return Mono.just(result.get());
+                    }
+                    count("escalate." + ESCALATE_LOW_CONFIDENCE);
+                    return Mono.<T>empty();
+                })
+                .onErrorResume(error -> !(error instanceof AdmissionRejectedException), error -> {
+                    count("escalate." + (error instanceof TimeoutException ? ESCALATE_SLO : ESCALATE_ERROR));
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> timed(properties.getComplex(), call)));
+    }
+
+    /**
+     * 라우팅/재요청 횟수와 모델별 지연 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", properties.isEnabled());
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        Map<String, Object> models = new LinkedHashMap<>();
+        latencies.forEach((name, stats) -> models.put(name, stats.snapshot()));
+        result.put("models", models);
+        return result;
+    }
+
+    long counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    long calls(String model) {
+        LatencyStats stats = latencies.get(model);
+        return stats != null ? stats.calls.sum() : 0L;
+    }
+
+    // 모델별 지연/오류 기록 (취소된 호출은 지연 목표 초과로만 기록)
+    private <T> Mono<T> timed(ModelRoutingProperties.Model model, Function<ModelRoutingProperties.Model, Mono<T>> call) {
+        return Mono.defer(() -> {
+            LatencyStats stats = latencies.computeIfAbsent(model.getName(), name -> new LatencyStats(properties.getLatencyWindow()));
+            long start = System.nanoTime();
+            return call.apply(model)
+                    .doOnSuccess(result -> stats.record((System.nanoTime() - start) / 1_000_000, model.getLatencySloMs()))
+                    .doOnError(error -> stats.errors.increment())
+                    .doOnCancel(() -> stats.sloBreaches.increment());
+        });
+    }
+
+    private boolean hasFilter(RecommendationCriteria criteria) {
+        return criteria.getProductName() != null
+                || criteria.getMaxPrice() != null
+                || criteria.getMinPrice() != null
+                || criteria.getRegionCode() != null
+                || criteria.getSortBy() != null;
+    }
+
+    // 추출된 조건으로 설명되지 않는 단어 수
+    private int freeTokens(RecommendationCriteria criteria, String userRequest) {
+        if (userRequest == null || userRequest.isBlank()) {
+            return 0;
+        }
+        int free = 0;
+        for (String raw : userRequest.trim().split("\\s+")) {
+            String token = PARTICLE.matcher(raw.replaceAll("[^\\p{L}\\p{N}]", "")).replaceAll("");
+            if (token.isEmpty()
+                    || STRUCTURED_TOKEN.matcher(token).matches()
+                    || (criteria.getProductName() != null && token.contains(criteria.getProductName()))
+                    || regionService.parse(raw) != null) {
+                continue;
+            }
+            free++;
+        }
+        return free;
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    // 최근 N 건 지연 링 버퍼 + 누적 카운터
+    private static class LatencyStats {
+        private final long[] window;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder sloBreaches = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private int next;    // this 로 보호
+        private int filled;  // this 로 보호
+
+        private LatencyStats(int size) {
+            this.window = new long[Math.max(1, size)];
+        }
+
+        private void record(long latencyMs, long sloMs) {
+            calls.increment();
+            totalMs.add(latencyMs);
+            if (latencyMs > sloMs) {
+                sloBreaches.increment();
+            }
+            synchronized (this) {
+                window[next] = latencyMs;
+                next = (next + 1) % window.length;
+                filled = Math.min(filled + 1, window.length);
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(window, filled);
+            }
+            Arrays.sort(sorted);
+            long count = calls.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("calls", count);
+            result.put("errors", errors.sum());
+            result.put("sloBreaches", sloBreaches.sum());
+            result.put("averageMs", count > 0 ? totalMs.sum() / count : 0);
+            result.put("p50Ms", percentile(sorted, 0.50));
+            result.put("p95Ms", percentile(sorted, 0.95));
+            return result;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
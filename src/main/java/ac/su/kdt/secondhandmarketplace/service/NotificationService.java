@@ -0,0 +1,201 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.SavedSearchProperties;
+import ac.su.kdt.secondhandmarketplace.dto.NotificationResponse;
+import ac.su.kdt.secondhandmarketplace.entity.Notification;
+import ac.su.kdt.secondhandmarketplace.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자 알림 저장 / 조회 / 실시간 전송
+ * - 저장은 JDBC 배치 (매물 하나가 수천 명에게 알림을 만들 수 있음)
+ * - 이 노드에 SSE 로 연결된 사용자에게는 저장 직후 바로 전송, 나머지는 목록 조회(afterId 이후)로 받는다
+ *   실시간 전송 내용에는 알림 ID 가 없으므로 읽음 처리/이어받기는 목록 조회의 ID 를 쓴다
+ */
+@Slf4j
+@Service
+public class NotificationService {
+
+    public static final String TYPE_NEW_LISTING = "NEW_LISTING";
+    public static final String TYPE_PRICE_CHANGE = "PRICE_CHANGE";
+
+    private static final String EVENT_NOTIFICATION = "notification";
+    private static final String EVENT_UNREAD = "unread";
+    private static final int MESSAGE_LENGTH = 200;
+    // (user_id, product_id, event_id) 유일 키: 같은 outbox 이벤트가 재전달되면 무시
+    private static final String INSERT_NOTIFICATION = """
+        INSERT IGNORE INTO notification (user_id, saved_search_id, product_id, type, message, create_at, event_id)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final SavedSearchProperties properties;
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();  // 사용자 ID -> 이 노드의 SSE 연결
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 보낼 알림 한 건 (eventId: 알림을 만든 outbox 이벤트 ID)
+     */
+    public record Delivery(Long userId, Long savedSearchId, Long productId, String type, String message, long eventId) {
+    }
+
+    public NotificationService(SavedSearchProperties properties,
+                               NotificationRepository notificationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 알림을 배치 단위 트랜잭션으로 저장하고, 연결된 사용자에게 전송합니다.
+     * 이미 저장된 알림(같은 이벤트 재전달)은 건너뛰고 다시 전송하지 않는다.
+     */
+    public void deliver(List<Delivery> deliveries) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createAt = Timestamp.valueOf(now);
+        List<Delivery> stored = new ArrayList<>(deliveries.size());
+        for (int from = 0; from < deliveries.size(); from += properties.getBatchSize()) {
+            List<Delivery> batch = deliveries.subList(from, Math.min(deliveries.size(), from + properties.getBatchSize()));
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (Delivery delivery : batch) {
+                rows.add(new Object[]{delivery.userId(), delivery.savedSearchId(), delivery.productId(), delivery.type(),
+                        truncate(delivery.message()), createAt, delivery.eventId()});
+            }
+            int[] counts = writeTransaction.execute(status -> jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows));
+            for (int i = 0; i < batch.size(); i++) {
+                // 0 이면 무시된 중복 (드라이버가 건수를 모르면 SUCCESS_NO_INFO, 전송한다)
+                if (counts == null || i >= counts.length || counts[i] != 0) {
+                    stored.add(batch.get(i));
+                } else {
+                    count("duplicates");
+                }
+            }
+        }
+        add("stored", stored.size());
+        for (Delivery delivery : stored) {
+            List<SseEmitter> connections = emitters.get(delivery.userId());
+            if (connections == null) {
+                continue;
+            }
+            NotificationResponse response = new NotificationResponse(null, delivery.savedSearchId(), delivery.productId(),
+                    delivery.type(), truncate(delivery.message()), now, null);
+            for (SseEmitter emitter : connections) {
+                if (send(emitter, EVENT_NOTIFICATION, response)) {
+                    count("pushed");
+                }
+            }
+        }
+    }
+
+    /**
+     * 사용자의 알림: afterId 가 없으면 최근 순, 있으면 그 다음 알림부터 오래된 순 (빠짐없이 이어받도록 앞으로 페이지 이동)
+     */
+    public List<NotificationResponse> recent(Long userId, Long afterId, int limit) {
+        int size = Math.min(Math.max(limit, 1), properties.getPageSize());
+        List<Notification> notifications = afterId != null
+                ? notificationRepository.findAfter(userId, afterId, PageRequest.of(0, size))
+                : notificationRepository.findRecent(userId, PageRequest.of(0, size));
+        return notifications.stream()
+                .map(NotificationService::toResponse)
+                .toList();
+    }
+
+    public long unreadCount(Long userId) {
+        return notificationRepository.countByUserIdAndReadAtIsNull(userId);
+    }
+
+    /**
+     * upToId 이하의 안 읽은 알림을 읽음 처리합니다. (처리한 수)
+     */
+    public int markRead(Long userId, Long upToId) {
+        Integer updated = writeTransaction.execute(status -> jdbcTemplate.update(
+                "UPDATE notification SET read_at = ? WHERE user_id = ? AND notification_id <= ? AND read_at IS NULL",
+                Timestamp.valueOf(LocalDateTime.now()), userId, upToId));
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * 사용자의 알림을 SSE 로 구독합니다. 연결 직후 안 읽은 알림 수를 보낸다.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeoutMs());
+        emitters.compute(userId, (key, connections) -> {
+            List<SseEmitter> updated = connections != null ? connections : new CopyOnWriteArrayList<>();
+            updated.add(emitter);
+            return updated;
+        });
+        emitter.onCompletion(() -> removeEmitter(userId, emitter));
+        emitter.onTimeout(() -> removeEmitter(userId, emitter));
+        send(emitter, EVENT_UNREAD, Map.of("unreadCount", unreadCount(userId)));
+        count("subscribed");
+        return emitter;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connectedUsers", emitters.size());
+        result.put("connections", emitters.values().stream().mapToInt(List::size).sum());
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    private static NotificationResponse toResponse(Notification notification) {
+        return new NotificationResponse(notification.getId(), notification.getSavedSearchId(), notification.getProductId(),
+                notification.getType(), notification.getMessage(), notification.getCreateAt(), notification.getReadAt());
+    }
+
+    // 전송 실패(연결 끊김)면 false
+    private boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, connections) -> {
+            connections.remove(emitter);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MESSAGE_LENGTH ? message.substring(0, MESSAGE_LENGTH) : message;
+    }
+
+    private void count(String name) {
+        add(name, 1);
+    }
+
+    private void add(String name, long amount) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+}
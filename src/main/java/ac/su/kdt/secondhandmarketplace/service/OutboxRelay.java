@@ -0,0 +1,465 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * outbox 이벤트를 구독자에게 순서대로, 묶음으로 전달하는 relay (노드마다 스레드 하나)
+ * - 노드 구독자: 한 번 읽은 묶음을 모든 노드 구독자에게 나눠 주고, 처리 위치는 메모리 (기동 시 현재 끝에서 시작)
+ * - 공유 구독자: MySQL GET_LOCK 을 잡은 노드 하나만 처리, 처리 위치는 outbox_offset
+ *   구독자가 자기 트랜잭션을 커밋한 뒤 위치를 저장하므로 그 사이에 죽으면 같은 이벤트를 다시 받는다 (최소 한 번)
+ * - 순서 보장: AUTO_INCREMENT 는 커밋 순서가 아니라서, 빈 ID 뒤의 이벤트가 gapWaitMs 보다 최근이면 빈 자리가
+ *   커밋 전 트랜잭션일 수 있으므로 거기서 멈추고 기다린다 (오래되었으면 롤백된 ID 로 보고 넘어간다)
+ *   create_at 은 커밋 시각이 아니라 문장 실행 시각이라, gapWaitMs 보다 오래 열려 있던 트랜잭션의 이벤트는 넘어간 뒤에 커밋될 수 있다
+ *   -> 넘어간 ID 는 읽는 쪽(노드 구독자 묶음 / 공유 구독자)마다 로그와 gap.skipped 카운터에 남기고, 커밋된 것이 확인되면 replay 로 다시 보낸다
+ * - 실패: 위치를 올리지 않고 지수 백오프로 재시도, maxAttempts 를 넘으면 한 건씩 전달하고 실패한 이벤트만 건너뛴다
+ *   (건너뛴 이벤트 ID 는 로그에 남으므로 원인을 고친 뒤 replay 로 다시 보낼 수 있다)
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final String SELECT_EVENTS = """
+            SELECT event_id, aggregate_type, aggregate_id, event_type, payload, create_at,
+                   create_at <= NOW(3) - INTERVAL ? MICROSECOND AS settled
+            FROM outbox_event
+            WHERE event_id > ?
+            ORDER BY event_id
+            LIMIT ?
+            """;
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM outbox_event
+            WHERE event_id <= ? AND create_at < NOW(3) - INTERVAL ? HOUR
+            ORDER BY event_id
+            LIMIT ?
+            """;
+    private static final String LOCK_PREFIX = "outbox:";
+    private static final long REPLAY_LOCK_TIMEOUT_SECONDS = 10;
+
+    private final OutboxProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<Subscription> localSubscriptions = new ArrayList<>();
+    private final List<Subscription> sharedSubscriptions = new ArrayList<>();
+    private final Map<String, Subscription> subscriptions = new LinkedHashMap<>();
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // 구독자별 전달 상태 (offset / attempts / retryAtMs 는 relay 스레드만 바꾼다)
+    private static final class Subscription {
+        private final ChangeSubscriber subscriber;
+        private final Set<String> aggregateTypes;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private volatile long offset;          // 마지막으로 처리한 이벤트 ID (공유 구독자는 마지막으로 읽은 DB 값)
+        private volatile int attempts;         // 연속 실패 횟수
+        private volatile long retryAtMs;       // 백오프 중이면 다음 재시도 시각
+        private volatile Long pendingReplay;   // 노드 구독자 재생 요청 (relay 스레드가 반영)
+
+        private Subscription(ChangeSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.aggregateTypes = Set.copyOf(subscriber.aggregateTypes());
+        }
+
+        private String name() {
+            return subscriber.subscriberName();
+        }
+    }
+
+    // 한 번 읽은 이벤트 묶음 (lastEventId: 전달 가능한 마지막 ID, full: 더 읽을 것이 남았을 수 있음)
+    private record Batch(List<ChangeEvent> events, long lastEventId, boolean full) {
+    }
+
+    public OutboxRelay(OutboxProperties properties,
+                       JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       List<ChangeSubscriber> subscribers) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        for (ChangeSubscriber subscriber : subscribers) {
+            Subscription subscription = new Subscription(subscriber);
+            if (subscriptions.putIfAbsent(subscription.name(), subscription) != null) {
+                throw new IllegalStateException("Duplicate outbox subscriber name: " + subscription.name());
+            }
+            (subscriber.shared() ? sharedSubscriptions : localSubscriptions).add(subscription);
+        }
+    }
+
+    /**
+     * 노드 구독자는 현재 끝에서 시작하고(이전 상태는 각 서비스의 기동 적재가 채움),
+     * 처음 보는 공유 구독자는 outbox_offset 에 현재 끝으로 등록합니다.
+     * 기동 적재(ApplicationReadyEvent) 보다 먼저 위치를 잡아 그 사이 변경을 놓치지 않는다.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void initializeOffsets() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long head = head();
+        localSubscriptions.forEach(subscription -> subscription.offset = head);
+        for (Subscription subscription : sharedSubscriptions) {
+            jdbcTemplate.update("INSERT IGNORE INTO outbox_offset (subscriber, last_event_id, updated_at) VALUES (?, ?, NOW())",
+                    subscription.name(), head);
+        }
+        log.info("Outbox relay starts at event {} with {} local and {} shared subscribers",
+                head, localSubscriptions.size(), sharedSubscriptions.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * 이 노드에서 outbox 이벤트가 커밋되었음을 알립니다. (폴링 주기를 기다리지 않고 바로 읽음)
+     */
+    public void wake() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * 구독자가 fromEventId 다음 이벤트부터 다시 받게 합니다. 없는 구독자면 false.
+     * 보존 기간이 지나 지워진 이벤트는 다시 보낼 수 없다.
+     */
+    public boolean replay(String subscriberName, long fromEventId) {
+        if (fromEventId < 0) {
+            throw new IllegalArgumentException("fromEventId 는 0 이상이어야 합니다");
+        }
+        Subscription subscription = subscriptions.get(subscriberName);
+        if (subscription == null) {
+            return false;
+        }
+        if (!subscription.subscriber.shared()) {
+            subscription.pendingReplay = fromEventId;
+        } else {
+            // 처리 중인 노드가 위치를 덮어쓰지 않도록 같은 잠금 안에서 바꾼다
+            Boolean updated = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                String lockName = LOCK_PREFIX + subscriberName;
+                if (!lock(connection, "SELECT GET_LOCK(?, " + REPLAY_LOCK_TIMEOUT_SECONDS + ")", lockName)) {
+                    return false;
+                }
+                try {
+                    jdbcTemplate.update("""
+                            INSERT INTO outbox_offset (subscriber, last_event_id, updated_at) VALUES (?, ?, NOW())
+                            ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), updated_at = VALUES(updated_at)
+                            """, subscriberName, fromEventId);
+                    subscription.offset = fromEventId;
+                    return true;
+                } finally {
+                    lock(connection, "SELECT RELEASE_LOCK(?)", lockName);
+                }
+            });
+            if (!Boolean.TRUE.equals(updated)) {
+                throw new IllegalStateException("Outbox subscriber " + subscriberName + " is busy, try again");
+            }
+        }
+        log.info("Outbox subscriber {} replays from event {}", subscriberName, fromEventId);
+        count("replays");
+        wake();
+        return true;
+    }
+
+    /**
+     * 보존 기간이 지났고 모든 공유 구독자가 처리한 이벤트를 배치로 지웁니다.
+     * (노드 구독자는 기동 시점부터 읽으므로 보존 기간만 본다)
+     */
+    @Scheduled(initialDelayString = "${app.outbox.purge-interval-ms:600000}",
+               fixedDelayString = "${app.outbox.purge-interval-ms:600000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long sharedMin = jdbcTemplate.queryForObject("SELECT MIN(last_event_id) FROM outbox_offset", Long.class);
+        long upToId = sharedMin != null ? sharedMin : Long.MAX_VALUE;
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_EXPIRED, upToId, properties.getRetentionHours(), properties.getPurgeBatchSize());
+            deleted += batch;
+        } while (batch >= properties.getPurgeBatchSize() && running);
+        if (deleted > 0) {
+            add("purged", deleted);
+            log.info("Purged {} outbox events", deleted);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long head = head();
+        Map<String, Long> sharedOffsets = new HashMap<>();
+        jdbcTemplate.query("SELECT subscriber, last_event_id FROM outbox_offset",
+                (ResultSet rs) -> {
+                    sharedOffsets.put(rs.getString(1), rs.getLong(2));
+                });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", running);
+        result.put("headEventId", head);
+        List<Map<String, Object>> subscriberStats = new ArrayList<>();
+        for (Subscription subscription : subscriptions.values()) {
+            long offset = subscription.subscriber.shared()
+                    ? sharedOffsets.getOrDefault(subscription.name(), subscription.offset)
+                    : subscription.offset;
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put("name", subscription.name());
+            stat.put("shared", subscription.subscriber.shared());
+            stat.put("aggregateTypes", subscription.aggregateTypes);
+            stat.put("offset", offset);
+            stat.put("lag", Math.max(0, head - offset));
+            stat.put("delivered", subscription.delivered.sum());
+            stat.put("failures", subscription.failures.sum());
+            stat.put("skipped", subscription.skipped.sum());
+            stat.put("consecutiveFailures", subscription.attempts);
+            subscriberStats.add(stat);
+        }
+        result.put("subscribers", subscriberStats);
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    private void run() {
+        while (running) {
+            boolean more = false;
+            try {
+                more = relayLocal();
+                for (Subscription subscription : sharedSubscriptions) {
+                    more |= relayShared(subscription);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay pass failed: {}", e.toString());
+                count("relay.failed");
+            }
+            if (more) {
+                continue;
+            }
+            try {
+                wakeups.tryAcquire(properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 노드 구독자: 가장 뒤처진 위치부터 한 번 읽고, 구독자마다 자기 위치 이후만 전달
+    private boolean relayLocal() {
+        if (localSubscriptions.isEmpty()) {
+            return false;
+        }
+        long from = Long.MAX_VALUE;
+        for (Subscription subscription : localSubscriptions) {
+            Long replayFrom = subscription.pendingReplay;
+            if (replayFrom != null) {
+                subscription.pendingReplay = null;
+                subscription.offset = replayFrom;
+                subscription.attempts = 0;
+                subscription.retryAtMs = 0;
+            }
+            from = Math.min(from, subscription.offset);
+        }
+        Batch batch = read(from, "local");
+        boolean allDelivered = true;
+        for (Subscription subscription : localSubscriptions) {
+            allDelivered &= deliver(subscription, batch);
+        }
+        return allDelivered && batch.full();
+    }
+
+    // 공유 구독자: 잠금을 잡은 노드만 처리 (잠금은 커넥션 단위라 같은 커넥션에서 풀어야 함)
+    private boolean relayShared(Subscription subscription) {
+        String lockName = LOCK_PREFIX + subscription.name();
+        Boolean more = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!lock(connection, "SELECT GET_LOCK(?, 0)", lockName)) {
+                return false;  // 다른 노드가 처리 중
+            }
+            try {
+                List<Long> stored = jdbcTemplate.queryForList(
+                        "SELECT last_event_id FROM outbox_offset WHERE subscriber = ?", Long.class, subscription.name());
+                if (stored.isEmpty()) {
+                    return false;  // 기동 시 등록되므로 누군가 지운 경우, 다음 기동에서 다시 등록
+                }
+                long offset = stored.get(0);
+                subscription.offset = offset;
+                Batch batch = read(offset, subscription.name());
+                boolean delivered = deliver(subscription, batch);
+                if (subscription.offset > offset) {
+                    jdbcTemplate.update("UPDATE outbox_offset SET last_event_id = ?, updated_at = NOW() WHERE subscriber = ?",
+                            subscription.offset, subscription.name());
+                }
+                return delivered && batch.full();
+            } finally {
+                lock(connection, "SELECT RELEASE_LOCK(?)", lockName);
+            }
+        });
+        return Boolean.TRUE.equals(more);
+    }
+
+    // 구독자 위치 이후 이벤트 중 받을 종류만 전달, 성공하면(또는 건너뛰면) 위치를 묶음 끝으로 올린다
+    private boolean deliver(Subscription subscription, Batch batch) {
+        if (batch.lastEventId() <= subscription.offset) {
+            return true;
+        }
+        if (System.currentTimeMillis() < subscription.retryAtMs) {
+            return false;
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        for (ChangeEvent event : batch.events()) {
+            if (event.eventId() > subscription.offset && subscription.aggregateTypes.contains(event.aggregateType())) {
+                events.add(event);
+            }
+        }
+        if (events.isEmpty()) {
+            subscription.offset = batch.lastEventId();
+            return true;
+        }
+        try {
+            subscription.subscriber.onChanges(events);
+            subscription.delivered.add(events.size());
+        } catch (RuntimeException e) {
+            subscription.failures.increment();
+            int attempts = subscription.attempts + 1;
+            if (attempts < properties.getMaxAttempts()) {
+                subscription.attempts = attempts;
+                long backoff = Math.min(properties.getPollIntervalMs() << Math.min(attempts, 20), properties.getMaxBackoffMs());
+                subscription.retryAtMs = System.currentTimeMillis() + backoff;
+                log.warn("Outbox subscriber {} failed on events {}..{} (attempt {}), retrying in {} ms: {}",
+                        subscription.name(), events.get(0).eventId(), events.get(events.size() - 1).eventId(),
+                        attempts, backoff, e.toString());
+                return false;
+            }
+            deliverOneByOne(subscription, events);
+        }
+        subscription.attempts = 0;
+        subscription.retryAtMs = 0;
+        subscription.offset = batch.lastEventId();
+        return true;
+    }
+
+    // 재시도를 다 쓴 묶음: 한 건씩 전달해서 실패하는 이벤트만 건너뛴다
+    private void deliverOneByOne(Subscription subscription, List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            try {
+                subscription.subscriber.onChanges(List.of(event));
+                subscription.delivered.increment();
+            } catch (RuntimeException e) {
+                subscription.skipped.increment();
+                log.error("Outbox subscriber {} skipped event {} ({} {} {}): {}", subscription.name(), event.eventId(),
+                        event.aggregateType(), event.aggregateId(), event.eventType(), e.toString());
+            }
+        }
+    }
+
+    // afterId 다음부터 batchSize 만큼 읽되, 아직 커밋 전일 수 있는 빈 ID 앞에서 자른다
+    // 오래된 빈 ID 는 롤백으로 보고 넘어가되 reader(노드 구독자 묶음 / 공유 구독자 이름)와 함께 기록한다
+    private Batch read(long afterId, String reader) {
+        List<ChangeEvent> events = new ArrayList<>();
+        long[] previous = {afterId};
+        boolean[] cut = {false};
+        int[] rows = {0};
+        jdbcTemplate.query(SELECT_EVENTS, (ResultSet rs) -> {
+            rows[0]++;
+            if (cut[0]) {
+                return;
+            }
+            long eventId = rs.getLong("event_id");
+            if (eventId != previous[0] + 1) {
+                if (!rs.getBoolean("settled")) {
+                    cut[0] = true;
+                    return;
+                }
+                add("gap.skipped", eventId - previous[0] - 1);
+                log.warn("Outbox reader {} skipped missing event ids {}..{} as rolled back; if they commit later, replay from {}",
+                        reader, previous[0] + 1, eventId - 1, previous[0]);
+            }
+            events.add(toEvent(rs, eventId));
+            previous[0] = eventId;
+        }, properties.getGapWaitMs() * 1000, afterId, properties.getBatchSize());
+        if (cut[0]) {
+            count("gap.waits");
+        }
+        add("read", events.size());
+        return new Batch(events, previous[0], !cut[0] && rows[0] >= properties.getBatchSize());
+    }
+
+    private ChangeEvent toEvent(ResultSet rs, long eventId) throws SQLException {
+        try {
+            return new ChangeEvent(eventId, rs.getString("aggregate_type"), rs.getLong("aggregate_id"),
+                    rs.getString("event_type"), objectMapper.readTree(rs.getString("payload")),
+                    rs.getTimestamp("create_at").toLocalDateTime());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed outbox payload for event " + eventId, e);
+        }
+    }
+
+    private long head() {
+        Long head = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(event_id), 0) FROM outbox_event", Long.class);
+        return head != null ? head : 0L;
+    }
+
+    // GET_LOCK / RELEASE_LOCK 결과가 1 이면 true
+    private static boolean lock(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void count(String name) {
+        add(name, 1);
+    }
+
+    private void add(String name, long amount) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+}
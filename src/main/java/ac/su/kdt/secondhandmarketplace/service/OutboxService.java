@@ -0,0 +1,138 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * outbox 이벤트 기록 (OutboxEntityListener 에서 호출)
+ * - JdbcTemplate 은 JPA 와 같은 DataSource 를 쓰므로 엔티티 쓰기와 같은 커넥션 / 트랜잭션에서 기록된다
+ *   (엔티티가 롤백되면 이벤트도 없고, 커밋되면 이벤트도 반드시 있다)
+ * - 등록/수정 payload 는 INSERT ... SELECT JSON_OBJECT 로 방금 쓴 행에서 만든다 (지연 로딩 연관을 건드리지 않음)
+ * - 커밋되면 이 노드의 relay 를 바로 깨운다 (다른 노드는 폴링 주기 안에 읽는다)
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, create_at)
+            SELECT 'PRODUCT', p.product_id, ?, JSON_OBJECT(
+                'id', p.product_id, 'sellerId', p.user_id, 'universityId', p.university_id, 'categoryId', p.category_id2,
+                'regionCode', p.region_code, 'title', p.title, 'status', p.status, 'price', p.price, 'previousPrice', ?,
+                'simhash', p.simhash), NOW(3)
+            FROM product p WHERE p.product_id = ?
+            """;
+    private static final String INSERT_REVIEW = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, create_at)
+            SELECT 'REVIEW', r.review_id, ?, JSON_OBJECT(
+                'id', r.review_id, 'sellerId', r.user_id, 'transactionId', r.transaction_id, 'productId', t.product_id,
+                'rating', r.rating, 'createAt', r.create_at), NOW(3)
+            FROM review r LEFT JOIN transaction t ON t.transaction_id = r.transaction_id WHERE r.review_id = ?
+            """;
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, create_at)
+            SELECT 'TRANSACTION', t.transaction_id, ?, JSON_OBJECT(
+                'id', t.transaction_id, 'productId', t.product_id, 'buyerId', t.user_id,
+                'sellerId', COALESCE(p.user_id, pa.user_id), 'categoryId', COALESCE(p.category_id2, pa.category_id2),
+                'title', COALESCE(p.title, pa.title), 'finalPrice', t.final_price,
+                'transactionDate', t.transaction_date), NOW(3)
+            FROM transaction t
+            LEFT JOIN product p ON p.product_id = t.product_id
+            LEFT JOIN product_archive pa ON pa.product_id = t.product_id
+            WHERE t.transaction_id = ?
+            """;
+    private static final String INSERT_CHATROOM = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, create_at)
+            SELECT 'CHATROOM', c.chatroom_id, ?, JSON_OBJECT(
+                'id', c.chatroom_id, 'productId', c.product_id, 'userId', c.user_id, 'user2Id', c.user2_id,
+                'createAt', c.create_at), NOW(3)
+            FROM chatroom c WHERE c.chatroom_id = ?
+            """;
+    private static final String INSERT_EVENT = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, create_at)
+            VALUES (?, ?, ?, ?, NOW(3))
+            """;
+    private static final Map<String, String> INSERT_SNAPSHOT = Map.of(
+            ChangeEvent.REVIEW, INSERT_REVIEW,
+            ChangeEvent.TRANSACTION, INSERT_TRANSACTION,
+            ChangeEvent.CHATROOM, INSERT_CHATROOM);
+    private static final Object WAKE_REGISTERED = new Object();  // 트랜잭션당 relay 깨우기 한 번
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxRelay> outboxRelay;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ObjectProvider<OutboxRelay> outboxRelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * 상품 등록/수정 이벤트 (previousPrice: 수정 전 가격, 등록이면 null)
+     */
+    public void recordProduct(Long productId, String eventType, BigDecimal previousPrice) {
+        jdbcTemplate.update(INSERT_PRODUCT, eventType, previousPrice, productId);
+        wakeAfterCommit();
+    }
+
+    /**
+     * 리뷰 / 거래 / 채팅방 등록/수정 이벤트
+     */
+    public void record(String aggregateType, Long aggregateId, String eventType) {
+        String sql = INSERT_SNAPSHOT.get(aggregateType);
+        if (sql == null) {
+            throw new IllegalArgumentException("Unknown aggregate type: " + aggregateType);
+        }
+        jdbcTemplate.update(sql, eventType, aggregateId);
+        wakeAfterCommit();
+    }
+
+    /**
+     * 삭제 이벤트 (행이 이미 없으므로 payload 는 엔티티 값으로 만든다, universityId 는 상품만)
+     */
+    public void recordDeleted(String aggregateType, Long aggregateId, Long universityId) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("id", aggregateId);
+        if (universityId != null) {
+            payload.put("universityId", universityId);
+        }
+        try {
+            jdbcTemplate.update(INSERT_EVENT, aggregateType, aggregateId, ChangeEvent.DELETED,
+                    objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        wakeAfterCommit();
+    }
+
+    private void wakeAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRelay.ifAvailable(OutboxRelay::wake);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(WAKE_REGISTERED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WAKE_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.ifAvailable(OutboxRelay::wake);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WAKE_REGISTERED);
+            }
+        });
+    }
+}
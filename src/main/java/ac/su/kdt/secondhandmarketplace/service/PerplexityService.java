@@ -1,27 +1,40 @@
 package ac.su.kdt.secondhandmarketplace.service;
 
+import ac.su.kdt.secondhandmarketplace.dto.ProductCount;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRatingSummary;
 import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationDTO;
+import ac.su.kdt.secondhandmarketplace.dto.SellerReviewCount;
 import ac.su.kdt.secondhandmarketplace.dto.RecommendationCriteria;
+import ac.su.kdt.secondhandmarketplace.entity.Category;
 import ac.su.kdt.secondhandmarketplace.entity.Product;
 import ac.su.kdt.secondhandmarketplace.entity.Review;
+import ac.su.kdt.secondhandmarketplace.repository.CategoryRepository;
+import ac.su.kdt.secondhandmarketplace.repository.ChatRoomRepository;
+import ac.su.kdt.secondhandmarketplace.repository.ProductImageRepository;
 import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
 import ac.su.kdt.secondhandmarketplace.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.math.BigDecimal;
+import ac.su.kdt.secondhandmarketplace.dto.PerplexityChatResponse;
 import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationResponse;
 import ac.su.kdt.secondhandmarketplace.config.PerplexityConfig;
+import ac.su.kdt.secondhandmarketplace.config.ModelRoutingProperties;
 import ac.su.kdt.secondhandmarketplace.dto.RecommendationRequest;
 import ac.su.kdt.secondhandmarketplace.dto.RecommendationResponse;
 
@@ -32,18 +45,45 @@ public class PerplexityService {
     private final WebClient perplexityWebClient;
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
+    private final CategoryRepository categoryRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ProductImageRepository productImageRepository;
     private final PromptService promptService;
-    private static final Pattern PRODUCT_ID_PATTERN = Pattern.compile("\\[상품(\\d+)\\]([^\\[]+)");
+    private final LLMResponseParser llmResponseParser;
+    private final TrendingService trendingService;
+    private final RegionService regionService;
+    private final DuplicateListingService duplicateListingService;
+    private final CatalogPartitionService catalogPartitionService;
+    private final AdmissionControlService admissionControlService;
+    private final ModelRouter modelRouter;
+    private final AutocompleteService autocompleteService;
+    private static final int DEGRADED_RESULT_LIMIT = 5;
+    private static final Long UNKNOWN_CATEGORY_ID = -1L;
+    private static final String SORT_TRENDING = "trending";
+
+    @Value("${app.region.expand-min-results:5}")
+    private int nearbyMinResults;  // 지역 조건 결과가 이보다 적으면 상위 지역으로 확장 (0 이면 확장 안 함)
 
     @Autowired
-    public PerplexityService(PerplexityConfig perplexityConfig, ProductRepository productRepository, ReviewRepository reviewRepository, PromptService promptService) {
+    public PerplexityService(PerplexityConfig perplexityConfig, ProductRepository productRepository, ReviewRepository reviewRepository, CategoryRepository categoryRepository, ChatRoomRepository chatRoomRepository, ProductImageRepository productImageRepository, PromptService promptService, LLMResponseParser llmResponseParser, TrendingService trendingService, RegionService regionService, DuplicateListingService duplicateListingService, CatalogPartitionService catalogPartitionService, AdmissionControlService admissionControlService, ModelRouter modelRouter, AutocompleteService autocompleteService) {
         this.perplexityWebClient = WebClient.builder()
                 .baseUrl(perplexityConfig.getBaseUrl())
                 .defaultHeader("Authorization", "Bearer " + perplexityConfig.getApiKey())
                 .build();
         this.productRepository = productRepository;
         this.reviewRepository = reviewRepository;
+        this.categoryRepository = categoryRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.productImageRepository = productImageRepository;
         this.promptService = promptService;
+        this.llmResponseParser = llmResponseParser;
+        this.trendingService = trendingService;
+        this.regionService = regionService;
+        this.duplicateListingService = duplicateListingService;
+        this.catalogPartitionService = catalogPartitionService;
+        this.admissionControlService = admissionControlService;
+        this.modelRouter = modelRouter;
+        this.autocompleteService = autocompleteService;
     }
 
     /**
@@ -54,21 +94,28 @@ public class PerplexityService {
      * 4. LLM API 호출 및 응답 처리
      * @return 추천된 상품 ID와 추천 이유 목록
      */
+    @Transactional(readOnly = true)
     public Mono<List<ProductRecommendationResponse>> getRecommendations(String userRequest) {
         // 1. 사용자 요청 분석
         RecommendationCriteria criteria = analyzeUserRequest(userRequest);
         
         // 2. DB에서 데이터 수집
         List<Product> products = collectProductData(criteria);
-        List<ProductRecommendationDTO> productDTOs = products.stream()
-            .map(product -> ProductRecommendationDTO.fromEntity(product, reviewRepository))
-            .collect(Collectors.toList());
+        List<ProductRecommendationDTO> productDTOs = toRecommendationDTOs(products);
         
         // 3. LLM 프롬프트 생성
         String prompt = promptService.generateRecommendationPrompt(criteria, productDTOs);
         
-        // 4. LLM API 호출 및 응답 처리
-        return callPerplexityAPI(prompt, productDTOs);
+        // 4. LLM API 호출 및 응답 처리 (단순 요청은 빠른 모델, 과부하 시 DB 정렬 순서 상위 상품으로 대체)
+        ModelRouter.Route route = modelRouter.route(criteria, userRequest, productDTOs.size());
+        AdmissionTicket ticket = admissionControlService.ticket(null, AdmissionControlService.PRIORITY_RECOMMENDATION, null, prompt, null);
+        List<ProductRecommendationResponse> degraded = productDTOs.stream()
+            .limit(DEGRADED_RESULT_LIMIT)
+            .map(dto -> new ProductRecommendationResponse(dto.getId(), "조건에 맞는 상위 상품입니다 (요청이 많아 AI 분석 생략)"))
+            .collect(Collectors.toList());
+        return admissionControlService.submit(ticket, () -> modelRouter.<List<ProductRecommendationResponse>>execute(route,
+            model -> callPerplexityAPI(prompt, productDTOs, ticket, model),
+            recommendations -> !recommendations.isEmpty()), () -> degraded);
     }
 
     /**
@@ -111,17 +158,11 @@ public class PerplexityService {
             criteria.setMaxPrice(new BigDecimal(priceMatcher.group(1)).multiply(new BigDecimal("10000")));
         }
         
-        // 위치 정보 추출 (정확한 주소명)
-        Pattern locationPattern = Pattern.compile("(서울시|부산시|대구시|인천시|광주시|대전시|울산시|세종시|경기도|강원도|충청북도|충청남도|전라북도|전라남도|경상북도|경상남도|제주도)\\s*([가-힣]+(시|군|구))?\\s*([가-힣]+(읍|면|동))?");
-        Matcher locationMatcher = locationPattern.matcher(userRequest);
-        if (locationMatcher.find()) {
-            StringBuilder address = new StringBuilder();
-            for (int i = 1; i <= locationMatcher.groupCount(); i++) {
-                if (locationMatcher.group(i) != null) {
-                    address.append(locationMatcher.group(i)).append(" ");
-                }
-            }
-            criteria.setLocation(address.toString().trim());
+        // 위치 정보 추출 (지역 사전으로 표기 차이 흡수: "서울" / "서울시" / "서울특별시", "강남" / "강남구")
+        RegionService.Region region = regionService.parse(userRequest);
+        if (region != null) {
+            criteria.setLocation(region.name());
+            criteria.setRegionCode(region.code());
         }
         
         // 정렬 기준 설정
@@ -134,35 +175,181 @@ public class PerplexityService {
         } else if (userRequest.contains("조회순")) {
             criteria.setSortBy("viewCount");
             criteria.setSortDirection("desc");
+        } else if (userRequest.contains("인기순") || userRequest.contains("인기 상품")) {
+            criteria.setSortBy(SORT_TRENDING);
+            criteria.setSortDirection("desc");
         }
         
         return criteria;
     }
 
+    /**
+     * 자연어 요청에서 추천 기준만 추출하는 메소드 (저장된 검색 등록용, DB/LLM 조회 없음)
+     */
+    public RecommendationCriteria analyzeCriteria(String userRequest) {
+        return analyzeUserRequest(userRequest);
+    }
+
     /**
      * 추출된 추천 기준을 바탕으로 DB에서 상품 데이터를 조회하는 메소드
      * - 상품명, 카테고리, 가격 범위, 위치, 매너 점수 등을 기준으로 필터링
+     * - 위치는 지역 코드 범위 조건 (결과가 적으면 주변 지역으로 확장)
      * - 정렬 기준에 따라 결과를 정렬
+     * - 같은 판매자의 근접 중복 매물은 대표 상품 하나만 남김
      */
     private List<Product> collectProductData(RecommendationCriteria criteria) { // 상품 추천 기준에 맞는 상품을 조회하는 메서드
-        return productRepository.findByRecommendationCriteria(
-            criteria.getProductName(),
-            criteria.getCategory(),
-            criteria.getMaxPrice(),
-            criteria.getMinPrice(),
-            criteria.getLocation(),
-            criteria.getMinMannerScore(),
-            criteria.getSortBy(),
-            criteria.getSortDirection()
-        );
+        Long categoryId = resolveCategoryId(criteria.getCategory());
+        List<Product> products = findWithNearbyExpansion(criteria, (regionFrom, regionTo) ->
+            productRepository.findByRecommendationCriteria(
+                criteria.getUniversityId(),
+                criteria.getProductName(),
+                categoryId,
+                criteria.getMaxPrice(),
+                criteria.getMinPrice(),
+                regionFrom,
+                regionTo,
+                criteria.getMinMannerScore(),
+                criteria.getSortBy(),
+                criteria.getSortDirection()
+            ));
+        return duplicateListingService.collapse(applyTrendingSort(products, criteria));
+    }
+
+    /**
+     * 지역 조건으로 조회한 결과가 적으면 상위 지역(동 -> 구 -> 시/도)으로 넓혀 다시 조회하는 메소드
+     * - query 는 (지역 코드 범위 시작, 끝) 으로 상품을 조회, 지역 조건이 없으면 (null, null)
+     */
+    private List<Product> findWithNearbyExpansion(RecommendationCriteria criteria, BiFunction<Long, Long, List<Product>> query) {
+        RegionService.Region region = regionService.find(criteria.getRegionCode());
+        if (region == null) {
+            return query.apply(null, null);
+        }
+        List<Product> products = query.apply(region.rangeFrom(), region.rangeTo());
+        RegionService.Region parent = regionService.parent(region);
+        while (products.size() < nearbyMinResults && parent != null) {
+            products = query.apply(parent.rangeFrom(), parent.rangeTo());
+            parent = regionService.parent(parent);
+        }
+        return products;
+    }
+
+    /**
+     * 인기순 정렬 요청이면 메모리의 감쇠 인기 점수로 정렬하는 메소드 (DB 정렬 대신)
+     */
+    private List<Product> applyTrendingSort(List<Product> products, RecommendationCriteria criteria) {
+        if (!SORT_TRENDING.equals(criteria.getSortBy())) {
+            return products;
+        }
+        return trendingService.sortByTrending(products);
+    }
+
+    /**
+     * 조회한 상품 목록을 추천 DTO 로 변환하는 메소드
+     * - 평균 평점과 판매자 리뷰 수는 상품 수와 무관하게 각각 한 번의 쿼리로 조회
+     */
+    private List<ProductRecommendationDTO> toRecommendationDTOs(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Double> averageRatings = loadAverageRatings(products);
+        Set<Long> sellerIds = products.stream()
+            .map(product -> product.getUser().getId())
+            .collect(Collectors.toSet());
+        Map<Long, Long> sellerReviewCounts = reviewRepository.countByUserIds(sellerIds).stream()
+            .collect(Collectors.toMap(SellerReviewCount::userId, SellerReviewCount::reviewCount));
+        return products.stream()
+            .map(product -> ProductRecommendationDTO.fromEntity(product, averageRatings, sellerReviewCounts))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 목록의 평균 평점을 한 번의 쿼리로 조회하는 메소드
+     */
+    private Map<Long, Double> loadAverageRatings(List<Product> products) {
+        if (products.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Long> productIds = products.stream().map(Product::getId).collect(Collectors.toList());
+        return reviewRepository.getAverageRatingsByProductIds(productIds).stream()
+            .collect(Collectors.toMap(ProductRatingSummary::productId, ProductRatingSummary::averageRating));
+    }
+
+    private static Map<Long, Long> toCountMap(List<ProductCount> counts) {
+        return counts.stream().collect(Collectors.toMap(ProductCount::productId, ProductCount::count));
+    }
+
+    /**
+     * 추천 후보 캐시 키 (조회 조건을 모두 포함, 대학교는 캐시 샤드로 구분)
+     */
+    private String candidateCacheKey(RecommendationCriteria criteria) {
+        return String.join("|",
+            String.valueOf(criteria.getCategory()),
+            String.valueOf(criteria.getMinPrice()),
+            String.valueOf(criteria.getMaxPrice()),
+            String.valueOf(criteria.getRegionCode()),
+            String.valueOf(criteria.getMinMannerScore()),
+            String.valueOf(criteria.getMinRating()),
+            String.valueOf(criteria.getSortBy()),
+            String.valueOf(criteria.getSortDirection()));
+    }
+
+    /**
+     * 카테고리명을 ID 로 변환하는 메소드 (쿼리 캐시 사용)
+     * - 카테고리 조건이 없으면 null
+     * - 존재하지 않는 카테고리명이면 어떤 상품과도 매칭되지 않는 ID
+     */
+    private Long resolveCategoryId(String categoryName) {
+        if (categoryName == null) {
+            return null;
+        }
+        return categoryRepository.findByCategoryName(categoryName)
+            .map(Category::getId)
+            .orElse(UNKNOWN_CATEGORY_ID);
     }
 
     /**
      * 일반 채팅을 위한 Perplexity API 호출 메소드
+     * - 입장 제어 대상 (낮은 우선순위), 과부하 시 같은 프롬프트의 최근 응답이 있으면 그것으로 대체
      */
-    public Mono<Map<String, Object>> chat(String prompt) {
+    public Mono<Map<String, Object>> chat(String prompt, String clientKey, Long deadlineMs) {
+        AdmissionTicket ticket = admissionControlService.ticket(clientKey, AdmissionControlService.PRIORITY_CHAT, deadlineMs, prompt, "chat:" + prompt);
+        ModelRouter.Route route = modelRouter.routeChat(prompt);
+        return admissionControlService.submit(ticket, () -> modelRouter.<Map<String, Object>>execute(route, model -> perplexityWebClient.post()
+                .uri("/chat/completions")
+                .bodyValue(buildRequestBody(prompt, null, model))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .doOnNext(response -> admissionControlService.recordUsage(ticket, totalTokens(response))),
+                response -> firstContent(response) != null), null);
+    }
+
+    // Map 형태 응답의 첫 번째 메시지 본문 (없거나 비어 있으면 null)
+    private String firstContent(Map<String, Object> response) {
+        if (response.get("choices") instanceof List<?> choices && !choices.isEmpty()
+                && choices.get(0) instanceof Map<?, ?> choice
+                && choice.get("message") instanceof Map<?, ?> message
+                && message.get("content") instanceof String content && !content.isBlank()) {
+            return content;
+        }
+        return null;
+    }
+
+    // Map 형태 응답의 usage.total_tokens (없으면 null)
+    private Integer totalTokens(Map<String, Object> response) {
+        if (response.get("usage") instanceof Map<?, ?> usage && usage.get("total_tokens") instanceof Number total) {
+            return total.intValue();
+        }
+        return null;
+    }
+
+    /**
+     * chat/completions 요청 본문 생성
+     * - responseFormat 이 주어지면 구조화(JSON 스키마) 출력을 요청
+     * - 모델과 max_tokens 는 라우팅된 모델 설정을 따른다
+     */
+    private Map<String, Object> buildRequestBody(String prompt, Map<String, Object> responseFormat, ModelRoutingProperties.Model model) {
         Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", "sonar-pro");
+        requestBody.put("model", model.getName());
         
         List<Map<String, String>> messages = new ArrayList<>();
         Map<String, String> message = new HashMap<>();
@@ -171,73 +358,83 @@ public class PerplexityService {
         messages.add(message);
         
         requestBody.put("messages", messages);
-        requestBody.put("max_tokens", 1000);
+        requestBody.put("max_tokens", model.getMaxTokens());
         requestBody.put("temperature", 0.7);
         requestBody.put("top_p", 0.9);
+        if (responseFormat != null) {
+            requestBody.put("response_format", responseFormat);
+        }
+        return requestBody;
+    }
 
+    /**
+     * 상품 추천을 위한 Perplexity API 호출 메소드
+     * - JSON 스키마 응답을 요청하고 타입이 있는 DTO 로 받는다
+     */
+    private Mono<List<ProductRecommendationResponse>> callPerplexityAPI(String prompt, List<ProductRecommendationDTO> allProducts, AdmissionTicket ticket, ModelRoutingProperties.Model model) {
         return perplexityWebClient.post()
                 .uri("/chat/completions")
+                .bodyValue(buildRequestBody(prompt, LLMResponseParser.RESPONSE_FORMAT, model))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+                .bodyToMono(PerplexityChatResponse.class)
+                .doOnNext(response -> admissionControlService.recordUsage(ticket, totalTokens(response)))
+                .map(response -> parseLLMResponse(response, allProducts));
     }
 
-    /**
-     * 상품 추천을 위한 Perplexity API 호출 메소드
-     */
-    private Mono<List<ProductRecommendationResponse>> callPerplexityAPI(String prompt, List<ProductRecommendationDTO> allProducts) {
-        return chat(prompt)
-            .map(response -> parseLLMResponse(response, allProducts));
+    // 타입 응답의 usage.total_tokens (없으면 null)
+    private Integer totalTokens(PerplexityChatResponse response) {
+        return response.usage() != null ? response.usage().totalTokens() : null;
     }
 
     /**
      * LLM의 응답을 파싱하여 추천된 상품 ID와 이유 목록을 생성하는 메소드
-     * - LLM 응답에서 상품 ID와 추천 이유를 추출
-     * - 추출된 정보를 기반으로 ProductRecommendationResponse 객체 생성
+     * - 후보 상품을 ID 해시 인덱스로 만들어 O(1) 로 검증
+     * - 구조화(JSON) 응답을 우선 파싱하고, 실패 시 [상품N] 정규식 파서로 폴백
      * - 예외 발생 시 RuntimeException으로 래핑
      */
-    private List<ProductRecommendationResponse> parseLLMResponse(Map<String, Object> response, List<ProductRecommendationDTO> allProducts) {
+    private List<ProductRecommendationResponse> parseLLMResponse(PerplexityChatResponse response, List<ProductRecommendationDTO> allProducts) {
         try {
-            List<ProductRecommendationResponse> recommendations = new ArrayList<>();
-            
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
-            Map<String, Object> choice = choices.get(0);
-            Map<String, Object> message = (Map<String, Object>) choice.get("message");
-            String content = (String) message.get("content");
-            
-            Matcher matcher = PRODUCT_ID_PATTERN.matcher(content);
-            while (matcher.find()) {
-                Long productId = Long.parseLong(matcher.group(1));
-                String reason = matcher.group(2).trim();
-                
-                allProducts.stream()
-                    .filter(p -> p.getId().equals(productId))
-                    .findFirst()
-                    .ifPresent(p -> recommendations.add(new ProductRecommendationResponse(productId, reason)));
-            }
-            
-            return recommendations;
+            Map<Long, ProductRecommendationDTO> candidates = LLMResponseParser.indexById(allProducts);
+            return llmResponseParser.parse(response.firstContent(), candidates);
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse LLM response", e);
         }
     }
 
-    public Mono<RecommendationResponse> getRecommendations(RecommendationRequest request) {
-        // 사용자 요청 분석
+    /**
+     * 자연어 요청 기반 추천 (LLM 응답 본문을 그대로 반환)
+     * - clientKey: 사용자별 입장 제어 키 (사용자 ID 또는 IP), deadlineMs: 응답 마감 시간 (null 이면 기본값)
+     * - 과부하 시 같은 요청의 최근 응답 또는 DB 정렬 순서 상위 상품 안내로 대체
+     */
+    @Transactional(readOnly = true)
+    public Mono<RecommendationResponse> getRecommendations(RecommendationRequest request, String clientKey, Long deadlineMs) {
+        // 사용자 요청 분석 (사용자가 있으면 소속 대학교 상품으로 범위 제한)
         RecommendationCriteria criteria = analyzeUserRequest(request.getUserRequest());
+        criteria.setUniversityId(catalogPartitionService.universityOf(request.getUserId()));
         
-        // 데이터베이스에서 상품 정보 조회 (필터링 및 정렬 적용)
-        List<Product> products = productRepository.findProductsByCriteria(
-            criteria.getMinPrice(),
-            criteria.getMaxPrice(),
-            criteria.getLocation(),
-            criteria.getCategory(),
-            criteria.getMinMannerScore(),
-            criteria.getMinRating(),
-            criteria.getSortBy(),
-            criteria.getSortDirection()
-        );
+        // 데이터베이스에서 상품 정보 조회 (필터링 및 정렬 적용, 대학교별 후보 캐시 사용)
+        Long categoryId = resolveCategoryId(criteria.getCategory());
+        List<Product> products = catalogPartitionService.candidates(criteria.getUniversityId(), candidateCacheKey(criteria), () ->
+            findWithNearbyExpansion(criteria, (regionFrom, regionTo) -> productRepository.findProductsByCriteria(
+                criteria.getUniversityId(),
+                criteria.getMinPrice(),
+                criteria.getMaxPrice(),
+                regionFrom,
+                regionTo,
+                categoryId,
+                criteria.getMinMannerScore(),
+                criteria.getMinRating(),
+                criteria.getSortBy(),
+                criteria.getSortDirection()
+            )));
+        products = duplicateListingService.collapse(applyTrendingSort(products, criteria));
         
         // 상품 정보를 문자열로 변환
+        Map<Long, Double> averageRatings = loadAverageRatings(products);
+        // 채팅방 / 이미지 수는 컬렉션을 로딩하지 않고 상품 ID 로 묶어 센다 (각각 한 번의 쿼리)
+        List<Long> productIds = products.stream().map(Product::getId).collect(Collectors.toList());
+        Map<Long, Long> chatRoomCounts = toCountMap(productIds.isEmpty() ? List.of() : chatRoomRepository.countByProductIds(productIds));
+        Map<Long, Long> imageCounts = toCountMap(productIds.isEmpty() ? List.of() : productImageRepository.countByProductIds(productIds));
         StringBuilder productInfo = new StringBuilder();
         productInfo.append("현재 판매 중인 상품 목록:\n");
         for (Product product : products) {
@@ -245,8 +442,7 @@ public class PerplexityService {
             Double mannerScore = product.getUser().getMannerScore();
             
             // 상품의 평균 평점 계산
-            Double averageRating = reviewRepository.getAverageRatingByProductId(product.getId());
-            if (averageRating == null) averageRating = 0.0;
+            Double averageRating = averageRatings.getOrDefault(product.getId(), 0.0);
             
             productInfo.append(String.format("""
                     - 상품명: %s
@@ -271,8 +467,8 @@ public class PerplexityService {
                     mannerScore,
                     averageRating,
                     product.getViewCount(),
-                    product.getChatRooms().size(),
-                    product.getImages().size(),
+                    chatRoomCounts.getOrDefault(product.getId(), 0L),
+                    imageCounts.getOrDefault(product.getId(), 0L),
                     product.getDescription()));
         }
         
@@ -294,17 +490,54 @@ public class PerplexityService {
                 상품 목록에 없는 상품은 추천하지 마세요.
                 """, productInfo.toString(), request.getUserRequest());
 
-        return perplexityWebClient.post()
+        RecommendationResponse degraded = degradedRecommendation(products, averageRatings);
+        String cacheKey = "recommendation:" + criteria.getUniversityId() + ":" + request.getUserRequest();
+        AdmissionTicket ticket = admissionControlService.ticket(clientKey, AdmissionControlService.PRIORITY_RECOMMENDATION, deadlineMs, prompt, cacheKey);
+        // 단순 요청은 빠른 모델로 보내고, 응답이 후보 상품을 하나도 언급하지 않으면 상위 모델로 재요청
+        ModelRouter.Route route = modelRouter.route(criteria, request.getUserRequest(), products.size());
+        List<String> candidateTitles = products.stream().map(Product::getTitle).collect(Collectors.toList());
+        return admissionControlService.submit(ticket, () -> {
+            // 검색 로그 (자동완성 인기 검색어, 입장 허가된 요청만)
+            autocompleteService.recordQuery(request.getUserRequest(), clientKey);
+            return modelRouter.<RecommendationResponse>execute(route, model -> perplexityWebClient.post()
                 .uri("/chat/completions")
                 .bodyValue(Map.of(
-                    "model", "sonar-pro",
+                    "model", model.getName(),
+                    "max_tokens", model.getMaxTokens(),
                     "messages", List.of(Map.of("role", "user", "content", prompt))
                 ))
                 .retrieve()
-                .bodyToMono(Map.class)
-                .map(response -> {
-                    String content = ((Map<String, Object>) ((List<Map<String, Object>>) response.get("choices")).get(0).get("message")).get("content").toString();
-                    return new RecommendationResponse(content);
-                });
+                .bodyToMono(PerplexityChatResponse.class)
+                .doOnNext(response -> admissionControlService.recordUsage(ticket, totalTokens(response)))
+                .map(response -> new RecommendationResponse(response.firstContent())),
+                response -> mentionsCandidate(response.getContent(), candidateTitles));
+        }, () -> degraded);
+    }
+
+    // 응답 본문이 후보 상품명 중 하나라도 언급하는지 (후보가 없으면 본문만 있으면 됨)
+    private boolean mentionsCandidate(String content, List<String> candidateTitles) {
+        if (content == null || content.isBlank()) {
+            return false;
+        }
+        return candidateTitles.isEmpty() || candidateTitles.stream().anyMatch(title -> title != null && content.contains(title));
+    }
+
+    /**
+     * LLM 없이 만드는 대체 추천 응답 (DB 정렬 순서 상위 상품 안내)
+     * - 트랜잭션 안에서 미리 만들어 두어 과부하 시 지연 로딩 없이 바로 반환
+     */
+    private RecommendationResponse degradedRecommendation(List<Product> products, Map<Long, Double> averageRatings) {
+        StringBuilder content = new StringBuilder("현재 요청이 많아 AI 분석 없이 조건에 맞는 상위 상품을 안내드립니다.\n");
+        if (products.isEmpty()) {
+            content.append("조건에 맞는 판매중 상품이 없습니다.\n");
+        }
+        products.stream().limit(DEGRADED_RESULT_LIMIT).forEach(product -> content.append(String.format(
+            "- %s / %s원 / %s / 판매자 매너점수 %.1f / 평점 %.1f\n",
+            product.getTitle(),
+            product.getPrice(),
+            product.getLocationInfo(),
+            product.getUser().getMannerScore(),
+            averageRatings.getOrDefault(product.getId(), 0.0))));
+        return new RecommendationResponse(content.toString(), true);
     }
-} 
\ No newline at end of file
+}
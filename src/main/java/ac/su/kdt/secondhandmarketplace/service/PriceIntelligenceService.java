@@ -0,0 +1,377 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.PriceBand;
+import ac.su.kdt.secondhandmarketplace.dto.TransactionPriceRow;
+import ac.su.kdt.secondhandmarketplace.entity.PriceSketch;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.repository.PriceSketchRepository;
+import ac.su.kdt.secondhandmarketplace.repository.TransactionRepository;
+import com.tdunning.math.stats.MergingDigest;
+import com.tdunning.math.stats.TDigest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * 거래 이력 기반 가격 예측 (aiPriceMin / aiPriceMax)
+ * - 카테고리별, 카테고리+상품명 클러스터별 t-digest 로 Transaction.finalPrice 분포를 유지
+ * - 거래가 커밋될 때마다 outbox 거래 이벤트로 노드마다 증분 반영, 예측은 메모리 조회 + 분위수 계산만 수행
+ * - 스케치는 주기적으로 price_sketch 테이블에 직렬화, 재시작 시 마지막 반영 거래 이후만 다시 읽음
+ *   relay 는 기동 따라잡기 전에 위치를 잡으므로 그 사이 거래는 양쪽에서 올 수 있다 -> 따라잡기에서 반영한 거래 ID 는 relay 에서 건너뜀
+ * - 전체 재구성도 같은 방식: 재구성 중 relay 로 온 거래는 모아 두었다가 교체할 때 재구성에 없던 것만 반영하고,
+ *   교체 후에는 재구성에서 반영한 거래 ID 를 relay 에서 건너뛴다 (거래 ID 가 커밋 순서가 아니므로 ID 범위로 따라잡지 않음)
+ */
+@Slf4j
+@Service
+public class PriceIntelligenceService implements ChangeSubscriber {
+
+    private static final double COMPRESSION = 100;
+    private static final BigDecimal PRICE_UNIT = new BigDecimal("1000");
+
+    private final TransactionRepository transactionRepository;
+    private final PriceSketchRepository priceSketchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    private volatile Map<String, Sketch> sketches = new ConcurrentHashMap<>();
+    private final CountDownLatch warmedUp = new CountDownLatch(1);             // 기동 따라잡기 완료 (relay 전달은 그 뒤에 반영)
+    private final Object relayLock = new Object();  // relay 반영과 재구성 교체를 직렬화
+    private Set<Long> replayedTransactionIds = ConcurrentHashMap.newKeySet();  // 따라잡기/재구성에서 반영한 거래 ID (relay 중복 제거용, relayLock)
+    private long replayHeadEventId = Long.MAX_VALUE;  // 따라잡기/재구성 직후 outbox 마지막 이벤트 ID (이후 이벤트는 재생에 없음, relayLock)
+    private List<TransactionPriceRow> pendingDuringRebuild;  // 재구성 중 relay 로 온 거래 (재구성 중이 아니면 null, relayLock)
+
+    @Value("${app.price.lower-quantile:0.25}")
+    private double lowerQuantile;
+
+    @Value("${app.price.upper-quantile:0.75}")
+    private double upperQuantile;
+
+    @Value("${app.price.min-cluster-samples:5}")
+    private long minClusterSamples;  // 클러스터 스케치를 쓰기 위한 최소 거래 수 (미만이면 카테고리 스케치 사용)
+
+    @Value("${app.price.min-category-samples:3}")
+    private long minCategorySamples;
+
+    public PriceIntelligenceService(TransactionRepository transactionRepository,
+                                    PriceSketchRepository priceSketchRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.priceSketchRepository = priceSketchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 기동 완료 후 저장된 스케치를 읽고, 그 이후 기록된 거래만 따라잡습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            Map<String, Sketch> loaded = new ConcurrentHashMap<>();
+            for (PriceSketch stored : priceSketchRepository.findAll()) {
+                TDigest digest = MergingDigest.fromBytes(ByteBuffer.wrap(stored.getDigest()));
+                loaded.put(stored.getSketchKey(), new Sketch(stored.getCategoryId(), stored.getClusterKey(), digest, stored.getLastTransactionId()));
+            }
+            sketches = loaded;
+            long afterId = loaded.values().stream().mapToLong(sketch -> sketch.lastTransactionId).min().orElse(0L);
+            Set<Long> appliedIds = ConcurrentHashMap.newKeySet();
+            long applied = replay(loaded, afterId, appliedIds);
+            long head = outboxHeadEventId();
+            synchronized (relayLock) {
+                replayedTransactionIds = appliedIds;
+                replayHeadEventId = head;
+            }
+            log.info("Loaded {} price sketches, caught up {} transactions after id {}", loaded.size(), applied, afterId);
+        } finally {
+            warmedUp.countDown();
+        }
+    }
+
+    @Override
+    public String subscriberName() {
+        return "price-intelligence";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.TRANSACTION);
+    }
+
+    /**
+     * 커밋된 새 거래를 스케치에 반영합니다.
+     * 거래 ID 는 커밋 순서가 아니므로 마지막 거래 ID 로 중복을 거르지 않고, 기동 따라잡기/재구성에서 이미 반영한 거래 ID 만 건너뛴다.
+     * 따라잡기가 끝날 때까지 기다린다 (relay 는 기동 완료와 동시에 전달을 시작한다).
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        try {
+            warmedUp.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for price sketch warm-up", e);
+        }
+        synchronized (relayLock) {
+            Map<String, Sketch> target = sketches;
+            for (ChangeEvent event : events) {
+                if (!event.created() || (replayedTransactionIds != null && replayedTransactionIds.remove(event.aggregateId()))) {
+                    continue;
+                }
+                TransactionPriceRow row = new TransactionPriceRow(event.aggregateId(), event.decimal("finalPrice"),
+                        event.text("title"), event.longValue("categoryId"));
+                record(target, row, false);
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(row);
+                }
+            }
+            if (replayedTransactionIds != null && !events.isEmpty() && events.get(events.size() - 1).eventId() > replayHeadEventId) {
+                replayedTransactionIds = null;  // 재생과 겹칠 수 있는 이벤트를 모두 지났다
+            }
+        }
+    }
+
+    /**
+     * 카테고리와 상품명으로 예측 가격 범위를 계산합니다.
+     * - 상품명 클러스터에 충분한 거래가 있으면 클러스터 분포, 아니면 카테고리 분포 사용
+     * - 둘 다 부족하면 null
+     */
+    public PriceBand estimate(Long categoryId, String title) {
+        if (categoryId == null) {
+            return null;
+        }
+        String clusterKey = titleCluster(title);
+        if (clusterKey != null) {
+            PriceBand band = band(sketches.get(sketchKey(categoryId, clusterKey)), minClusterSamples);
+            if (band != null) {
+                return band;
+            }
+        }
+        return band(sketches.get(sketchKey(categoryId, null)), minCategorySamples);
+    }
+
+    /**
+     * 등록 전 상품에 예측 가격 범위를 채웁니다. (이미 값이 있으면 유지)
+     */
+    public void applyTo(Product product) {
+        if (product.getAiPriceMin() != null || product.getAiPriceMax() != null || product.getCategory() == null) {
+            return;
+        }
+        PriceBand band = estimate(product.getCategory().getId(), product.getTitle());
+        if (band != null) {
+            product.setAiPriceMin(band.min());
+            product.setAiPriceMax(band.max());
+        }
+    }
+
+    /**
+     * 전체 거래 이력으로 스케치를 처음부터 다시 만듭니다. (백필/복구용)
+     * 새 스케치를 다 만든 뒤 교체하므로 재구성 중에도 기존 예측은 계속 제공됩니다.
+     * 재구성 중 relay 로 온 거래는 교체할 때 재구성에 없던 것만 새 스케치에 반영합니다.
+     */
+    public synchronized int rebuildAll() {
+        synchronized (relayLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Map<String, Sketch> rebuilt = new ConcurrentHashMap<>();
+        Set<Long> appliedIds = ConcurrentHashMap.newKeySet();
+        long applied;
+        long head;
+        try {
+            applied = replay(rebuilt, 0L, appliedIds);
+            head = outboxHeadEventId();
+        } catch (RuntimeException e) {
+            synchronized (relayLock) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (relayLock) {
+            for (TransactionPriceRow row : pendingDuringRebuild) {
+                if (!appliedIds.contains(row.transactionId()) && record(rebuilt, row, false)) {
+                    applied++;
+                }
+            }
+            pendingDuringRebuild = null;
+            sketches = rebuilt;
+            replayedTransactionIds = appliedIds;
+            replayHeadEventId = head;
+        }
+        rebuilt.values().forEach(sketch -> sketch.dirty = true);
+        writeTransaction.executeWithoutResult(status -> priceSketchRepository.deleteAllInBatch());
+        persistDirty();
+        log.info("Rebuilt {} price sketches from {} transactions", rebuilt.size(), applied);
+        return rebuilt.size();
+    }
+
+    /**
+     * 변경된 스케치만 직렬화해서 저장합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.price.persist-interval-ms:60000}")
+    @PreDestroy
+    public synchronized void persistDirty() {
+        List<PriceSketch> dirty = new ArrayList<>();
+        sketches.forEach((key, sketch) -> {
+            if (!sketch.dirty) {
+                return;
+            }
+            PriceSketch stored = new PriceSketch();
+            stored.setSketchKey(key);
+            stored.setCategoryId(sketch.categoryId);
+            stored.setClusterKey(sketch.clusterKey);
+            synchronized (sketch) {
+                ByteBuffer buffer = ByteBuffer.allocate(sketch.digest.smallByteSize());
+                sketch.digest.asSmallBytes(buffer);
+                stored.setDigest(buffer.array());
+                stored.setSampleCount(sketch.digest.size());
+                stored.setLastTransactionId(sketch.lastTransactionId);
+                sketch.dirty = false;
+            }
+            stored.setUpdatedAt(LocalDateTime.now());
+            dirty.add(stored);
+        });
+        if (!dirty.isEmpty()) {
+            writeTransaction.executeWithoutResult(status -> priceSketchRepository.saveAll(dirty));
+        }
+    }
+
+    // 재생 직후 outbox 마지막 이벤트 ID: 이후 기록되는(또는 아직 커밋 전인) 이벤트의 거래는 재생에서 읽지 않았다 (primary 에서 읽음)
+    private long outboxHeadEventId() {
+        Long head = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(event_id), 0) FROM outbox_event", Long.class);
+        return head != null ? head : 0L;
+    }
+
+    // afterId 이후 거래를 순서대로 스트리밍하며 target 에 반영 (appliedIds 가 있으면 반영한 거래 ID 를 모음)
+    private long replay(Map<String, Sketch> target, long afterId, Set<Long> appliedIds) {
+        Long applied = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<TransactionPriceRow> rows = transactionRepository.streamPriceRowsAfter(afterId)) {
+                for (TransactionPriceRow row : (Iterable<TransactionPriceRow>) rows::iterator) {
+                    if (record(target, row, true)) {
+                        count++;
+                        if (appliedIds != null) {
+                            appliedIds.add(row.transactionId());
+                        }
+                    }
+                }
+            }
+            return count;
+        });
+        return applied != null ? applied : 0L;
+    }
+
+    // 카테고리 스케치와 클러스터 스케치에 거래 가격을 추가
+    // skipApplied: 재생(replay) 시 스케치에 이미 반영된 거래 ID 이하는 건너뜀
+    private boolean record(Map<String, Sketch> target, TransactionPriceRow row, boolean skipApplied) {
+        if (row.finalPrice() == null || row.categoryId() == null) {
+            return false;
+        }
+        double price = row.finalPrice().doubleValue();
+        boolean applied = add(target, row.categoryId(), null, price, row.transactionId(), skipApplied);
+        String clusterKey = titleCluster(row.title());
+        if (clusterKey != null) {
+            applied |= add(target, row.categoryId(), clusterKey, price, row.transactionId(), skipApplied);
+        }
+        return applied;
+    }
+
+    private boolean add(Map<String, Sketch> target, Long categoryId, String clusterKey, double price, Long transactionId, boolean skipApplied) {
+        Sketch sketch = target.computeIfAbsent(sketchKey(categoryId, clusterKey),
+                key -> new Sketch(categoryId, clusterKey, TDigest.createMergingDigest(COMPRESSION), 0L));
+        synchronized (sketch) {
+            if (skipApplied && transactionId <= sketch.lastTransactionId) {
+                return false;
+            }
+            sketch.digest.add(price);
+            sketch.lastTransactionId = Math.max(sketch.lastTransactionId, transactionId);
+            sketch.dirty = true;
+        }
+        return true;
+    }
+
+    private PriceBand band(Sketch sketch, long minSamples) {
+        if (sketch == null) {
+            return null;
+        }
+        double low;
+        double high;
+        long count;
+        synchronized (sketch) {
+            count = sketch.digest.size();
+            if (count < minSamples) {
+                return null;
+            }
+            low = sketch.digest.quantile(lowerQuantile);
+            high = sketch.digest.quantile(upperQuantile);
+        }
+        return new PriceBand(roundPrice(low, RoundingMode.FLOOR), roundPrice(high, RoundingMode.CEILING), count,
+                sketchKey(sketch.categoryId, sketch.clusterKey));
+    }
+
+    // 천원 단위로 반올림
+    private BigDecimal roundPrice(double value, RoundingMode mode) {
+        return BigDecimal.valueOf(value)
+                .divide(PRICE_UNIT, 0, mode)
+                .multiply(PRICE_UNIT);
+    }
+
+    private String sketchKey(Long categoryId, String clusterKey) {
+        return clusterKey == null ? "c:" + categoryId : "c:" + categoryId + ":t:" + clusterKey;
+    }
+
+    /**
+     * 상품명을 클러스터 키로 정규화합니다.
+     * - 소문자화, 문자/숫자 외 제거 후 앞의 두 토큰 사용 (예: "아이폰 13 프로 256GB" -> "아이폰_13")
+     */
+    static String titleCluster(String title) {
+        if (title == null) {
+            return null;
+        }
+        String[] tokens = title.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}\\s]", " ")
+                .trim()
+                .split("\\s+");
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            return null;
+        }
+        String key = tokens.length == 1 ? tokens[0] : tokens[0] + "_" + tokens[1];
+        return key.length() > 100 ? key.substring(0, 100) : key;
+    }
+
+    private static class Sketch {
+        private final Long categoryId;
+        private final String clusterKey;
+        private final TDigest digest;
+        private long lastTransactionId;
+        private volatile boolean dirty;
+
+        private Sketch(Long categoryId, String clusterKey, TDigest digest, long lastTransactionId) {
+            this.categoryId = categoryId;
+            this.clusterKey = clusterKey;
+            this.digest = digest;
+            this.lastTransactionId = lastTransactionId;
+        }
+    }
+}
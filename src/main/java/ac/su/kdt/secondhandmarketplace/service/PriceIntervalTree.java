@@ -0,0 +1,174 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 가격 구간 [low, high] 을 담는 interval tree (treap + 하위 최대 high 보강)
+ * - 키는 (low, id), 각 노드는 자기 하위 구간의 최대 high 를 들고 있어서
+ *   한 점(상품 가격)을 포함하는 구간 조회는 O(log n + 결과 수)
+ * - 하한/상한이 없는 구간은 Long.MIN_VALUE / Long.MAX_VALUE 로 넣는다
+ * - 동기화하지 않으므로 호출 측에서 읽기/쓰기 잠금
+ */
+public class PriceIntervalTree<T> {
+
+    private Node<T> root;
+    private final Map<Long, Long> lowById = new HashMap<>();  // 제거 시 트리 탐색용
+
+    private static class Node<T> {
+        private final long low;
+        private final long high;
+        private final long id;
+        private final T value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxHigh;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long low, long high, long id, T value) {
+            this.low = low;
+            this.high = high;
+            this.id = id;
+            this.value = value;
+            this.maxHigh = high;
+        }
+    }
+
+    public int size() {
+        return lowById.size();
+    }
+
+    public boolean isEmpty() {
+        return lowById.isEmpty();
+    }
+
+    /**
+     * 구간을 추가합니다. 같은 id 가 있으면 교체.
+     */
+    public void add(long id, long low, long high, T value) {
+        if (low > high) {
+            throw new IllegalArgumentException("low > high: " + low + " > " + high);
+        }
+        remove(id);
+        root = insert(root, new Node<>(low, high, id, value));
+        lowById.put(id, low);
+    }
+
+    public boolean remove(long id) {
+        Long low = lowById.remove(id);
+        if (low == null) {
+            return false;
+        }
+        root = delete(root, low, id);
+        return true;
+    }
+
+    /**
+     * point 를 포함하는 모든 구간의 값을 action 에 넘깁니다.
+     */
+    public void stab(long point, Consumer<T> action) {
+        stab(root, point, action);
+    }
+
+    private static <T> void stab(Node<T> node, long point, Consumer<T> action) {
+        while (node != null && node.maxHigh >= point) {
+            stab(node.left, point, action);
+            if (node.low > point) {
+                return;  // 오른쪽은 모두 low 가 더 크다
+            }
+            if (node.high >= point) {
+                action.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.low, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static <T> Node<T> delete(Node<T> node, long low, long id) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(low, id, node);
+        if (order < 0) {
+            node.left = delete(node.left, low, id);
+        } else if (order > 0) {
+            node.right = delete(node.right, low, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    // left 의 모든 키 < right 의 모든 키
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> void update(Node<T> node) {
+        long maxHigh = node.high;
+        if (node.left != null) {
+            maxHigh = Math.max(maxHigh, node.left.maxHigh);
+        }
+        if (node.right != null) {
+            maxHigh = Math.max(maxHigh, node.right.maxHigh);
+        }
+        node.maxHigh = maxHigh;
+    }
+
+    private static int compare(long low, long id, Node<?> node) {
+        int order = Long.compare(low, node.low);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+}
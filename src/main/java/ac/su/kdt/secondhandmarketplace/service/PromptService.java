@@ -64,7 +64,11 @@ public class PromptService {
         for (ProductRecommendationDTO product : products) {
             prompt.append(formatProductInfo(product));
         }
-        
+
+        // 응답 형식 (구조화 출력)
+        prompt.append("\n응답은 다음 JSON 형식으로만 작성해주세요. 상품 목록에 없는 productId 는 사용하지 마세요:\n");
+        prompt.append("{\"recommendations\": [{\"productId\": 상품번호, \"reason\": \"추천 이유\"}]}\n");
+
         return prompt.toString();
     }
 
@@ -0,0 +1,273 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationJobResponse;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationRequest;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비동기 추천 작업
+ * - 작업 등록 즉시 ID 를 돌려주고, 크기 제한 작업자 풀에서 PerplexityService 추천 파이프라인을 실행
+ * - 결과는 GET 폴링 또는 SSE 로 받는다 (HTTP 연결을 LLM 호출 시간 동안 붙잡지 않음)
+ * - 같은 사용자의 같은 요청이 대기/실행 중이면 새 작업을 만들지 않고 기존 작업 ID 를 돌려준다
+ * - 끝난 작업은 TTL 이 지나면 정리
+ */
+@Slf4j
+@Service
+public class RecommendationJobService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String EVENT_STATUS = "status";
+    private static final String EVENT_RESULT = "result";
+
+    private final PerplexityService perplexityService;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> activeJobIds = new ConcurrentHashMap<>();  // 중복 제거 키 -> 대기/실행 중 작업 ID
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Value("${app.recommendation-jobs.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${app.recommendation-jobs.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${app.recommendation-jobs.sse-timeout-ms:60000}")
+    private long sseTimeoutMs;
+
+    public RecommendationJobService(PerplexityService perplexityService,
+                                    @Value("${app.recommendation-jobs.workers:4}") int workerCount,
+                                    @Value("${app.recommendation-jobs.queue-capacity:100}") int queueCapacity) {
+        this.perplexityService = perplexityService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 추천 작업을 등록합니다. 작업자 대기열이 가득 차면 empty.
+     */
+    public Optional<RecommendationJobResponse> submit(RecommendationRequest request, String clientKey) {
+        String dedupKey = clientKey + "|" + (request.getUserRequest() != null ? request.getUserRequest().trim() : "");
+        Job created = new Job(UUID.randomUUID().toString(), dedupKey);
+        // 작업을 먼저 등록한 뒤 ID 를 공개한다 (다른 요청이 ID 를 보고 작업을 못 찾아 키를 덮어쓰는 경쟁 방지)
+        // 키 확인과 교체는 compute 한 번으로: 끝났거나 정리된 작업을 가리키는 키만 새 작업으로 교체
+        jobs.put(created.id, created);
+        Job[] active = new Job[1];
+        activeJobIds.compute(dedupKey, (key, currentId) -> {
+            Job current = currentId != null ? jobs.get(currentId) : null;
+            if (current != null && !current.isDone()) {
+                active[0] = current;
+                return currentId;
+            }
+            return created.id;
+        });
+        if (active[0] != null) {
+            jobs.remove(created.id);
+            count("deduplicated");
+            return Optional.of(active[0].toResponse());
+        }
+        try {
+            workers.execute(() -> run(created, request, clientKey));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(created.id);
+            activeJobIds.remove(dedupKey, created.id);
+            count("rejected");
+            return Optional.empty();
+        }
+        count("submitted");
+        return Optional.of(created.toResponse());
+    }
+
+    public Optional<RecommendationJobResponse> find(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? Optional.of(job.toResponse()) : Optional.empty();
+    }
+
+    /**
+     * 작업 결과를 SSE 로 구독합니다. 이미 끝난 작업이면 결과를 바로 보내고 닫는다.
+     */
+    public Optional<SseEmitter> subscribe(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        boolean done;
+        synchronized (job) {
+            done = job.isDone();
+            if (!done) {
+                job.emitters.add(emitter);
+                emitter.onCompletion(() -> removeEmitter(job, emitter));
+                emitter.onTimeout(() -> removeEmitter(job, emitter));
+            }
+        }
+        if (done) {
+            sendResult(emitter, job.toResponse());
+        } else {
+            send(emitter, EVENT_STATUS, job.toResponse());
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 작업자 풀 / 작업 상태 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queueDepth", workers.getQueue().size());
+        result.put("queueRemainingCapacity", workers.getQueue().remainingCapacity());
+        result.put("activeWorkers", workers.getActiveCount());
+        result.put("poolSize", workers.getMaximumPoolSize());
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (String status : List.of(STATUS_PENDING, STATUS_RUNNING, STATUS_SUCCEEDED, STATUS_FAILED)) {
+            byStatus.put(status, jobs.values().stream().filter(job -> status.equals(job.status)).count());
+        }
+        result.put("jobs", byStatus);
+        Map<String, Long> counterValues = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    /**
+     * TTL 이 지난 끝난 작업을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.recommendation-jobs.cleanup-interval-ms:30000}")
+    public void expireFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusSeconds(ttlSeconds);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isDone() && job.completedAt.isBefore(threshold));
+        int expired = before - jobs.size();
+        if (expired > 0) {
+            counters.computeIfAbsent("expired", key -> new LongAdder()).add(expired);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(Job job, RecommendationRequest request, String clientKey) {
+        job.status = STATUS_RUNNING;
+        broadcast(job, EVENT_STATUS);
+        try {
+            RecommendationResponse result = perplexityService.getRecommendations(request, clientKey, Duration.ofSeconds(timeoutSeconds).toMillis())
+                    .block(Duration.ofSeconds(timeoutSeconds));
+            complete(job, STATUS_SUCCEEDED, result, null);
+            count("succeeded");
+        } catch (Exception e) {
+            log.warn("Recommendation job {} failed: {}", job.id, e.toString());
+            complete(job, STATUS_FAILED, null, e.getMessage());
+            count("failed");
+        }
+    }
+
+    private void complete(Job job, String status, RecommendationResponse result, String error) {
+        List<SseEmitter> emitters;
+        synchronized (job) {
+            job.result = result;
+            job.error = error;
+            job.completedAt = LocalDateTime.now();
+            job.status = status;
+            emitters = new ArrayList<>(job.emitters);
+            job.emitters.clear();
+        }
+        activeJobIds.remove(job.dedupKey, job.id);
+        RecommendationJobResponse response = job.toResponse();
+        emitters.forEach(emitter -> sendResult(emitter, response));
+    }
+
+    private void broadcast(Job job, String event) {
+        List<SseEmitter> emitters;
+        synchronized (job) {
+            emitters = new ArrayList<>(job.emitters);
+        }
+        RecommendationJobResponse response = job.toResponse();
+        emitters.forEach(emitter -> send(emitter, event, response));
+    }
+
+    private void sendResult(SseEmitter emitter, RecommendationJobResponse response) {
+        if (send(emitter, EVENT_RESULT, response)) {
+            emitter.complete();
+        }
+    }
+
+    // 전송 실패(연결 끊김)면 false
+    private boolean send(SseEmitter emitter, String event, RecommendationJobResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(response));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void removeEmitter(Job job, SseEmitter emitter) {
+        synchronized (job) {
+            job.emitters.remove(emitter);
+        }
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    private static class Job {
+        private final String id;
+        private final String dedupKey;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> emitters = new ArrayList<>();  // Job 으로 보호
+        private volatile String status = STATUS_PENDING;
+        private volatile RecommendationResponse result;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private Job(String id, String dedupKey) {
+            this.id = id;
+            this.dedupKey = dedupKey;
+        }
+
+        private boolean isDone() {
+            return STATUS_SUCCEEDED.equals(status) || STATUS_FAILED.equals(status);
+        }
+
+        private RecommendationJobResponse toResponse() {
+            return new RecommendationJobResponse(id, status, result, error, createdAt, completedAt);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 지역 계층(시/도 -> 시/군/구 -> 읍/면/동) 코드 사전과 자유 텍스트 파서
+ * - 코드는 법정동 코드 10자리 (시도 2 + 시군구 3 + 읍면동 3 + 리 2)
+ * - 하위 지역 코드는 상위 지역 코드 범위 안에 있으므로 지역 필터는 인덱스 범위 조건 하나로 처리된다
+ * - "서울" / "서울시" / "서울특별시", "강남" / "강남구" 같은 표기 차이를 별칭으로 흡수
+ * - 읍/면/동의 접미어 없는 표기("역삼")는 앞에서 시/군/구를 인식했을 때만 인정 ("삼성 갤럭시" 의 삼성은 지역이 아님)
+ * - 시/군/구의 접미어 없는 표기("동작", "화성")는 앞에서 시/도를 인식했거나 "동작에서" 처럼 위치 조사가 붙었을 때만 인정
+ *   ("정상 동작 확인된 맥북" 의 동작은 지역이 아님), 흔한 단어와 겹치지 않는 표기("강남", "수원")는 regions.tsv 별칭으로 둔다
+ */
+@Slf4j
+@Service
+public class RegionService {
+
+    private static final String REGION_FILE = "regions.tsv";
+    private static final long SIDO_UNIT = 100_000_000L;
+    private static final long SIGUNGU_UNIT = 100_000L;
+    private static final long EUPMYEONDONG_UNIT = 100L;
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    // 지역명 뒤에 붙어도 지역명으로 인정하는 조사/접미어
+    private static final List<String> SUFFIXES = List.of("", "에서", "에", "의", "쪽", "근처", "인근", "지역", "부근");
+    // 접미어 없는 시/군/구 표기를 문맥 없이 인정하는 위치 조사 ("의" 는 "동작의 원리" 처럼 일반 단어에도 붙으므로 제외)
+    private static final List<String> LOCATION_SUFFIXES = List.of("에서", "쪽", "근처", "인근", "지역", "부근");
+
+    private final Map<Long, Region> byCode = new HashMap<>();
+    private final Map<String, List<Region>> byAlias = new HashMap<>();
+    private final Map<String, List<Region>> bySigunguShortForm = new HashMap<>();  // 시/군/구 접미어 없는 표기 (시/도 문맥 또는 위치 조사와 함께만)
+    private final Map<String, List<Region>> byDongShortForm = new HashMap<>();  // 읍/면/동 접미어 없는 표기 (시/군/구 문맥에서만)
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.region.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public RegionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        load();
+    }
+
+    public enum Level { SIDO, SIGUNGU, EUPMYEONDONG }
+
+    // rangeTo: 이 지역과 모든 하위 지역을 포함하는 코드 범위 끝 (일반구가 있는 시는 regions.tsv 에 명시)
+    public record Region(long code, String name, Level level, long rangeTo) {
+
+        // 이 지역과 모든 하위 지역을 포함하는 코드 범위 시작
+        public long rangeFrom() {
+            return code;
+        }
+
+        // 시/도 코드
+        public long sidoCode() {
+            return code / SIDO_UNIT * SIDO_UNIT;
+        }
+
+        public boolean contains(Region other) {
+            return other.code >= rangeFrom() && other.code <= rangeTo();
+        }
+    }
+
+    public Region find(Long code) {
+        return code == null ? null : byCode.get(code);
+    }
+
+    /**
+     * 해당 단계의 모든 지역 (코드 순)
+     */
+    public List<Region> regions(Level level) {
+        return byCode.values().stream()
+                .filter(region -> region.level() == level)
+                .sorted(Comparator.comparingLong(Region::code))
+                .toList();
+    }
+
+    /**
+     * 상위 지역 (시/도는 null)
+     */
+    public Region parent(Region region) {
+        if (region == null || region.level() == Level.SIDO) {
+            return null;
+        }
+        if (region.level() == Level.EUPMYEONDONG) {
+            Region sigungu = byCode.get(region.code() / SIGUNGU_UNIT * SIGUNGU_UNIT);
+            if (sigungu != null) {
+                return sigungu;
+            }
+        }
+        if (region.level() == Level.SIGUNGU) {
+            // 일반구의 상위는 시 (예: 장안구 41111 -> 수원시 41110)
+            Region city = byCode.get(region.code() / (SIGUNGU_UNIT * 10) * (SIGUNGU_UNIT * 10));
+            if (city != null && city.code() != region.code() && city.contains(region)) {
+                return city;
+            }
+        }
+        return byCode.get(region.sidoCode());
+    }
+
+    /**
+     * 위치 문자열의 지역 코드 (인식하지 못하면 null)
+     */
+    public Long codeOf(String locationInfo) {
+        Region region = parse(locationInfo);
+        return region != null ? region.code() : null;
+    }
+
+    /**
+     * 자유 텍스트에서 가장 구체적인 지역을 찾습니다.
+     * 예) "서울 강남구 역삼동 맥북" -> 역삼동, "강남 역삼 맥북" -> 역삼동, "강남에서 아이폰" -> 강남구,
+     *     "서울시" -> 서울특별시, "삼성 갤럭시" -> null, "정상 동작 확인된 맥북" -> null, "서울 동작 맥북" -> 동작구
+     */
+    public Region parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Region sido = null;
+        Region sigungu = null;
+        Region dong = null;
+        for (String token : text.trim().split("\\s+")) {
+            List<Region> candidates = lookup(token, byAlias, SUFFIXES);
+            if (candidates.isEmpty() && sigungu == null) {
+                candidates = lookup(token, bySigunguShortForm, sido != null ? SUFFIXES : LOCATION_SUFFIXES);
+            }
+            if (candidates.isEmpty() && sigungu != null && dong == null) {
+                candidates = lookup(token, byDongShortForm, SUFFIXES);
+            }
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            Region context = dong != null ? dong : sigungu != null ? sigungu : sido;
+            Region chosen = choose(candidates, context);
+            if (chosen == null) {
+                continue;
+            }
+            switch (chosen.level()) {
+                case SIDO -> {
+                    if (sido == null) {
+                        sido = chosen;
+                    }
+                }
+                case SIGUNGU -> {
+                    if (sigungu == null) {
+                        sigungu = chosen;
+                    }
+                }
+                case EUPMYEONDONG -> {
+                    if (dong == null) {
+                        dong = chosen;
+                    }
+                }
+            }
+        }
+        return dong != null ? dong : sigungu != null ? sigungu : sido;
+    }
+
+    // 토큰(suffixes 중 하나로 끝나야 함)을 별칭 사전에서 찾는다
+    private List<Region> lookup(String token, Map<String, List<Region>> aliases, List<String> suffixes) {
+        for (String suffix : suffixes) {
+            if (token.length() - suffix.length() < 2 || !token.endsWith(suffix)) {
+                continue;
+            }
+            List<Region> regions = aliases.get(token.substring(0, token.length() - suffix.length()));
+            if (regions != null) {
+                return regions;
+            }
+        }
+        return List.of();
+    }
+
+    // 이미 인식한 상위 지역과 모순되지 않는 후보 하나를 고른다
+    // 후보가 한 줄기(상위-하위 관계)면 가장 상위 지역, 서로 다른 지역이면 모호하므로 null
+    private Region choose(List<Region> candidates, Region context) {
+        List<Region> consistent = new ArrayList<>();
+        for (Region candidate : candidates) {
+            if (context == null || context.contains(candidate) || candidate.contains(context)) {
+                consistent.add(candidate);
+            }
+        }
+        if (consistent.isEmpty()) {
+            return null;
+        }
+        consistent.sort(Comparator.comparing(Region::level));
+        Region top = consistent.get(0);
+        for (Region candidate : consistent) {
+            if (!top.contains(candidate)) {
+                return null;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * 지역 코드가 비어 있는 상품을 위치 정보로 채웁니다. (컬럼 추가 이전 데이터 백필)
+     * - product_id 순서로 배치 단위 조회/갱신, 인식하지 못한 위치는 null 로 남김
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        long lastId = 0;
+        int updated = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT product_id, location_info FROM product WHERE region_code IS NULL AND location_info IS NOT NULL AND product_id > ? ORDER BY product_id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                    lastId, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long code = codeOf((String) row[1]);
+                if (code != null) {
+                    updates.add(new Object[]{code, row[0]});
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE product SET region_code = ? WHERE product_id = ?", updates);
+                updated += updates.size();
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        if (updated > 0) {
+            log.info("Backfilled region codes for {} products", updated);
+        }
+    }
+
+    private void load() {
+        ClassPathResource resource = new ClassPathResource(REGION_FILE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                long code = Long.parseLong(columns[0].trim());
+                Level level = levelOf(code);
+                long rangeTo = columns.length > 3 && !columns[3].isBlank()
+                        ? Long.parseLong(columns[3].trim()) : code + unitOf(level) - 1;
+                Region region = new Region(code, columns[1].trim(), level, rangeTo);
+                byCode.put(code, region);
+
+                Set<String> aliases = new LinkedHashSet<>();
+                aliases.add(region.name());
+                if (columns.length > 2) {
+                    for (String alias : columns[2].split(",")) {
+                        if (!alias.isBlank()) {
+                            aliases.add(alias.trim());
+                        }
+                    }
+                }
+                for (String alias : aliases) {
+                    byAlias.computeIfAbsent(alias, key -> new ArrayList<>()).add(region);
+                }
+                String shortForm = shortForm(region);
+                if (shortForm != null && !aliases.contains(shortForm)) {
+                    (level == Level.EUPMYEONDONG ? byDongShortForm : bySigunguShortForm)
+                            .computeIfAbsent(shortForm, key -> new ArrayList<>()).add(region);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + REGION_FILE, e);
+        }
+        log.info("Loaded {} regions", byCode.size());
+    }
+
+    // 시/군/구, 읍/면/동의 접미어 없는 표기 (예: 강남구 -> 강남, 역삼동 -> 역삼), 없으면 null
+    // "동작", "삼성", "신사" 처럼 일반 단어와 겹칠 수 있으므로 parse 에서 상위 지역 문맥이 있을 때만 쓴다
+    private static String shortForm(Region region) {
+        String name = region.name();
+        if (region.level() == Level.SIDO || name.length() < 3) {
+            return null;
+        }
+        char last = name.charAt(name.length() - 1);
+        return "시군구읍면동".indexOf(last) >= 0 ? name.substring(0, name.length() - 1) : null;
+    }
+
+    private static long unitOf(Level level) {
+        return switch (level) {
+            case SIDO -> SIDO_UNIT;
+            case SIGUNGU -> SIGUNGU_UNIT;
+            case EUPMYEONDONG -> EUPMYEONDONG_UNIT;
+        };
+    }
+
+    private static Level levelOf(long code) {
+        if (code % SIDO_UNIT == 0) {
+            return Level.SIDO;
+        }
+        if (code % SIGUNGU_UNIT == 0) {
+            return Level.SIGUNGU;
+        }
+        return Level.EUPMYEONDONG;
+    }
+}
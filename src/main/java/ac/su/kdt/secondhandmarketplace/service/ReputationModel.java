@@ -0,0 +1,111 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+/**
+ * 판매자 매너 점수 계산식 (시간 감쇠 + 베이지안 평활)
+ * - 리뷰 평점과 거래 완료(약한 암묵적 평점)를 고정 기준 시점(landmark) 대비 exp(λ(t - t0)) 가중치로 누적
+ *   -> 이벤트 도착 순서와 무관하게 같은 합이 되고, 갱신 시 기존 값을 다시 감쇠할 필요가 없다
+ * - 점수는 판매자의 마지막 이벤트 시점 기준: (C·m + Σw·r) / (C + Σw)
+ *   리뷰가 적은 판매자는 사전 평균 m 쪽으로 당겨지고, 오래된 평가는 반감기마다 영향이 절반이 된다
+ * - 마지막 이벤트 시점 기준이므로 같은 이벤트 집합이면 증분 갱신과 전체 재계산 결과가 같다
+ */
+public class ReputationModel {
+
+    public static final long LANDMARK_EPOCH_SECOND = 1_704_067_200L;  // 2024-01-01T00:00:00Z
+
+    private final double lambda;
+    private final double priorMean;
+    private final double priorWeight;
+    private final double transactionWeight;
+    private final double transactionRating;
+
+    public ReputationModel(double halfLifeDays, double priorMean, double priorWeight, double transactionWeight, double transactionRating) {
+        this.lambda = Math.log(2) / (halfLifeDays * 86_400);
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.transactionWeight = transactionWeight;
+        this.transactionRating = transactionRating;
+    }
+
+    public void applyReview(State state, double rating, long epochSecond) {
+        double weight = landmarkWeight(epochSecond);
+        state.ratingSum += rating * weight;
+        state.weightSum += weight;
+        state.reviewCount++;
+        state.lastEventEpochSecond = Math.max(state.lastEventEpochSecond, epochSecond);
+    }
+
+    public void applyTransaction(State state, long epochSecond) {
+        double weight = landmarkWeight(epochSecond) * transactionWeight;
+        state.ratingSum += transactionRating * weight;
+        state.weightSum += weight;
+        state.transactionCount++;
+        state.lastEventEpochSecond = Math.max(state.lastEventEpochSecond, epochSecond);
+    }
+
+    /**
+     * 마지막 이벤트 시점 기준 매너 점수 (소수 둘째 자리 반올림, 이벤트가 없으면 사전 평균)
+     */
+    public double score(State state) {
+        if (state.reviewCount == 0 && state.transactionCount == 0) {
+            return round(priorMean);
+        }
+        double decay = Math.exp(-lambda * (state.lastEventEpochSecond - LANDMARK_EPOCH_SECOND));
+        double ratingSum = state.ratingSum * decay;
+        double weightSum = state.weightSum * decay;
+        return round((priorWeight * priorMean + ratingSum) / (priorWeight + weightSum));
+    }
+
+    private double landmarkWeight(long epochSecond) {
+        return Math.exp(lambda * (epochSecond - LANDMARK_EPOCH_SECOND));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * 판매자 한 명의 누적 상태 (호출 측에서 동기화)
+     */
+    public static class State {
+        double ratingSum;          // landmark 기준 가중 평점 합
+        double weightSum;          // landmark 기준 가중치 합
+        int reviewCount;
+        int transactionCount;
+        long lastEventEpochSecond = Long.MIN_VALUE;  // 이벤트가 없으면 MIN_VALUE
+
+        public State() {
+        }
+
+        public State(double ratingSum, double weightSum, int reviewCount, int transactionCount, long lastEventEpochSecond) {
+            this.ratingSum = ratingSum;
+            this.weightSum = weightSum;
+            this.reviewCount = reviewCount;
+            this.transactionCount = transactionCount;
+            this.lastEventEpochSecond = lastEventEpochSecond;
+        }
+
+        public State copy() {
+            return new State(ratingSum, weightSum, reviewCount, transactionCount, lastEventEpochSecond);
+        }
+
+        public double getRatingSum() {
+            return ratingSum;
+        }
+
+        public double getWeightSum() {
+            return weightSum;
+        }
+
+        public int getReviewCount() {
+            return reviewCount;
+        }
+
+        public int getTransactionCount() {
+            return transactionCount;
+        }
+
+        public long getLastEventEpochSecond() {
+            return lastEventEpochSecond;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.ReputationProperties;
+import ac.su.kdt.secondhandmarketplace.dto.ReputationEventRow;
+import ac.su.kdt.secondhandmarketplace.entity.SellerProfile;
+import ac.su.kdt.secondhandmarketplace.entity.SellerReputation;
+import ac.su.kdt.secondhandmarketplace.repository.ReviewRepository;
+import ac.su.kdt.secondhandmarketplace.repository.SellerReputationRepository;
+import ac.su.kdt.secondhandmarketplace.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 판매자 매너 점수(User.mannerScore) 엔진
+ * - 리뷰/거래가 커밋될 때마다 해당 판매자 상태만 증분 갱신 (리뷰 테이블 집계 없음, 계산식은 ReputationModel)
+ *   outbox 공유 구독자라 클러스터에서 한 노드만 반영하고, 묶음마다 저장한 뒤 처리 위치를 올린다
+ *   판매자별 마지막 outbox 이벤트 ID 를 합계와 같은 upsert 로 저장하므로 재전달 / 구독 노드 변경 / replay 로
+ *   같은 이벤트가 다시 와도 두 번 더하지 않는다 (다시 계산하려면 rebuildAll)
+ * - 변경된 판매자는 메모리에 모았다가 주기적으로 seller_reputation / user.manner_score 를 JDBC 배치로 반영하고
+ *   seller-profile 2차 캐시에서 해당 판매자를 evict
+ * - 전체 재계산은 리뷰, 거래를 각각 ID 순으로 재생하므로 같은 데이터면 항상 같은 결과 (오프라인 작업, 재계산 중 증분 반영은 대기)
+ */
+@Slf4j
+@Service
+public class ReputationService implements ChangeSubscriber {
+
+    private static final String UPSERT_REPUTATION = """
+            INSERT INTO seller_reputation (seller_id, rating_sum, weight_sum, review_count, transaction_count, last_event_epoch_second,
+                manner_score, updated_at, last_outbox_event_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                rating_sum = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(rating_sum), rating_sum),
+                weight_sum = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(weight_sum), weight_sum),
+                review_count = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(review_count), review_count),
+                transaction_count = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(transaction_count), transaction_count),
+                last_event_epoch_second = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(last_event_epoch_second), last_event_epoch_second),
+                manner_score = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(manner_score), manner_score),
+                updated_at = IF(VALUES(last_outbox_event_id) >= last_outbox_event_id, VALUES(updated_at), updated_at),
+                last_outbox_event_id = GREATEST(last_outbox_event_id, VALUES(last_outbox_event_id))
+            """;
+    private static final String UPDATE_MANNER_SCORE = "UPDATE user SET manner_score = ? WHERE user_id = ?";
+
+    private final ReputationProperties properties;
+    private final ReputationModel model;
+    private final ReviewRepository reviewRepository;
+    private final TransactionRepository transactionRepository;
+    private final SellerReputationRepository sellerReputationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    private final Map<Long, Pending> dirty = new ConcurrentHashMap<>();  // 판매자 ID -> 아직 저장하지 않은 상태
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile long rebuiltReviewId;       // 재계산에 포함된 마지막 리뷰 ID (이하 이벤트는 중복이므로 무시)
+    private volatile long rebuiltTransactionId;  // 재계산에 포함된 마지막 거래 ID
+
+    public ReputationService(ReputationProperties properties,
+                             ReviewRepository reviewRepository,
+                             TransactionRepository transactionRepository,
+                             SellerReputationRepository sellerReputationRepository,
+                             JdbcTemplate jdbcTemplate,
+                             EntityManagerFactory entityManagerFactory,
+                             PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.model = new ReputationModel(properties.getHalfLifeDays(), properties.getPriorMean(), properties.getPriorWeight(),
+                properties.getTransactionWeight(), properties.getTransactionRating());
+        this.reviewRepository = reviewRepository;
+        this.transactionRepository = transactionRepository;
+        this.sellerReputationRepository = sellerReputationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 누적 상태가 하나도 없으면(최초 배포) 기존 리뷰/거래로 한 번 재계산합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        if (sellerReputationRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    @Override
+    public String subscriberName() {
+        return "reputation";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.REVIEW, ChangeEvent.TRANSACTION);
+    }
+
+    @Override
+    public boolean shared() {
+        return true;
+    }
+
+    /**
+     * 커밋된 리뷰/거래를 판매자 상태에 반영하고 바로 저장합니다. (저장이 끝나야 relay 가 처리 위치를 올린다)
+     * 리뷰의 판매자는 리뷰 대상(review.user), 거래의 판매자는 상품 등록자
+     * 판매자에 저장된 마지막 outbox 이벤트 ID 이하인 이벤트는 이미 반영된 것이므로 건너뛴다.
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            if (event.created()) {
+                boolean review = ChangeEvent.REVIEW.equals(event.aggregateType());
+                apply(event.eventId(), new ReputationEventRow(event.aggregateId(), event.longValue("sellerId"),
+                        review ? event.doubleValue("rating") : null,
+                        event.time(review ? "createAt" : "transactionDate")), review);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * 판매자의 현재 매너 점수 상태 (저장 전 변경 포함)
+     */
+    public Optional<Map<String, Object>> describe(Long sellerId) {
+        Pending pending = dirty.get(sellerId);
+        ReputationModel.State state;
+        if (pending != null) {
+            synchronized (pending) {
+                state = pending.state.copy();
+            }
+        } else {
+            Optional<SellerReputation> stored = sellerReputationRepository.findById(sellerId);
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            state = toState(stored.get());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sellerId", sellerId);
+        result.put("mannerScore", model.score(state));
+        result.put("reviewCount", state.getReviewCount());
+        result.put("transactionCount", state.getTransactionCount());
+        result.put("lastEventAt", state.getLastEventEpochSecond() != Long.MIN_VALUE
+                ? LocalDateTime.ofEpochSecond(state.getLastEventEpochSecond(), 0, ZoneOffset.UTC) : null);
+        result.put("pendingFlush", pending != null);
+        return Optional.of(result);
+    }
+
+    /**
+     * 변경된 판매자 상태를 배치로 저장하고 user.manner_score 를 갱신합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.reputation.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Snapshot> snapshots = new ArrayList<>();
+        dirty.forEach((sellerId, pending) -> {
+            synchronized (pending) {
+                snapshots.add(new Snapshot(sellerId, pending, pending.state.copy(), pending.appliedEventId, pending.version));
+            }
+        });
+        write(snapshots);
+        // 저장하는 동안 바뀌지 않은 판매자만 메모리에서 제거
+        for (Snapshot snapshot : snapshots) {
+            synchronized (snapshot.pending) {
+                if (snapshot.pending.version == snapshot.version) {
+                    snapshot.pending.removed = true;
+                    dirty.remove(snapshot.sellerId, snapshot.pending);
+                }
+            }
+        }
+    }
+
+    /**
+     * 전체 리뷰/거래로 모든 판매자 상태를 다시 계산합니다. (백필/복구용)
+     * 리뷰, 거래를 각각 ID 순으로 재생하므로 같은 데이터면 결과가 같다.
+     */
+    public synchronized int rebuildAll() {
+        rebuildLock.writeLock().lock();
+        try {
+            flush();
+            Map<Long, ReputationModel.State> states = new HashMap<>();
+            long[] lastIds = readOnlyTransaction.execute(status -> {
+                long lastReviewId = 0;
+                long lastTransactionId = 0;
+                try (Stream<ReputationEventRow> rows = reviewRepository.streamReputationEvents()) {
+                    for (ReputationEventRow row : (Iterable<ReputationEventRow>) rows::iterator) {
+                        applyTo(states.computeIfAbsent(row.sellerId(), id -> new ReputationModel.State()), row, true);
+                        lastReviewId = row.eventId();
+                    }
+                }
+                try (Stream<ReputationEventRow> rows = transactionRepository.streamReputationEvents()) {
+                    for (ReputationEventRow row : (Iterable<ReputationEventRow>) rows::iterator) {
+                        applyTo(states.computeIfAbsent(row.sellerId(), id -> new ReputationModel.State()), row, false);
+                        lastTransactionId = row.eventId();
+                    }
+                }
+                return new long[]{lastReviewId, lastTransactionId};
+            });
+            List<Snapshot> snapshots = new ArrayList<>(states.size());
+            states.forEach((sellerId, state) -> snapshots.add(new Snapshot(sellerId, null, state, 0, 0)));
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM seller_reputation"));
+            write(snapshots);
+            rebuiltReviewId = lastIds != null ? lastIds[0] : 0;
+            rebuiltTransactionId = lastIds != null ? lastIds[1] : 0;
+            log.info("Rebuilt manner scores for {} sellers", states.size());
+            return states.size();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long outboxEventId, ReputationEventRow event, boolean review) {
+        if (event.sellerId() == null) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            if (event.eventId() <= (review ? rebuiltReviewId : rebuiltTransactionId)) {
+                return;  // 직전 재계산에 이미 포함된 이벤트
+            }
+            while (true) {
+                Pending pending = dirty.computeIfAbsent(event.sellerId(), this::load);
+                synchronized (pending) {
+                    if (pending.removed) {
+                        continue;  // 방금 저장되어 제거된 상태, 다시 읽는다
+                    }
+                    if (outboxEventId <= pending.appliedEventId) {
+                        return;  // 이미 반영되어 저장된 이벤트 (재전달 / 다른 노드가 반영)
+                    }
+                    applyTo(pending.state, event, review);
+                    pending.appliedEventId = outboxEventId;
+                    pending.version++;
+                    return;
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void applyTo(ReputationModel.State state, ReputationEventRow event, boolean review) {
+        long epochSecond = (event.occurredAt() != null ? event.occurredAt() : LocalDateTime.now()).toEpochSecond(ZoneOffset.UTC);
+        if (review) {
+            if (event.rating() != null) {
+                model.applyReview(state, event.rating(), epochSecond);
+            }
+        } else {
+            model.applyTransaction(state, epochSecond);
+        }
+    }
+
+    // 메모리에 없는 판매자는 저장된 누적 상태에서 시작 (primary 에서 읽음, replica 의 오래된 합계로 덮어쓰지 않도록)
+    private Pending load(Long sellerId) {
+        return sellerReputationRepository.findOnPrimaryById(sellerId)
+                .map(stored -> new Pending(toState(stored), stored.getLastOutboxEventId()))
+                .orElseGet(() -> new Pending(new ReputationModel.State(), 0));
+    }
+
+    private ReputationModel.State toState(SellerReputation stored) {
+        return new ReputationModel.State(stored.getRatingSum(), stored.getWeightSum(), stored.getReviewCount(),
+                stored.getTransactionCount(), stored.getLastEventEpochSecond());
+    }
+
+    // seller_reputation upsert + user.manner_score 갱신을 배치 단위 트랜잭션으로, 커밋 후 판매자 프로필 캐시 evict
+    private void write(List<Snapshot> snapshots) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < snapshots.size(); from += properties.getBatchSize()) {
+            List<Snapshot> batch = snapshots.subList(from, Math.min(snapshots.size(), from + properties.getBatchSize()));
+            List<Object[]> reputationRows = new ArrayList<>(batch.size());
+            List<Object[]> scoreRows = new ArrayList<>(batch.size());
+            for (Snapshot snapshot : batch) {
+                ReputationModel.State state = snapshot.state;
+                double score = model.score(state);
+                reputationRows.add(new Object[]{snapshot.sellerId, state.getRatingSum(), state.getWeightSum(), state.getReviewCount(),
+                        state.getTransactionCount(), state.getLastEventEpochSecond(), score, now, snapshot.appliedEventId});
+                scoreRows.add(new Object[]{score, snapshot.sellerId});
+            }
+            // 합계와 처리한 이벤트 위치가 같은 행 / 같은 트랜잭션으로 저장된다 (위치가 뒤로 가는 쓰기는 무시)
+            writeTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_REPUTATION, reputationRows);
+                jdbcTemplate.batchUpdate(UPDATE_MANNER_SCORE, scoreRows);
+            });
+            for (Snapshot snapshot : batch) {
+                entityManagerFactory.getCache().evict(SellerProfile.class, snapshot.sellerId);
+            }
+        }
+    }
+
+    // 메모리의 판매자 상태 (appliedEventId: 반영한 마지막 outbox 이벤트 ID, version: 변경 횟수, removed: 저장 후 맵에서 제거됨)
+    private static class Pending {
+        private final ReputationModel.State state;
+        private long appliedEventId;
+        private long version;
+        private boolean removed;
+
+        private Pending(ReputationModel.State state, long appliedEventId) {
+            this.state = state;
+            this.appliedEventId = appliedEventId;
+        }
+    }
+
+    private record Snapshot(Long sellerId, Pending pending, ReputationModel.State state, long appliedEventId, long version) {
+    }
+}
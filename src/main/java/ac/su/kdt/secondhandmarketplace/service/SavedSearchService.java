@@ -0,0 +1,543 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.SavedSearchProperties;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationCriteria;
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchRequest;
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchResponse;
+import ac.su.kdt.secondhandmarketplace.dto.SavedSearchRow;
+import ac.su.kdt.secondhandmarketplace.entity.Category;
+import ac.su.kdt.secondhandmarketplace.entity.SavedSearch;
+import ac.su.kdt.secondhandmarketplace.repository.CategoryRepository;
+import ac.su.kdt.secondhandmarketplace.repository.SavedSearchRepository;
+import ac.su.kdt.secondhandmarketplace.repository.SellerProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 저장된 검색 알림 (percolator 방식: 매물을 검색 조건들에 거꾸로 매칭)
+ * - 저장된 검색은 (대학교, 카테고리, 지역 코드) 버킷으로 나누고, 버킷마다 가격 구간 interval tree 에 넣는다
+ *   조건이 없는 항목은 "전체" 버킷 (null 키)
+ * - 매물이 등록/가격 변경되면 (대학교 | 전체) x (카테고리 | 전체) x (동, 구, 시/도 | 전체) 버킷만 열어
+ *   가격을 포함하는 구간을 찾고, 상품명 키워드 / 매너 점수 / 판매자 본인 여부만 후보에 대해 확인한다
+ *   (저장된 검색 전체를 훑지 않음)
+ * - 가격 변경은 가격이 내려갔거나 새로 조건에 들어온 경우만 알림 (가격 인상으로 다시 알리지 않음)
+ * - 매칭과 알림 저장은 outbox 공유 구독자로 처리 (상품 등록 요청을 붙잡지 않고, 클러스터에서 한 노드만 알림을 만든다)
+ * - 최소 리뷰 평점 / 정렬 기준은 새 매물에 의미가 없어서 매칭에 쓰지 않는다
+ */
+@Slf4j
+@Service
+public class SavedSearchService implements ChangeSubscriber {
+
+    private static final String STATUS_ON_SALE = "판매중";
+
+    private final SavedSearchProperties properties;
+    private final SavedSearchRepository savedSearchRepository;
+    private final CategoryRepository categoryRepository;
+    private final SellerProfileRepository sellerProfileRepository;
+    private final PerplexityService perplexityService;
+    private final CatalogPartitionService catalogPartitionService;
+    private final RegionService regionService;
+    private final NotificationService notificationService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final LongAdder matchNanos = new LongAdder();
+
+    private volatile Index index = new Index();
+    private List<SavedSearchRow> addedDuringReload;  // 재적재 중 저장된 검색 (lock 으로 보호, 재적재 중이 아니면 null)
+    private Set<Long> removedDuringReload;          // 재적재 중 삭제된 검색
+
+    /**
+     * 매칭할 매물 변경 (created: 새 등록, 아니면 수정 / previousPrice: 수정 전 가격)
+     */
+    public record ListingChange(Long productId, Long sellerId, Long universityId, Long categoryId, Long regionCode,
+                                String title, String status, BigDecimal price, BigDecimal previousPrice, boolean created,
+                                long eventId) {
+    }
+
+    // 역색인 버킷 키 (null 은 조건 없음)
+    private record BucketKey(Long universityId, Long categoryId, Long regionCode) {
+    }
+
+    // 역색인 한 벌 (lock 으로 보호)
+    private static class Index {
+        private final Map<BucketKey, PriceIntervalTree<SavedSearchRow>> buckets = new HashMap<>();
+        private final Map<Long, SavedSearchRow> rows = new HashMap<>();
+
+        private void add(SavedSearchRow row) {
+            remove(row.id());
+            BucketKey key = new BucketKey(row.universityId(), row.categoryId(), row.regionCode());
+            buckets.computeIfAbsent(key, k -> new PriceIntervalTree<>())
+                    .add(row.id(), lowerBound(row.minPrice()), upperBound(row.maxPrice()), row);
+            rows.put(row.id(), row);
+        }
+
+        private void remove(Long id) {
+            SavedSearchRow row = rows.remove(id);
+            if (row == null) {
+                return;
+            }
+            BucketKey key = new BucketKey(row.universityId(), row.categoryId(), row.regionCode());
+            PriceIntervalTree<SavedSearchRow> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    public SavedSearchService(SavedSearchProperties properties,
+                              SavedSearchRepository savedSearchRepository,
+                              CategoryRepository categoryRepository,
+                              SellerProfileRepository sellerProfileRepository,
+                              PerplexityService perplexityService,
+                              CatalogPartitionService catalogPartitionService,
+                              RegionService regionService,
+                              NotificationService notificationService,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.savedSearchRepository = savedSearchRepository;
+        this.categoryRepository = categoryRepository;
+        this.sellerProfileRepository = sellerProfileRepository;
+        this.perplexityService = perplexityService;
+        this.catalogPartitionService = catalogPartitionService;
+        this.regionService = regionService;
+        this.notificationService = notificationService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public String subscriberName() {
+        return "saved-search";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.PRODUCT);
+    }
+
+    @Override
+    public boolean shared() {
+        return true;
+    }
+
+    /**
+     * 검색을 저장합니다. criteria 가 없으면 자연어 요청에서 조건을 추출한다.
+     * 조건이 하나도 없거나, 없는 카테고리이거나, 사용자당 저장 수를 넘으면 IllegalArgumentException.
+     */
+    @Transactional
+    public SavedSearchResponse create(SavedSearchRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId 가 필요합니다");
+        }
+        RecommendationCriteria criteria = request.getCriteria();
+        if (criteria == null) {
+            if (request.getUserRequest() == null || request.getUserRequest().isBlank()) {
+                throw new IllegalArgumentException("userRequest 또는 criteria 가 필요합니다");
+            }
+            criteria = perplexityService.analyzeCriteria(request.getUserRequest());
+        }
+        if (criteria.getProductName() == null && criteria.getCategory() == null && criteria.getMinPrice() == null
+                && criteria.getMaxPrice() == null && criteria.getRegionCode() == null) {
+            throw new IllegalArgumentException("상품명, 카테고리, 가격, 위치 중 하나 이상의 조건이 필요합니다");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("최소 가격이 최대 가격보다 큽니다");
+        }
+        if (savedSearchRepository.countByUserId(request.getUserId()) >= properties.getMaxPerUser()) {
+            throw new IllegalArgumentException("저장된 검색은 최대 " + properties.getMaxPerUser() + "개까지 가능합니다");
+        }
+        Category category = null;
+        if (criteria.getCategory() != null) {
+            String categoryName = criteria.getCategory();
+            category = categoryRepository.findByCategoryName(categoryName)
+                    .orElseThrow(() -> new IllegalArgumentException("없는 카테고리입니다: " + categoryName));
+        }
+
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setUserId(request.getUserId());
+        savedSearch.setUserRequest(request.getUserRequest());
+        savedSearch.setUniversityId(criteria.getUniversityId() != null
+                ? criteria.getUniversityId()
+                : catalogPartitionService.universityOf(request.getUserId()));
+        savedSearch.setProductName(criteria.getProductName());
+        savedSearch.setCategory(category);
+        savedSearch.setMinPrice(criteria.getMinPrice());
+        savedSearch.setMaxPrice(criteria.getMaxPrice());
+        savedSearch.setLocation(criteria.getLocation());
+        savedSearch.setRegionCode(criteria.getRegionCode());
+        savedSearch.setMinMannerScore(criteria.getMinMannerScore());
+        savedSearch.setCreateAt(LocalDateTime.now());
+        savedSearchRepository.save(savedSearch);
+
+        SavedSearchRow row = toRow(savedSearch);
+        afterCommit(() -> addToIndex(row));
+        count("created");
+        return toResponse(savedSearch);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponse> list(Long userId) {
+        return savedSearchRepository.findByUserId(userId).stream()
+                .map(SavedSearchService::toResponse)
+                .toList();
+    }
+
+    /**
+     * 사용자의 저장된 검색을 삭제합니다. 없거나 다른 사용자의 검색이면 false.
+     */
+    @Transactional
+    public boolean delete(Long userId, Long savedSearchId) {
+        Optional<SavedSearch> savedSearch = savedSearchRepository.findById(savedSearchId);
+        if (savedSearch.isEmpty() || !savedSearch.get().getUserId().equals(userId)) {
+            return false;
+        }
+        savedSearchRepository.delete(savedSearch.get());
+        afterCommit(() -> removeFromIndex(savedSearchId));
+        count("deleted");
+        return true;
+    }
+
+    /**
+     * 커밋된 매물 등록/가격 변경을 매칭해 알림을 저장합니다. (예외는 relay 가 같은 이벤트부터 재시도)
+     * 알림은 (사용자, 상품, outbox 이벤트) 로 유일하므로 묶음이 재전달되어도 같은 알림이 두 번 생기지 않는다.
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (ChangeEvent event : events) {
+            ListingChange change = toListingChange(event);
+            if (change == null) {
+                continue;
+            }
+            List<NotificationService.Delivery> deliveries = match(change);
+            if (!deliveries.isEmpty()) {
+                notificationService.deliver(deliveries);
+            }
+        }
+    }
+
+    /**
+     * 매물 변경에 맞는 저장된 검색의 알림 목록 (사용자당 하나, 판매자 본인 제외)
+     */
+    List<NotificationService.Delivery> match(ListingChange change) {
+        long start = System.nanoTime();
+        long point = change.price() != null ? change.price().longValue() : Long.MIN_VALUE;  // 가격 없는 매물은 가격 조건 없는 검색만
+        String title = change.title() != null ? change.title().toLowerCase(Locale.ROOT) : "";
+        List<Long> regionKeys = regionKeys(change.regionCode());
+        List<SavedSearchRow> candidates = new ArrayList<>();
+        int scanned;
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            int[] stabbed = new int[1];
+            for (Long universityId : keys(change.universityId())) {
+                for (Long categoryId : keys(change.categoryId())) {
+                    for (Long regionCode : regionKeys) {
+                        PriceIntervalTree<SavedSearchRow> bucket = current.buckets.get(new BucketKey(universityId, categoryId, regionCode));
+                        if (bucket == null) {
+                            continue;
+                        }
+                        bucket.stab(point, row -> {
+                            stabbed[0]++;
+                            if (candidates.size() < properties.getMaxMatchesPerListing() && accepts(row, change, title)) {
+                                candidates.add(row);
+                            }
+                        });
+                    }
+                }
+            }
+            scanned = stabbed[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Double mannerScore = null;
+        List<NotificationService.Delivery> deliveries = new ArrayList<>();
+        Set<Long> notifiedUsers = new HashSet<>();
+        for (SavedSearchRow row : candidates) {
+            if (row.minMannerScore() != null && row.minMannerScore() > 0) {
+                if (mannerScore == null) {
+                    mannerScore = sellerMannerScore(change.sellerId());
+                }
+                if (mannerScore < row.minMannerScore()) {
+                    continue;
+                }
+            }
+            if (notifiedUsers.add(row.userId())) {
+                deliveries.add(new NotificationService.Delivery(row.userId(), row.id(), change.productId(),
+                        change.created() ? NotificationService.TYPE_NEW_LISTING : NotificationService.TYPE_PRICE_CHANGE,
+                        message(change), change.eventId()));
+            }
+        }
+        matchNanos.add(System.nanoTime() - start);
+        count("listings");
+        add("stabbed", scanned);
+        add("matched", deliveries.size());
+        if (candidates.size() >= properties.getMaxMatchesPerListing()) {
+            count("truncated");
+        }
+        return deliveries;
+    }
+
+    /**
+     * 기동 시 저장된 검색으로 역색인을 채웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${app.saved-search.reload-interval-ms:300000}",
+               fixedDelayString = "${app.saved-search.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * DB 에서 역색인을 새로 만들어 교체합니다. (매칭은 교체 전까지 기존 역색인 사용)
+     * 재적재 중 이 노드에서 저장/삭제된 검색은 교체 직전에 다시 반영한다.
+     */
+    public synchronized int reload() {
+        lock.writeLock().lock();
+        try {
+            addedDuringReload = new ArrayList<>();
+            removedDuringReload = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index next = new Index();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<SavedSearchRow> rows = savedSearchRepository.streamRows()) {
+                    rows.forEach(next::add);
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                addedDuringReload = null;
+                removedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            addedDuringReload.forEach(next::add);
+            removedDuringReload.forEach(next::remove);
+            addedDuringReload = null;
+            removedDuringReload = null;
+            index = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} saved searches into {} buckets", next.rows.size(), next.buckets.size());
+        return next.rows.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            result.put("savedSearches", index.rows.size());
+            result.put("buckets", index.buckets.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        long listings = counter("listings");
+        result.put("averageMatchMicros", listings > 0 ? matchNanos.sum() / listings / 1000.0 : 0.0);
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        result.put("notifications", notificationService.stats());
+        return result;
+    }
+
+    // 판매중 상품의 등록, 또는 가격이 바뀐 수정만 매칭 대상 (삭제/상태 변경/가격을 지운 수정은 null)
+    private static ListingChange toListingChange(ChangeEvent event) {
+        if (event.deleted() || !STATUS_ON_SALE.equals(event.text("status"))) {
+            return null;
+        }
+        BigDecimal price = event.decimal("price");
+        BigDecimal previousPrice = event.decimal("previousPrice");
+        if (!event.created() && (previousPrice == null || price == null || price.compareTo(previousPrice) == 0)) {
+            return null;
+        }
+        return new ListingChange(event.aggregateId(), event.longValue("sellerId"), event.longValue("universityId"),
+                event.longValue("categoryId"), event.longValue("regionCode"), event.text("title"), event.text("status"),
+                price, previousPrice, event.created(), event.eventId());
+    }
+
+    // 버킷 밖 조건 확인 (가격 / 상품명 키워드 / 판매자 본인)
+    private static boolean accepts(SavedSearchRow row, ListingChange change, String title) {
+        if (row.userId().equals(change.sellerId())) {
+            return false;
+        }
+        if (!covers(row, change.price())) {
+            return false;
+        }
+        if (row.productName() != null && !title.contains(row.productName().toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        // 가격 변경: 내려갔거나 이전 가격은 조건 밖이었던 경우만
+        return change.created() || change.price().compareTo(change.previousPrice()) < 0 || !covers(row, change.previousPrice());
+    }
+
+    private static boolean covers(SavedSearchRow row, BigDecimal price) {
+        if (price == null) {
+            return row.minPrice() == null && row.maxPrice() == null;
+        }
+        return (row.minPrice() == null || price.compareTo(row.minPrice()) >= 0)
+                && (row.maxPrice() == null || price.compareTo(row.maxPrice()) <= 0);
+    }
+
+    // 매물 지역과 상위 지역 코드 (동 -> 구 -> 시/도) + 조건 없음
+    private List<Long> regionKeys(Long regionCode) {
+        List<Long> keys = new ArrayList<>(4);
+        RegionService.Region region = regionService.find(regionCode);
+        while (region != null) {
+            keys.add(region.code());
+            region = regionService.parent(region);
+        }
+        keys.add(null);
+        return keys;
+    }
+
+    private static List<Long> keys(Long value) {
+        List<Long> keys = new ArrayList<>(2);
+        if (value != null) {
+            keys.add(value);
+        }
+        keys.add(null);
+        return keys;
+    }
+
+    private double sellerMannerScore(Long sellerId) {
+        if (sellerId == null) {
+            return 0.0;
+        }
+        return sellerProfileRepository.findById(sellerId)
+                .map(profile -> profile.getMannerScore() != null ? profile.getMannerScore() : 0.0)
+                .orElse(0.0);
+    }
+
+    private static String message(ListingChange change) {
+        String title = change.title() != null ? change.title() : "";
+        if (change.created()) {
+            return "저장한 검색에 맞는 새 매물: " + title + amount(change.price());
+        }
+        return "저장한 검색의 매물 가격 변경: " + title + " " + change.previousPrice().toPlainString() + "원 -> "
+                + change.price().toPlainString() + "원";
+    }
+
+    private static String amount(BigDecimal price) {
+        return price != null ? " (" + price.toPlainString() + "원)" : "";
+    }
+
+    private static long lowerBound(BigDecimal minPrice) {
+        return minPrice != null ? minPrice.longValue() : Long.MIN_VALUE;
+    }
+
+    private static long upperBound(BigDecimal maxPrice) {
+        return maxPrice != null ? maxPrice.longValue() : Long.MAX_VALUE;
+    }
+
+    private void addToIndex(SavedSearchRow row) {
+        lock.writeLock().lock();
+        try {
+            index.add(row);
+            if (addedDuringReload != null) {
+                addedDuringReload.add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromIndex(Long savedSearchId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(savedSearchId);
+            if (removedDuringReload != null) {
+                removedDuringReload.add(savedSearchId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static SavedSearchRow toRow(SavedSearch savedSearch) {
+        return new SavedSearchRow(savedSearch.getId(), savedSearch.getUserId(), savedSearch.getUniversityId(),
+                savedSearch.getProductName(), savedSearch.getCategory() != null ? savedSearch.getCategory().getId() : null,
+                savedSearch.getMinPrice(), savedSearch.getMaxPrice(), savedSearch.getRegionCode(), savedSearch.getMinMannerScore());
+    }
+
+    private static SavedSearchResponse toResponse(SavedSearch savedSearch) {
+        RecommendationCriteria criteria = new RecommendationCriteria();
+        criteria.setUniversityId(savedSearch.getUniversityId());
+        criteria.setProductName(savedSearch.getProductName());
+        criteria.setCategory(savedSearch.getCategory() != null ? savedSearch.getCategory().getCategoryName() : null);
+        criteria.setMinPrice(savedSearch.getMinPrice());
+        criteria.setMaxPrice(savedSearch.getMaxPrice());
+        criteria.setLocation(savedSearch.getLocation());
+        criteria.setRegionCode(savedSearch.getRegionCode());
+        criteria.setMinMannerScore(savedSearch.getMinMannerScore());
+        return new SavedSearchResponse(savedSearch.getId(), savedSearch.getUserRequest(), criteria, savedSearch.getCreateAt());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private long counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    private void count(String name) {
+        add(name, 1);
+    }
+
+    private void add(String name, long amount) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+}
@@ -0,0 +1,135 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매자별 SimHash LSH 인덱스
+ * - 64비트 서명을 (maxDistance + 1) 개 밴드로 나눠 (판매자, 밴드값) 버킷에 등록
+ * - 해밍 거리 maxDistance 이하인 두 서명은 적어도 한 밴드가 완전히 같으므로 (비둘기집 원리) 후보에서 빠지지 않는다
+ * - 같은 판매자의 재등록만 중복으로 보므로 판매자 ID 를 버킷 키에 포함
+ */
+public class SimHashLshIndex {
+
+    private static final int MAX_BANDS = 16;  // 밴드 최소 4비트
+    private static final long[] EMPTY = new long[0];
+
+    private final int maxDistance;
+    private final int bandCount;
+    private final int bandBits;
+    private final long bandMask;
+    private final List<Map<Long, long[]>> bands;                // 밴드 -> 버킷 키 -> 상품 ID 목록
+    private final Map<Long, long[]> members = new HashMap<>();  // 상품 ID -> {판매자 ID, 서명}
+
+    public SimHashLshIndex(int maxDistance) {
+        if (maxDistance < 0 || maxDistance >= MAX_BANDS) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + (MAX_BANDS - 1));
+        }
+        this.maxDistance = maxDistance;
+        this.bandCount = maxDistance + 1;
+        this.bandBits = 64 / bandCount;
+        this.bandMask = bandBits == 64 ? -1L : (1L << bandBits) - 1;
+        this.bands = new ArrayList<>(bandCount);
+        for (int band = 0; band < bandCount; band++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 상품 서명을 등록합니다. (이미 있으면 교체)
+     */
+    public synchronized void add(long productId, long sellerId, long simhash) {
+        long[] current = members.get(productId);
+        if (current != null) {
+            if (current[0] == sellerId && current[1] == simhash) {
+                return;
+            }
+            removeFromBuckets(productId, current[0], current[1]);
+        }
+        members.put(productId, new long[]{sellerId, simhash});
+        for (int band = 0; band < bandCount; band++) {
+            bands.get(band).merge(bucketKey(sellerId, simhash, band), new long[]{productId}, SimHashLshIndex::append);
+        }
+    }
+
+    public synchronized void remove(long productId) {
+        long[] current = members.remove(productId);
+        if (current != null) {
+            removeFromBuckets(productId, current[0], current[1]);
+        }
+    }
+
+    /**
+     * 같은 판매자의 해밍 거리 maxDistance 이하 상품 ID (자기 자신 제외)
+     */
+    public synchronized List<Long> nearDuplicates(long sellerId, long simhash, long excludeId) {
+        List<Long> result = new ArrayList<>();
+        for (int band = 0; band < bandCount; band++) {
+            long[] bucket = bands.get(band).getOrDefault(bucketKey(sellerId, simhash, band), EMPTY);
+            for (long candidate : bucket) {
+                if (candidate == excludeId || result.contains(candidate)) {
+                    continue;
+                }
+                long[] member = members.get(candidate);
+                if (member[0] == sellerId && ListingSimHash.distance(member[1], simhash) <= maxDistance) {
+                    result.add(candidate);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 등록된 상품의 근접 중복 상품 ID (등록되지 않은 상품이면 빈 목록)
+     */
+    public synchronized List<Long> nearDuplicatesOf(long productId) {
+        long[] member = members.get(productId);
+        return member == null ? new ArrayList<>() : nearDuplicates(member[0], member[1], productId);
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    private void removeFromBuckets(long productId, long sellerId, long simhash) {
+        for (int band = 0; band < bandCount; band++) {
+            bands.get(band).computeIfPresent(bucketKey(sellerId, simhash, band), (key, bucket) -> without(bucket, productId));
+        }
+    }
+
+    // 판매자 ID 와 밴드값을 하나의 키로 (밴드가 넓으면 섞어 해시, 충돌은 조회 시 판매자 비교로 걸러짐)
+    private long bucketKey(long sellerId, long simhash, int band) {
+        long value = (simhash >>> (band * bandBits)) & bandMask;
+        return bandBits > 32 ? sellerId * 0x9e3779b97f4a7c15L ^ value : (sellerId << bandBits) | value;
+    }
+
+    private static long[] append(long[] bucket, long[] added) {
+        long[] merged = Arrays.copyOf(bucket, bucket.length + 1);
+        merged[bucket.length] = added[0];
+        return merged;
+    }
+
+    // 비면 null 을 돌려줘서 버킷을 맵에서 제거
+    private static long[] without(long[] bucket, long productId) {
+        int index = -1;
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i] == productId) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return bucket;
+        }
+        if (bucket.length == 1) {
+            return null;
+        }
+        long[] shrunk = new long[bucket.length - 1];
+        System.arraycopy(bucket, 0, shrunk, 0, index);
+        System.arraycopy(bucket, index + 1, shrunk, index, bucket.length - index - 1);
+        return shrunk;
+    }
+}
@@ -0,0 +1,121 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.StubLlmProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Perplexity chat/completions 스텁 (stub-llm 프로필, 부하 테스트용)
+ * - 실제 API 대신 정해진 분포의 지연 후 프롬프트의 후보 상품으로 응답을 만든다
+ *   구조화 출력 요청이면 {"recommendations": [...]} JSON, 아니면 후보 상품명을 언급하는 문장
+ * - 응답이 후보를 포함하므로 모델 라우터의 재요청 판정/응답 파서까지 실제 경로 그대로 동작
+ */
+@Service
+@Profile("stub-llm")
+public class StubLlmService {
+
+    private static final double Z_99 = 2.3263;
+    private static final Pattern PRODUCT_ID = Pattern.compile("\\[상품(\\d+)]");
+    private static final Pattern PRODUCT_TITLE = Pattern.compile("- 상품명: (.+)");
+
+    private final StubLlmProperties properties;
+
+    public StubLlmService(StubLlmProperties properties) {
+        this.properties = properties;
+    }
+
+    public enum Outcome { OK, ERROR, RATE_LIMITED }
+
+    public Outcome nextOutcome() {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        if (draw < properties.getErrorRate()) {
+            return Outcome.ERROR;
+        }
+        if (draw < properties.getErrorRate() + properties.getRateLimitRate()) {
+            return Outcome.RATE_LIMITED;
+        }
+        return Outcome.OK;
+    }
+
+    // 로그정규분포 지연: median * exp(σZ), σ = ln(p99 / median) / z(0.99)
+    public Duration nextLatency() {
+        double median = Math.max(1, properties.getMedianLatencyMs());
+        double sigma = Math.log(Math.max(median, properties.getP99LatencyMs()) / median) / Z_99;
+        double latency = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofMillis((long) Math.min(latency, properties.getMaxLatencyMs()));
+    }
+
+    public Map<String, Object> complete(Map<String, Object> request) {
+        String prompt = lastUserMessage(request);
+        String content = request.get("response_format") != null ? structuredContent(prompt) : textContent(prompt);
+        int promptTokens = prompt.length() / 2;  // 한글 위주 프롬프트의 대략적인 토큰 수
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", properties.getCompletionTokens());
+        usage.put("total_tokens", promptTokens + properties.getCompletionTokens());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", UUID.randomUUID().toString());
+        response.put("model", request.getOrDefault("model", "stub"));
+        response.put("choices", List.of(choice));
+        response.put("usage", usage);
+        return response;
+    }
+
+    private String structuredContent(String prompt) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Matcher matcher = PRODUCT_ID.matcher(prompt);
+        while (matcher.find() && ids.size() < properties.getRecommendations()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        String items = ids.stream()
+                .map(id -> "{\"productId\": " + id + ", \"reason\": \"요청 조건에 맞는 상품입니다\"}")
+                .collect(Collectors.joining(", "));
+        return "{\"recommendations\": [" + items + "]}";
+    }
+
+    private String textContent(String prompt) {
+        List<String> titles = new ArrayList<>();
+        Matcher matcher = PRODUCT_TITLE.matcher(prompt);
+        while (matcher.find() && titles.size() < properties.getRecommendations()) {
+            titles.add(matcher.group(1).trim());
+        }
+        if (titles.isEmpty()) {
+            return "조건에 맞는 상품을 찾지 못했습니다. 조건을 조금 넓혀 보세요.";
+        }
+        return "추천 상품: " + String.join(", ", titles) + ". 판매자 매너점수와 가격을 고려했습니다.";
+    }
+
+    private String lastUserMessage(Map<String, Object> request) {
+        String prompt = "";
+        if (request.get("messages") instanceof List<?> messages) {
+            for (Object item : messages) {
+                if (item instanceof Map<?, ?> message && message.get("content") instanceof String content) {
+                    prompt = content;
+                }
+            }
+        }
+        return prompt;
+    }
+}
@@ -0,0 +1,216 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 가중치 상위 K 를 노드마다 미리 계산해 둔 radix trie (압축 접두어 트리)
+ * - 간선은 문자열 라벨, 분기가 없는 구간은 노드 하나로 합쳐진다
+ * - 각 노드는 자기 하위의 제안 중 가중치 상위 K 개를 배열로 들고 있어서
+ *   조회는 접두어 길이만큼 내려간 뒤 배열을 돌려주면 끝 (후보 수와 무관)
+ * - 추가/가중치 변경은 해당 키 경로의 노드만 다시 계산 (경로 길이 x 자식 수 x K)
+ * - 동기화하지 않으므로 호출 측에서 읽기/쓰기 잠금
+ */
+public class SuggestionTrie {
+
+    /**
+     * 자동완성 제안 (text 가 같으면 같은 제안)
+     */
+    public record Suggestion(String text, String type, double weight) {
+    }
+
+    private static final Suggestion[] EMPTY = new Suggestion[0];
+    private static final Comparator<Suggestion> ORDER = Comparator.comparingDouble(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text);
+
+    private final int topK;
+    private final Node root = new Node("");
+    private int size;
+
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Map<String, Suggestion> terminals;  // 이 키로 끝나는 제안 (text -> 제안)
+        private Suggestion[] top = EMPTY;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 키에 제안을 추가하거나 가중치를 바꿉니다. (같은 text 는 교체)
+     */
+    public void put(String key, Suggestion suggestion) {
+        Deque<Node> path = insert(key, suggestion);
+        while (!path.isEmpty()) {
+            recompute(path.pop());
+        }
+    }
+
+    /**
+     * 상위 K 계산 없이 추가합니다. 다 넣은 뒤 recomputeAll() 을 한 번 호출해야 조회에 반영된다. (전체 재구성용)
+     */
+    public void add(String key, Suggestion suggestion) {
+        insert(key, suggestion);
+    }
+
+    /**
+     * 모든 노드의 상위 K 를 아래에서부터 다시 계산합니다.
+     */
+    public void recomputeAll() {
+        recomputeSubtree(root);
+    }
+
+    // 키 경로를 만들고 제안을 넣은 뒤 경로(깊은 노드가 위)를 돌려준다
+    private Deque<Node> insert(String key, Suggestion suggestion) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.push(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // 간선 중간에서 갈라지므로 공통 부분을 새 노드로 분리
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(key.charAt(i), middle);
+                child = middle;
+            }
+            i += common;
+            node = child;
+            path.push(node);
+        }
+        if (node.terminals == null) {
+            node.terminals = new HashMap<>(2);
+        }
+        if (node.terminals.put(suggestion.text(), suggestion) == null) {
+            size++;
+        }
+        return path;
+    }
+
+    /**
+     * 키에서 제안을 제거합니다. (노드 구조는 다음 재구성 때 정리)
+     */
+    public void remove(String key, String text) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            i += child.label.length();
+            node = child;
+            path.push(node);
+        }
+        if (node.terminals == null || node.terminals.remove(text) == null) {
+            return;
+        }
+        size--;
+        while (!path.isEmpty()) {
+            recompute(path.pop());
+        }
+    }
+
+    /**
+     * 접두어로 시작하는 키의 제안 중 가중치 상위 limit 개 (limit 은 K 이하)
+     */
+    public List<Suggestion> find(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int remaining = prefix.length() - i;
+            if (child.label.length() > remaining) {
+                // 접두어가 간선 중간에서 끝남
+                return child.label.startsWith(prefix.substring(i)) ? head(child.top, limit) : List.of();
+            }
+            if (!prefix.startsWith(child.label, i)) {
+                return List.of();
+            }
+            i += child.label.length();
+            node = child;
+        }
+        return head(node.top, limit);
+    }
+
+    private void recomputeSubtree(Node node) {
+        for (Node child : node.children.values()) {
+            recomputeSubtree(child);
+        }
+        recompute(node);
+    }
+
+    // 자기 제안 + 자식들의 상위 K 를 합쳐 상위 K 계산 (같은 text 는 한 번만)
+    private void recompute(Node node) {
+        List<Suggestion> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals.values());
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        if (candidates.isEmpty()) {
+            node.top = EMPTY;
+            return;
+        }
+        candidates.sort(ORDER);
+        List<Suggestion> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        Set<String> seen = new HashSet<>();
+        for (Suggestion candidate : candidates) {
+            if (seen.add(candidate.text())) {
+                top.add(candidate);
+                if (top.size() == topK) {
+                    break;
+                }
+            }
+        }
+        node.top = top.toArray(EMPTY);
+    }
+
+    private static List<Suggestion> head(Suggestion[] top, int limit) {
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
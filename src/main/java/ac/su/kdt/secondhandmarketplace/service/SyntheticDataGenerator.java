@@ -0,0 +1,517 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.DataGeneratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 대용량 합성 데이터 생성기 (datagen 프로필)
+ * - erd.sql 스키마를 따라 대학교 -> 사용자 -> 카테고리 -> 상품 -> 거래/리뷰/채팅/활동 로그 순서로 채운다
+ * - 상품 묶음마다 하위 행을 함께 만들어 외래키 순서대로 배치 INSERT (rewriteBatchedStatements 로 다중 행 INSERT)
+ *   메모리에는 사용자 소속 정보와 현재 묶음만 둔다
+ * - 값은 서로 맞물리게 만든다: 상품 대학교 = 판매자 대학교, 구매자 != 판매자, 거래/리뷰/메시지 시간은 등록 이후,
+ *   판매완료 상품만 거래가 있고 거래마다 채팅방이 있음, 지역 코드와 위치 문자열이 같은 지역, SimHash 는 제목/설명으로 계산
+ * - 생성 후 가격 스케치와 매너 점수를 전체 재계산 (다른 기동 작업보다 먼저 실행되므로 인덱스/순위표는 생성된 데이터로 채워짐)
+ */
+@Slf4j
+@Service
+@Profile("datagen")
+public class SyntheticDataGenerator {
+
+    private static final String PASSWORD = "$2a$10$example";
+    private static final String STATUS_ON_SALE = "판매중";
+    private static final String STATUS_RESERVED = "예약중";
+    private static final String STATUS_SOLD = "판매완료";
+
+    private static final String INSERT_UNIVERSITY = "INSERT INTO university (university_id, name, email_domain) VALUES (?, ?, ?)";
+    private static final String INSERT_USER = """
+            INSERT INTO user (user_id, university_id, username, password, email, nickname, is_email_verified, manner_score, create_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_CATEGORY = "INSERT INTO category (category_id, parent_category_id, category_name, create_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO product (product_id, category_id2, user_id, university_id, title, description, price, status,
+                                 view_count, chat_count, location_info, region_code, simhash, create_at, update_at, sold_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_TRANSACTION = "INSERT INTO transaction (transaction_id, product_id, user_id, final_price, transaction_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_REVIEW = "INSERT INTO review (review_id, transaction_id, user_id, rating, content, create_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String LINK_REVIEWS = """
+            UPDATE transaction t JOIN review r ON r.transaction_id = t.transaction_id
+            SET t.review_id2 = r.review_id
+            WHERE t.transaction_id BETWEEN ? AND ?
+            """;
+    private static final String INSERT_CHATROOM = """
+            INSERT INTO chatroom (chatroom_id, product_id, user_id, user2_id, create_at, buyer_unread_count, seller_unread_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_MESSAGE = "INSERT INTO chatmessage (chatmessage_id, chatroom_id, user_id, message_type, message_content, sent_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACTIVITY = """
+            INSERT INTO useractivitylog (log_id, user_id, session_id, activity_type, target_id, activity_detail, create_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final List<String> UNIVERSITY_NAMES = List.of(
+            "서울대학교", "고려대학교", "연세대학교", "성균관대학교", "한양대학교", "중앙대학교", "경희대학교", "한국외국어대학교",
+            "서강대학교", "이화여자대학교", "건국대학교", "동국대학교", "홍익대학교", "숙명여자대학교", "국민대학교", "숭실대학교",
+            "부산대학교", "경북대학교", "전남대학교", "충남대학교");
+
+    // 상위 카테고리, 카테고리, 기준 가격, 상품명 (추천 조건 추출기가 아는 상품명을 포함)
+    private record CategorySpec(String parent, String name, long basePrice, List<String> titles) {
+    }
+
+    private static final List<CategorySpec> CATALOG = List.of(
+            new CategorySpec("전자기기", "스마트폰", 600_000, List.of("아이폰 13", "아이폰 14 Pro", "아이폰 SE3", "갤럭시 S23", "갤럭시 Z플립5")),
+            new CategorySpec("전자기기", "노트북", 1_000_000, List.of("맥북 에어 M1", "맥북 프로 14", "LG 그램 노트북", "레노버 씽크패드 노트북")),
+            new CategorySpec("전자기기", "이어폰/헤드폰", 150_000, List.of("AirPods Pro 2세대", "소니 WH-1000XM4 헤드폰", "갤럭시 버즈2 이어폰")),
+            new CategorySpec("전자기기", "모니터", 200_000, List.of("델 27인치 모니터", "LG 울트라기어 모니터", "삼성 오디세이 모니터")),
+            new CategorySpec("전자기기", "키보드/마우스", 80_000, List.of("로지텍 MX Keys 키보드", "로지텍 MX Master 마우스", "기계식 키보드")),
+            new CategorySpec("전자기기", "태블릿", 500_000, List.of("아이패드 에어 5 태블릿", "갤럭시 탭 S8 태블릿")),
+            new CategorySpec("전자기기", "카메라", 600_000, List.of("소니 a6400 카메라", "캐논 EOS M50 카메라", "후지필름 X-T30 카메라")),
+            new CategorySpec("전자기기", "게임기", 350_000, List.of("닌텐도 스위치 게임기", "PS5 게임기")),
+            new CategorySpec("생활", "가구", 50_000, List.of("이케아 책상 가구", "원룸 수납장 가구", "접이식 의자 가구")),
+            new CategorySpec("패션", "의류", 60_000, List.of("노스페이스 패딩 의류", "학과 과잠 의류", "코트 의류")),
+            new CategorySpec("패션", "신발", 90_000, List.of("나이키 에어포스 신발", "뉴발란스 993 신발")),
+            new CategorySpec("패션", "가방", 40_000, List.of("잔스포츠 백팩 가방", "노트북 가방")),
+            new CategorySpec("도서", "전공도서", 15_000, List.of("미적분학 전공 도서", "자료구조 교재 도서", "토익 기출 도서")));
+
+    private static final List<String> CONDITIONS = List.of(
+            "거의 새상품입니다. 사용감 없음", "1년 사용했습니다. 상태 양호", "미개봉 새상품입니다", "생활 기스 조금 있어요",
+            "박스 풀구성입니다", "배터리 효율 좋아요", "급처합니다. 네고 가능", "한 학기만 썼어요");
+    private static final List<String> MESSAGES = List.of(
+            "안녕하세요 아직 판매하시나요?", "네 판매중입니다", "혹시 네고 가능할까요?", "조금은 가능해요",
+            "직거래 어디서 가능하세요?", "학교 정문에서 가능합니다", "내일 오후 괜찮으세요?", "네 그때 뵐게요", "감사합니다");
+    private static final List<String> REVIEWS_BY_RATING = List.of(
+            "연락이 잘 안됐어요", "설명과 달랐어요", "무난한 거래였습니다", "좋은 거래였습니다", "매우 만족스러운 거래였습니다");
+    private static final double[] RATING_WEIGHTS = {0.03, 0.05, 0.12, 0.35, 0.45};  // 1~5점
+
+    private final DataGeneratorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final RegionService regionService;
+    private final PriceIntelligenceService priceIntelligenceService;
+    private final ReputationService reputationService;
+    private final ApplicationContext applicationContext;
+
+    public SyntheticDataGenerator(DataGeneratorProperties properties,
+                                  JdbcTemplate jdbcTemplate,
+                                  RegionService regionService,
+                                  PriceIntelligenceService priceIntelligenceService,
+                                  ReputationService reputationService,
+                                  ApplicationContext applicationContext) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.regionService = regionService;
+        this.priceIntelligenceService = priceIntelligenceService;
+        this.reputationService = reputationService;
+        this.applicationContext = applicationContext;
+    }
+
+    // 생성된 사용자 (ID 는 firstUserId 부터 연속)
+    private record Users(long firstId, int[] universityOf, int[][] byUniversity) {
+    }
+
+    private record LeafCategory(long id, CategorySpec spec) {
+    }
+
+    // 이번 묶음에서 쌓는 행
+    private static class Chunk {
+        final List<Object[]> products = new ArrayList<>();
+        final List<Object[]> transactions = new ArrayList<>();
+        final List<Object[]> reviews = new ArrayList<>();
+        final List<Object[]> chatRooms = new ArrayList<>();
+        final List<Object[]> messages = new ArrayList<>();
+        final List<Object[]> activities = new ArrayList<>();
+        long firstTransactionId;
+        long lastTransactionId;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Long.class);
+        if (existing != null && existing >= properties.getProducts()) {
+            log.info("Skipping data generation: {} products already exist", existing);
+            exitIfRequested();
+            return;
+        }
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        List<LeafCategory> categories = ensureCategories(now);
+        long[] universityIds = insertUniversities(counts);
+        Users users = insertUsers(universityIds, random, now, counts);
+        generateProducts(users, universityIds, categories, random, now, counts);
+
+        counts.put("priceSketches", (long) priceIntelligenceService.rebuildAll());
+        counts.put("sellerReputations", (long) reputationService.rebuildAll());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long rows = counts.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Generated {} rows in {} ms ({} rows/s): {}", rows, elapsedMs, elapsedMs > 0 ? rows * 1000 / elapsedMs : rows, counts);
+        log.info("Generated user ids {}..{} (load test USER_ID_MIN/USER_ID_MAX)", users.firstId(), users.firstId() + users.universityOf().length - 1);
+        exitIfRequested();
+    }
+
+    // 카탈로그 카테고리 중 없는 것만 추가 (이름이 같은 기존 카테고리는 재사용)
+    private List<LeafCategory> ensureCategories(LocalDateTime now) {
+        Map<String, Long> byName = new HashMap<>();
+        jdbcTemplate.query("SELECT category_id, category_name FROM category",
+                rs -> { byName.put(rs.getString(2), rs.getLong(1)); });
+        long nextId = nextId("category", "category_id");
+        List<LeafCategory> leaves = new ArrayList<>();
+        for (CategorySpec spec : CATALOG) {
+            Long parentId = byName.get(spec.parent());
+            if (parentId == null) {
+                parentId = nextId++;
+                jdbcTemplate.update(INSERT_CATEGORY, parentId, null, spec.parent(), now);
+                byName.put(spec.parent(), parentId);
+            }
+            Long id = byName.get(spec.name());
+            if (id == null) {
+                id = nextId++;
+                jdbcTemplate.update(INSERT_CATEGORY, id, parentId, spec.name(), now);
+                byName.put(spec.name(), id);
+            }
+            leaves.add(new LeafCategory(id, spec));
+        }
+        return leaves;
+    }
+
+    private long[] insertUniversities(Map<String, Long> counts) {
+        long firstId = nextId("university", "university_id");
+        long[] ids = new long[properties.getUniversities()];
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = firstId + i;
+            String name = UNIVERSITY_NAMES.get(i % UNIVERSITY_NAMES.size());
+            if (i >= UNIVERSITY_NAMES.size()) {
+                name += " 제" + (i / UNIVERSITY_NAMES.size() + 1) + "캠퍼스";
+            }
+            rows.add(new Object[]{ids[i], name, domainOf(ids[i])});
+        }
+        jdbcTemplate.batchUpdate(INSERT_UNIVERSITY, rows);
+        counts.put("universities", (long) ids.length);
+        return ids;
+    }
+
+    // 대학교 규모는 앞쪽이 큰 멱법칙 분포
+    private Users insertUsers(long[] universityIds, SplittableRandom random, LocalDateTime now, Map<String, Long> counts) {
+        long firstId = nextId("user", "user_id");
+        int userCount = properties.getUsers();
+        double[] cumulative = new double[universityIds.length];
+        double total = 0;
+        for (int i = 0; i < universityIds.length; i++) {
+            total += 1.0 / Math.sqrt(i + 1);
+            cumulative[i] = total;
+        }
+        int[] universityOf = new int[userCount];
+        int[] sizes = new int[universityIds.length];
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            int university = pickCumulative(cumulative, random.nextDouble() * total);
+            universityOf[i] = university;
+            sizes[university]++;
+            long id = firstId + i;
+            String username = "dg" + id;
+            rows.add(new Object[]{id, universityIds[university], username, PASSWORD, username + "@" + domainOf(universityIds[university]),
+                    "학생" + id, random.nextDouble() < 0.9, 3.5, randomTime(random, now, properties.getHistoryDays() + 180)});
+            if (rows.size() >= properties.getBatchSize()) {
+                jdbcTemplate.batchUpdate(INSERT_USER, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER, rows);
+        }
+        int[][] byUniversity = new int[universityIds.length][];
+        for (int u = 0; u < universityIds.length; u++) {
+            byUniversity[u] = new int[sizes[u]];
+        }
+        int[] filled = new int[universityIds.length];
+        for (int i = 0; i < userCount; i++) {
+            byUniversity[universityOf[i]][filled[universityOf[i]]++] = i;
+        }
+        counts.put("users", (long) userCount);
+        return new Users(firstId, universityOf, byUniversity);
+    }
+
+    private void generateProducts(Users users, long[] universityIds, List<LeafCategory> categories,
+                                  SplittableRandom random, LocalDateTime now, Map<String, Long> counts) {
+        List<RegionService.Region> regions = regionService.regions(RegionService.Level.EUPMYEONDONG);
+        if (regions.isEmpty()) {
+            regions = regionService.regions(RegionService.Level.SIGUNGU);
+        }
+        List<String> locations = regions.stream().map(this::locationOf).toList();
+        Map<Long, LeafCategory> categoriesById = new HashMap<>();
+        categories.forEach(category -> categoriesById.put(category.id(), category));
+        // 대학교마다 주 활동 시/도를 정해 두고 매물의 80% 는 그 안의 지역
+        Map<Integer, List<Integer>> regionsNearUniversity = new HashMap<>();
+        for (int u = 0; u < universityIds.length && !regions.isEmpty(); u++) {
+            long sido = regions.get(random.nextInt(regions.size())).sidoCode();
+            List<Integer> near = new ArrayList<>();
+            for (int r = 0; r < regions.size(); r++) {
+                if (regions.get(r).sidoCode() == sido) {
+                    near.add(r);
+                }
+            }
+            regionsNearUniversity.put(u, near);
+        }
+
+        long productId = nextId("product", "product_id");
+        long transactionId = nextId("transaction", "transaction_id");
+        long reviewId = nextId("review", "review_id");
+        long chatRoomId = nextId("chatroom", "chatroom_id");
+        long messageId = nextId("chatmessage", "chatmessage_id");
+        long activityId = nextId("useractivitylog", "log_id");
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Long.class);
+        int target = (int) Math.max(0, properties.getProducts() - (existing != null ? existing : 0));
+        int userCount = users.universityOf().length;
+
+        Chunk chunk = new Chunk();
+        Object[] previous = null;  // 직전 상품 행 (재등록 매물 생성용)
+        for (int i = 0; i < target; i++) {
+            long id = productId++;
+            boolean repost = previous != null && random.nextDouble() < properties.getRepostRatio();
+            int seller;
+            LeafCategory category;
+            String title;
+            String description;
+            long price;
+            LocalDateTime createAt;
+            if (repost) {
+                seller = (int) ((Long) previous[2] - users.firstId());
+                category = categoriesById.get((Long) previous[1]);
+                title = (String) previous[4];
+                description = (String) previous[5];
+                price = ((BigDecimal) previous[6]).longValue();
+                createAt = min(((LocalDateTime) previous[13]).plusDays(1 + random.nextInt(7)), now);
+            } else {
+                // 판매자는 소수에게 몰리도록 (상위 사용자일수록 매물이 많음)
+                double u = random.nextDouble();
+                seller = (int) Math.min(userCount - 1, (long) (userCount * u * u));
+                category = categories.get(random.nextInt(categories.size()));
+                title = pick(random, category.spec().titles()) + (random.nextDouble() < 0.3 ? " 판매합니다" : "");
+                int university = users.universityOf()[seller];
+                description = pick(random, CONDITIONS) + ". " + UNIVERSITY_NAMES.get(university % UNIVERSITY_NAMES.size()) + " 근처 직거래 가능";
+                price = roundPrice(category.spec().basePrice() * Math.exp(random.nextGaussian() * 0.35));
+                createAt = randomTime(random, now, properties.getHistoryDays());
+            }
+            int university = users.universityOf()[seller];
+            long sellerId = users.firstId() + seller;
+
+            int regionIndex = pickRegion(random, regionsNearUniversity.get(university), regions.size());
+            String location = regionIndex >= 0 ? locations.get(regionIndex) : null;
+            Long regionCode = regionIndex >= 0 ? regions.get(regionIndex).code() : null;
+
+            double statusDraw = random.nextDouble();
+            boolean sold = statusDraw < properties.getSoldRatio();
+            String status = sold ? STATUS_SOLD : statusDraw < properties.getSoldRatio() + properties.getReservedRatio() ? STATUS_RESERVED : STATUS_ON_SALE;
+            LocalDateTime soldAt = sold ? min(createAt.plusMinutes(30 + random.nextInt(30 * 24 * 60)), now) : null;
+            LocalDateTime activityEnd = sold ? soldAt : now;
+
+            int roomCount = geometric(random, properties.getChatRoomsPerProduct());
+            if (sold) {
+                roomCount = Math.max(1, roomCount);
+            }
+            int buyer = sold ? pickBuyer(random, users, university, seller) : -1;
+            Object[] product = new Object[]{id, category.id(), sellerId, universityIds[university], title, description,
+                    BigDecimal.valueOf(price), status, geometric(random, properties.getViewCountPerProduct()), roomCount,
+                    location, regionCode, ListingSimHash.of(title, description), createAt, sold ? soldAt : createAt, soldAt};
+            chunk.products.add(product);
+            previous = product;
+
+            // 채팅방 (판매완료 상품의 첫 채팅방은 구매자)
+            for (int r = 0; r < roomCount; r++) {
+                int roomBuyer = r == 0 && sold ? buyer : pickBuyer(random, users, university, seller);
+                long roomId = chatRoomId++;
+                LocalDateTime roomAt = between(random, createAt, activityEnd);
+                chunk.chatRooms.add(new Object[]{roomId, id, users.firstId() + roomBuyer, sellerId, roomAt, random.nextInt(3), random.nextInt(3)});
+                int messageCount = Math.max(1, geometric(random, properties.getMessagesPerRoom()));
+                LocalDateTime sentAt = roomAt;
+                for (int m = 0; m < messageCount; m++) {
+                    sentAt = sentAt.plusSeconds(5 + random.nextInt(3600));
+                    long sender = m % 2 == 0 ? users.firstId() + roomBuyer : sellerId;
+                    chunk.messages.add(new Object[]{messageId++, roomId, sender, "TEXT", MESSAGES.get(m % MESSAGES.size()), sentAt});
+                }
+                chunk.activities.add(activity(activityId++, users.firstId() + roomBuyer, random, TrendingService.ACTIVITY_CHAT, id, roomAt));
+            }
+
+            // 조회 로그 (같은 대학교 사용자 위주)
+            int views = geometric(random, properties.getViewLogsPerProduct());
+            for (int v = 0; v < views; v++) {
+                int viewer = pickBuyer(random, users, university, seller);
+                chunk.activities.add(activity(activityId++, users.firstId() + viewer, random, TrendingService.ACTIVITY_VIEW, id, between(random, createAt, activityEnd)));
+            }
+
+            // 거래 + 리뷰 (리뷰 대상은 판매자)
+            if (sold) {
+                long txId = transactionId++;
+                if (chunk.transactions.isEmpty()) {
+                    chunk.firstTransactionId = txId;
+                }
+                chunk.lastTransactionId = txId;
+                long finalPrice = roundPrice(price * (0.85 + random.nextDouble() * 0.15));
+                chunk.transactions.add(new Object[]{txId, id, users.firstId() + buyer, BigDecimal.valueOf(finalPrice), soldAt});
+                chunk.activities.add(activity(activityId++, users.firstId() + buyer, random, TrendingService.ACTIVITY_TRANSACTION, id, soldAt));
+                if (random.nextDouble() < properties.getReviewRatio()) {
+                    int rating = pickRating(random);
+                    chunk.reviews.add(new Object[]{reviewId++, txId, sellerId, (double) rating, REVIEWS_BY_RATING.get(rating - 1),
+                            min(soldAt.plusMinutes(10 + random.nextInt(3 * 24 * 60)), now)});
+                }
+            }
+
+            if (chunk.products.size() >= properties.getBatchSize() || i == target - 1) {
+                flush(chunk, counts);
+                chunk = new Chunk();
+                if ((i + 1) % (properties.getBatchSize() * 50) == 0) {
+                    log.info("Generated {}/{} products", i + 1, target);
+                }
+            }
+        }
+    }
+
+    // 외래키 순서대로 배치 INSERT 후 거래 -> 리뷰 역참조 연결
+    private void flush(Chunk chunk, Map<String, Long> counts) {
+        insert(INSERT_PRODUCT, chunk.products, "products", counts);
+        insert(INSERT_TRANSACTION, chunk.transactions, "transactions", counts);
+        insert(INSERT_REVIEW, chunk.reviews, "reviews", counts);
+        insert(INSERT_CHATROOM, chunk.chatRooms, "chatRooms", counts);
+        insert(INSERT_MESSAGE, chunk.messages, "chatMessages", counts);
+        insert(INSERT_ACTIVITY, chunk.activities, "activityLogs", counts);
+        if (!chunk.reviews.isEmpty()) {
+            jdbcTemplate.update(LINK_REVIEWS, chunk.firstTransactionId, chunk.lastTransactionId);
+        }
+    }
+
+    private void insert(String sql, List<Object[]> rows, String name, Map<String, Long> counts) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        counts.merge(name, (long) rows.size(), Long::sum);
+    }
+
+    private Object[] activity(long id, long userId, SplittableRandom random, String type, long productId, LocalDateTime at) {
+        String sessionId = Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+        return new Object[]{id, userId, sessionId, type, productId, null, at};
+    }
+
+    // 구매자/조회자: 90% 같은 대학교, 판매자 본인은 제외
+    private int pickBuyer(SplittableRandom random, Users users, int university, int seller) {
+        int[] sameUniversity = users.byUniversity()[university];
+        while (true) {
+            int candidate = random.nextDouble() < 0.9 && sameUniversity.length > 1
+                    ? sameUniversity[random.nextInt(sameUniversity.length)]
+                    : random.nextInt(users.universityOf().length);
+            if (candidate != seller) {
+                return candidate;
+            }
+        }
+    }
+
+    private int pickRegion(SplittableRandom random, List<Integer> near, int regionCount) {
+        if (regionCount == 0) {
+            return -1;
+        }
+        if (near != null && !near.isEmpty() && random.nextDouble() < 0.8) {
+            return near.get(random.nextInt(near.size()));
+        }
+        return random.nextInt(regionCount);
+    }
+
+    private int pickRating(SplittableRandom random) {
+        double draw = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            cumulative += RATING_WEIGHTS[i];
+            if (draw < cumulative) {
+                return i + 1;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+
+    // "서울특별시 강남구 역삼동" 형태 (RegionService.parse 로 같은 지역이 나온다)
+    private String locationOf(RegionService.Region region) {
+        Deque<String> names = new ArrayDeque<>();
+        for (RegionService.Region current = region; current != null; current = regionService.parent(current)) {
+            names.addFirst(current.name());
+        }
+        return String.join(" ", names);
+    }
+
+    private long nextId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+        return (max != null ? max : 0L) + 1;
+    }
+
+    private void exitIfRequested() {
+        if (properties.isExitAfterLoad()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private static String domainOf(long universityId) {
+        return "univ" + universityId + ".ac.kr";
+    }
+
+    private static int pickCumulative(double[] cumulative, double draw) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    // 평균이 mean 인 기하분포 (0 이상)
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1.0 / (mean + 1);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static long roundPrice(double price) {
+        return Math.max(1000, Math.round(price / 1000) * 1000);
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static LocalDateTime randomTime(SplittableRandom random, LocalDateTime now, int days) {
+        return now.minusSeconds(random.nextLong(Math.max(1, days) * 86_400L));
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long seconds = ChronoUnit.SECONDS.between(from, to);
+        return seconds > 0 ? from.plusSeconds(random.nextLong(seconds)) : from;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,449 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.TieringProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * hot / cold 데이터 계층화
+ * - 판매 완료 후 보존 기간이 지난 상품: product -> product_archive 로 배치 이동 (추천 쿼리가 읽는 테이블/인덱스를 작게 유지)
+ * - chatmessage / useractivitylog: 월 단위 RANGE 파티션 (V10)
+ *   미래 월 파티션을 미리 만들고, 보존 기간이 지난 파티션은 chatmessage 는 아카이브로 복사한 뒤, useractivitylog 는 바로 DROP PARTITION
+ *   (큰 DELETE 없이 지우므로 언두 로그 / 인덱스 단편화가 없다)
+ *   V10 은 기존 행을 모두 첫 파티션(p_history) 하나에 넣으므로, 첫 실행에서 가장 오래된 행의 월부터 월 파티션으로 나눈다
+ *   (나누지 않으면 p_history 경계가 보존 기간을 지날 때까지 과거 데이터가 전혀 옮겨지지 않는다)
+ * - 파티션이 없는 스키마(로컬 ddl-auto)에서는 시간 조건으로 행 단위 배치 이동
+ * - 클러스터에서 한 노드만 실행 (MySQL GET_LOCK), 한 번 실행의 배치 수는 제한하고 나머지는 다음 실행에서 이어서
+ * 이동은 JDBC 로 하므로 outbox 이벤트가 없다. 판매 완료 상품은 어떤 구독자의 메모리 상태에도 없어서 영향이 없다.
+ */
+@Slf4j
+@Service
+public class TieringService {
+
+    private static final String LOCK_NAME = "tiering";
+    private static final String STATUS_SOLD = "판매완료";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[0-9a-z_]+");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String PRODUCT_COLUMNS = """
+            product_id, category_id2, user_id, university_id, ai_predicted_category_id, title, description, price, status,
+            ai_price_min, ai_price_max, view_count, chat_count, location_info, region_code, simhash,
+            create_at, update_at, refreshed_at, sold_at""";
+    private static final String CHAT_MESSAGE_COLUMNS = "chatmessage_id, chatroom_id, user_id, message_type, message_content, sent_at";
+
+    private final TieringProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final List<TimeTable> timeTables;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, Long> resumeAfter = new ConcurrentHashMap<>();  // "테이블.파티션" -> 아카이브로 복사한 마지막 ID
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    // 시간 기준으로 파티션 / 보존하는 테이블 (archiveTable 이 null 이면 보존 기간이 지나면 삭제)
+    private record TimeTable(String table, String idColumn, String timeColumn, String archiveTable, String columns,
+                             int retentionDays) {
+    }
+
+    // information_schema 의 파티션 (upperBound: VALUES LESS THAN 의 epoch 초, MAXVALUE 면 null)
+    private record Partition(String name, Long upperBound, long rows) {
+    }
+
+    // 한 번 실행의 테이블별 진행 (배치 수 상한 확인용)
+    private final class Progress {
+        private long rows;
+        private int partitionsAdded;
+        private int partitionsDropped;
+        private int batches;
+
+        private boolean exhausted() {
+            return batches >= properties.getMaxBatchesPerRun();
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rows", rows);
+            result.put("partitionsAdded", partitionsAdded);
+            result.put("partitionsDropped", partitionsDropped);
+            result.put("batches", batches);
+            result.put("complete", !exhausted());
+            return result;
+        }
+    }
+
+    public TieringService(TieringProperties properties,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.timeTables = List.of(
+                new TimeTable("chatmessage", "chatmessage_id", "sent_at", "chatmessage_archive", CHAT_MESSAGE_COLUMNS,
+                        properties.getChatMessageRetentionDays()),
+                new TimeTable("useractivitylog", "log_id", "create_at", null, null,
+                        properties.getActivityLogRetentionDays()));
+    }
+
+    /**
+     * 기동 시 미래 월 파티션만 확인합니다. (이동은 주기 실행에서)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            withLock(() -> {
+                for (TimeTable table : timeTables) {
+                    List<Partition> partitions = partitions(table.table());
+                    if (!partitions.isEmpty()) {
+                        addFuturePartitions(table.table(), partitions, new Progress());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Partition check on startup failed: {}", e.toString());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.tiering.interval-ms:3600000}",
+               fixedDelayString = "${app.tiering.interval-ms:3600000}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * 판매 완료 상품 이동, 파티션 추가, 보존 기간이 지난 파티션 아카이브/삭제를 한 번 실행합니다.
+     * 다른 노드가 실행 중이면 건너뛴다 (ran=false).
+     */
+    public Map<String, Object> run() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        boolean ran = withLock(() -> {
+            Progress products = new Progress();
+            archiveSoldProducts(products);
+            result.put("product", products.toMap());
+            for (TimeTable table : timeTables) {
+                Progress progress = new Progress();
+                tier(table, progress);
+                result.put(table.table(), progress.toMap());
+            }
+        });
+        result.put("ran", ran);
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        result.put("finishedAt", LocalDateTime.now());
+        if (ran) {
+            lastRun = result;
+            count("runs");
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Long> tableRows = new TreeMap<>();
+        jdbcTemplate.query("""
+                SELECT TABLE_NAME, TABLE_ROWS FROM information_schema.TABLES
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN ('product', 'product_archive', 'chatmessage', 'chatmessage_archive', 'useractivitylog')
+                """, (ResultSet rs) -> {
+            tableRows.put(rs.getString(1), rs.getLong(2));
+        });
+        result.put("estimatedRows", tableRows);
+        Map<String, Object> partitionStats = new LinkedHashMap<>();
+        for (TimeTable table : timeTables) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Partition partition : partitions(table.table())) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", partition.name());
+                row.put("lessThan", partition.upperBound() != null
+                        ? LocalDateTime.ofInstant(Instant.ofEpochSecond(partition.upperBound()), zone) : MAXVALUE);
+                row.put("estimatedRows", partition.rows());
+                rows.add(row);
+            }
+            partitionStats.put(table.table(), rows);
+        }
+        result.put("partitions", partitionStats);
+        result.put("lastRun", lastRun);
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    // 판매 완료 후 보존 기간이 지난 상품을 판매 시각 순으로 배치마다 한 트랜잭션에서 복사 + 삭제
+    private void archiveSoldProducts(Progress progress) {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(properties.getSoldProductRetentionDays()));
+        while (!progress.exhausted()) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product WHERE status = ? AND sold_at < ? ORDER BY sold_at LIMIT ?",
+                    Long.class, STATUS_SOLD, cutoff, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            // 조회 후 판매 상태가 바뀐 상품은 옮기지 않도록 조건을 다시 건다
+            String condition = "status = ? AND sold_at < ? AND product_id IN (" + placeholders(ids.size()) + ")";
+            Object[] args = new Object[ids.size() + 2];
+            args[0] = STATUS_SOLD;
+            args[1] = cutoff;
+            for (int i = 0; i < ids.size(); i++) {
+                args[i + 2] = ids.get(i);
+            }
+            Integer moved = writeTransaction.execute(status -> {
+                jdbcTemplate.update("INSERT IGNORE INTO product_archive (" + PRODUCT_COLUMNS + ", archived_at) SELECT "
+                        + PRODUCT_COLUMNS + ", NOW() FROM product WHERE " + condition, args);
+                return jdbcTemplate.update("DELETE FROM product WHERE " + condition, args);
+            });
+            progress.rows += moved != null ? moved : 0;
+            progress.batches++;
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        add("product.archived", progress.rows);
+        if (progress.rows > 0) {
+            log.info("Archived {} sold products", progress.rows);
+        }
+    }
+
+    private void tier(TimeTable table, Progress progress) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(table.retentionDays());
+        List<Partition> partitions = partitions(table.table());
+        if (partitions.isEmpty()) {
+            moveRows(table, cutoff, progress);
+            return;
+        }
+        addFuturePartitions(table.table(), partitions, progress);
+        if (splitFirstPartition(table, partitions.get(0), progress)) {
+            partitions = partitions(table.table());
+        }
+        long cutoffEpoch = cutoff.atZone(zone).toEpochSecond();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound() > cutoffEpoch) {
+                break;  // 순서대로이므로 이후 파티션은 모두 보존 기간 안
+            }
+            if (table.archiveTable() != null && !copyPartition(table, partition.name(), progress)) {
+                break;  // 배치 수 상한, 다음 실행에서 이어서 복사
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table.table() + " DROP PARTITION " + partition.name());
+            resumeAfter.remove(table.table() + "." + partition.name());
+            progress.partitionsDropped++;
+            count(table.table() + ".partitions.dropped");
+            log.info("Dropped partition {}.{} (~{} rows, {})", table.table(), partition.name(), partition.rows(),
+                    table.archiveTable() != null ? "archived to " + table.archiveTable() : "expired");
+        }
+    }
+
+    // 가장 높은 경계부터 (지금 + partitionMonthsAhead) 월까지 p_future 를 월 파티션으로 나눈다
+    private void addFuturePartitions(String table, List<Partition> partitions, Progress progress) {
+        Partition last = partitions.get(partitions.size() - 1);
+        if (last.upperBound() != null) {
+            return;  // MAXVALUE 파티션이 없으면 관리하지 않는다
+        }
+        long highest = Long.MIN_VALUE;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null) {
+                highest = Math.max(highest, partition.upperBound());
+            }
+        }
+        if (highest == Long.MIN_VALUE) {
+            return;
+        }
+        long target = epochOf(YearMonth.now().plusMonths(properties.getPartitionMonthsAhead() + 1L));
+        List<String> definitions = new ArrayList<>();
+        YearMonth month = YearMonth.from(Instant.ofEpochSecond(highest).atZone(zone));
+        while (true) {
+            long bound = epochOf(month.plusMonths(1));
+            if (bound > target) {
+                break;
+            }
+            if (bound > highest) {
+                definitions.add("PARTITION p" + month.format(PARTITION_MONTH) + " VALUES LESS THAN (" + bound + ")");
+                highest = bound;
+            }
+            month = month.plusMonths(1);
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + last.name() + " VALUES LESS THAN (" + MAXVALUE + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + last.name() + " INTO ("
+                + String.join(", ", definitions) + ")");
+        progress.partitionsAdded += definitions.size() - 1;
+        add(table + ".partitions.added", definitions.size() - 1L);
+        log.info("Added {} monthly partitions to {}", definitions.size() - 1, table);
+    }
+
+    // 첫 파티션(하한 없음)에 여러 달의 행이 있으면 가장 오래된 행의 월부터 월 파티션으로 나눈다 (나눴으면 true)
+    // 마지막 달은 원래 이름과 경계를 유지하므로 한 번 나누면 다시 나눌 것이 없다, REORGANIZE 는 해당 파티션만 복사한다
+    private boolean splitFirstPartition(TimeTable table, Partition first, Progress progress) {
+        if (first.upperBound() == null) {
+            return false;
+        }
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(" + table.timeColumn() + ") FROM " + table.table()
+                + " PARTITION (" + first.name() + ")", Timestamp.class);
+        if (oldest == null) {
+            return false;
+        }
+        List<String> definitions = new ArrayList<>();
+        YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+        while (epochOf(month.plusMonths(1)) < first.upperBound()) {
+            definitions.add("PARTITION p" + month.format(PARTITION_MONTH) + " VALUES LESS THAN (" + epochOf(month.plusMonths(1)) + ")");
+            month = month.plusMonths(1);
+        }
+        if (definitions.isEmpty()) {
+            return false;
+        }
+        definitions.add("PARTITION " + first.name() + " VALUES LESS THAN (" + first.upperBound() + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table.table() + " REORGANIZE PARTITION " + first.name() + " INTO ("
+                + String.join(", ", definitions) + ")");
+        progress.partitionsAdded += definitions.size() - 1;
+        add(table.table() + ".partitions.added", definitions.size() - 1L);
+        log.info("Split {}.{} into {} monthly partitions from {}", table.table(), first.name(), definitions.size(),
+                YearMonth.from(oldest.toLocalDateTime()));
+        return true;
+    }
+
+    // 파티션 행을 ID 순으로 아카이브에 복사 (다 복사했으면 true), 중단되면 이 노드는 마지막 ID 부터 이어서
+    private boolean copyPartition(TimeTable table, String partition, Progress progress) {
+        String key = table.table() + "." + partition;
+        long lastId = resumeAfter.getOrDefault(key, 0L);
+        while (!progress.exhausted()) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT " + table.idColumn() + " FROM " + table.table()
+                    + " PARTITION (" + partition + ") WHERE " + table.idColumn() + " > ? ORDER BY " + table.idColumn()
+                    + " LIMIT ?", Long.class, lastId, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                return true;
+            }
+            long upTo = ids.get(ids.size() - 1);
+            progress.rows += jdbcTemplate.update("INSERT IGNORE INTO " + table.archiveTable() + " (" + table.columns()
+                    + ", archived_at) SELECT " + table.columns() + ", NOW() FROM " + table.table() + " PARTITION (" + partition
+                    + ") WHERE " + table.idColumn() + " > ? AND " + table.idColumn() + " <= ?", lastId, upTo);
+            progress.batches++;
+            add(table.table() + ".archived", ids.size());
+            lastId = upTo;
+            resumeAfter.put(key, lastId);
+            if (ids.size() < properties.getBatchSize()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 파티션이 없는 테이블: 보존 기간이 지난 행을 ID 순 배치로 (아카이브 복사 +) 삭제
+    private void moveRows(TimeTable table, LocalDateTime cutoff, Progress progress) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        while (!progress.exhausted()) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT " + table.idColumn() + " FROM " + table.table() + " WHERE "
+                    + table.timeColumn() + " < ? ORDER BY " + table.idColumn() + " LIMIT ?", Long.class, before,
+                    properties.getBatchSize());
+            if (ids.isEmpty()) {
+                return;
+            }
+            String condition = table.idColumn() + " IN (" + placeholders(ids.size()) + ")";
+            Object[] args = ids.toArray();
+            Integer moved = writeTransaction.execute(status -> {
+                if (table.archiveTable() != null) {
+                    jdbcTemplate.update("INSERT IGNORE INTO " + table.archiveTable() + " (" + table.columns()
+                            + ", archived_at) SELECT " + table.columns() + ", NOW() FROM " + table.table() + " WHERE " + condition, args);
+                }
+                return jdbcTemplate.update("DELETE FROM " + table.table() + " WHERE " + condition, args);
+            });
+            progress.rows += moved != null ? moved : 0;
+            progress.batches++;
+            add(table.table() + (table.archiveTable() != null ? ".archived" : ".deleted"), moved != null ? moved : 0);
+            if (ids.size() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private List<Partition> partitions(String table) {
+        List<Partition> partitions = jdbcTemplate.query("""
+                SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, (rs, rowNum) -> {
+            String description = rs.getString(2);
+            return new Partition(rs.getString(1), MAXVALUE.equalsIgnoreCase(description) ? null : Long.parseLong(description),
+                    rs.getLong(3));
+        }, table);
+        for (Partition partition : partitions) {
+            if (!PARTITION_NAME.matcher(partition.name()).matches()) {
+                log.warn("Unexpected partition name {}.{}, skipping partition management", table, partition.name());
+                return Collections.emptyList();
+            }
+        }
+        return partitions;
+    }
+
+    private long epochOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(zone).toEpochSecond();
+    }
+
+    // 클러스터에서 한 노드만 실행 (잠금은 커넥션 단위라 같은 커넥션에서 풀어야 함), 다른 노드가 실행 중이면 false
+    private boolean withLock(Runnable action) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!lock(connection, "SELECT GET_LOCK(?, 0)")) {
+                return false;
+            }
+            try {
+                action.run();
+                return true;
+            } finally {
+                lock(connection, "SELECT RELEASE_LOCK(?)");
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean lock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void count(String name) {
+        add(name, 1);
+    }
+
+    private void add(String name, long amount) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+}
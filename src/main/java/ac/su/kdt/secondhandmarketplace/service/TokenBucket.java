@@ -0,0 +1,59 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 토큰 버킷
+ * - capacity 까지 적립, 초당 refillPerSecond 씩 충전
+ * - 요청 비용이 capacity 보다 크면 capacity 로 제한 (영원히 거절되지 않도록)
+ * - 실제 사용량 정산으로 잔량이 음수(빚)가 될 수 있고, 충전으로 갚은 뒤에야 다음 요청이 통과
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier clock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(double capacity, double refillPerSecond, LongSupplier clock) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefillNanos = clock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire(double cost) {
+        refill();
+        double charged = Math.min(cost, capacity);
+        if (tokens < charged) {
+            return false;
+        }
+        tokens -= charged;
+        return true;
+    }
+
+    /**
+     * 사후 정산 (양수면 추가 차감, 음수면 환불)
+     */
+    public synchronized void adjust(double delta) {
+        refill();
+        tokens = Math.min(capacity, tokens - delta);
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,107 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 용량이 K 로 제한된 점수 순위표
+ * - 점수 순 정렬 집합 + ID 인덱스로 갱신 O(log K), 상위 조회 O(K)
+ * - 가득 찬 상태에서는 최저 점수보다 높은 항목만 들어오고 최저 항목이 밀려난다
+ */
+public class TopKBoard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::score)
+            .thenComparingLong(Entry::id);
+
+    private final int capacity;
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> members = new HashMap<>();
+
+    public TopKBoard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 항목 점수를 갱신합니다. 순위표에 들어가지 못하면 무시됩니다.
+     */
+    public synchronized void offer(long id, double score) {
+        Entry current = members.get(id);
+        if (current != null) {
+            ranking.remove(current);
+        } else if (members.size() >= capacity) {
+            Entry lowest = ranking.first();
+            if (score <= lowest.score()) {
+                return;
+            }
+            ranking.pollFirst();
+            members.remove(lowest.id());
+        }
+        Entry entry = new Entry(id, score);
+        ranking.add(entry);
+        members.put(id, entry);
+    }
+
+    public synchronized void remove(long id) {
+        Entry current = members.remove(id);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    /**
+     * 점수 높은 순으로 최대 limit 개를 반환합니다.
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, members.size()));
+        Iterator<Entry> iterator = ranking.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * ids 에 없는 항목을 제거합니다.
+     */
+    public synchronized void retainAll(Set<Long> ids) {
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!ids.contains(entry.id())) {
+                iterator.remove();
+                members.remove(entry.id());
+            }
+        }
+    }
+
+    /**
+     * 모든 점수에 같은 변환을 적용합니다. (순서를 보존하는 변환이어야 함, 예: 감쇠 기준 시점 재설정)
+     */
+    public synchronized void rescale(DoubleUnaryOperator operator) {
+        List<Entry> rescaled = new ArrayList<>(members.size());
+        for (Entry entry : ranking) {
+            rescaled.add(new Entry(entry.id(), operator.applyAsDouble(entry.score())));
+        }
+        ranking.clear();
+        members.clear();
+        for (Entry entry : rescaled) {
+            ranking.add(entry);
+            members.put(entry.id(), entry);
+        }
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    public record Entry(long id, double score) {
+    }
+}
@@ -0,0 +1,335 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.ActivityEventRow;
+import ac.su.kdt.secondhandmarketplace.dto.ProductTrendingMeta;
+import ac.su.kdt.secondhandmarketplace.dto.TrendingItem;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.repository.ProductRepository;
+import ac.su.kdt.secondhandmarketplace.repository.UserActivityLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 시간 감쇠 인기 순위 (대학교 x 카테고리 x 시/도별 Top-K)
+ * - UserActivityLog 의 조회/채팅 이벤트를 지수 감쇠 점수로 누적
+ * - 거래 이벤트가 들어온 상품은 판매 완료로 보고 순위에서 제외
+ * - 점수는 기준 시점(landmark) 대비 exp(λ(t - t0)) 가중치로 저장해서 갱신 시 전체 감쇠가 필요 없음
+ * - 조회는 메모리의 Top-K 순위표만 읽으므로 O(K), MySQL 을 타지 않음
+ * - 순위표는 대학교별 샤드로 나눠서 캠퍼스마다 독립적으로 채워지고 정리된다 (전체 샤드는 0)
+ * - outbox 상품 이벤트로 순위에 있는 상품의 메타데이터(제목/가격/카테고리/지역)를 갱신하고, 판매중이 아니게 되면 제외
+ */
+@Slf4j
+@Service
+public class TrendingService implements ChangeSubscriber {
+
+    public static final String ACTIVITY_VIEW = "VIEW";
+    public static final String ACTIVITY_CHAT = "CHAT";
+    public static final String ACTIVITY_TRANSACTION = "TRANSACTION";
+    private static final Set<String> ACTIVITY_TYPES = Set.of(ACTIVITY_VIEW, ACTIVITY_CHAT, ACTIVITY_TRANSACTION);
+
+    private static final Long ALL_CATEGORIES = 0L;
+    private static final Long ALL_REGIONS = 0L;
+    private static final Long ALL_UNIVERSITIES = 0L;
+    private static final double PRUNE_THRESHOLD = 0.01;  // 감쇠 후 이 점수 미만인 상품은 메모리에서 제거
+    private static final String STATUS_ON_SALE = "판매중";
+
+    private final UserActivityLogRepository userActivityLogRepository;
+    private final ProductRepository productRepository;
+    private final RegionService regionService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();              // 상품 ID -> landmark 기준 점수
+    private final Map<Long, ProductTrendingMeta> metas = new ConcurrentHashMap<>();  // 상품 ID -> 메타데이터
+    private final Map<Long, Map<String, TopKBoard>> shards = new ConcurrentHashMap<>();  // 대학교 ID -> "카테고리|시도코드" -> 순위표
+    private final ReadWriteLock rebaseLock = new ReentrantReadWriteLock();
+    private volatile long landmarkEpochSecond = nowEpochSecond();
+
+    @Value("${app.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${app.trending.board-size:100}")
+    private int boardSize;
+
+    @Value("${app.trending.weight.view:1.0}")
+    private double viewWeight;
+
+    @Value("${app.trending.weight.chat:5.0}")
+    private double chatWeight;
+
+    public TrendingService(UserActivityLogRepository userActivityLogRepository,
+                           ProductRepository productRepository,
+                           RegionService regionService,
+                           PlatformTransactionManager transactionManager) {
+        this.userActivityLogRepository = userActivityLogRepository;
+        this.productRepository = productRepository;
+        this.regionService = regionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 기동 시 최근 활동 로그(반감기 x 5)를 다시 읽어 순위표를 채웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes((long) (halfLifeHours * 60 * 5));
+        Long count = readOnlyTransaction.execute(status -> {
+            long applied = 0;
+            try (Stream<ActivityEventRow> rows = userActivityLogRepository.streamProductEventsSince(since, ACTIVITY_TYPES)) {
+                for (ActivityEventRow row : (Iterable<ActivityEventRow>) rows::iterator) {
+                    record(row.activityType(), row.targetId(), row.createAt());
+                    applied++;
+                }
+            }
+            return applied;
+        });
+        log.info("Trending boards warmed up with {} activity events since {}", count, since);
+    }
+
+    /**
+     * 활동 이벤트 한 건을 반영합니다.
+     */
+    public void record(String activityType, Long productId, LocalDateTime occurredAt) {
+        if (activityType == null || productId == null) {
+            return;
+        }
+        String type = activityType.toUpperCase();
+        if (ACTIVITY_TRANSACTION.equals(type)) {
+            removeProduct(productId);
+            return;
+        }
+        double weight = ACTIVITY_VIEW.equals(type) ? viewWeight : ACTIVITY_CHAT.equals(type) ? chatWeight : 0.0;
+        if (weight <= 0) {
+            return;
+        }
+        ProductTrendingMeta meta = meta(productId);
+        if (meta == null) {
+            return;  // 판매중이 아니거나 없는 상품
+        }
+        rebaseLock.readLock().lock();
+        try {
+            long at = occurredAt != null ? occurredAt.toEpochSecond(ZoneOffset.UTC) : nowEpochSecond();
+            double contribution = weight * Math.exp(lambda() * (at - landmarkEpochSecond));
+            // 점수 갱신과 순위표 반영을 상품 키 잠금(compute) 안에서 함께 해서, 동시 이벤트가 낮은 점수를 순위표에 남기지 않게 한다
+            // 메타데이터는 잠금 안에서 다시 읽는다 (그 사이 상품 이벤트로 바뀌었거나 제외되었을 수 있음)
+            scores.compute(productId, (id, current) -> {
+                ProductTrendingMeta latest = metas.get(id);
+                if (latest == null) {
+                    return current;
+                }
+                double score = (current != null ? current : 0.0) + contribution;
+                offer(id, latest, score);
+                return score;
+            });
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 대학교/카테고리/지역별 인기 상품 (null 이면 전체)
+     * - 지역은 자유 텍스트("서울", "강남구" 등)로 받아 시/도 단위 순위표에서 조회
+     */
+    public List<TrendingItem> top(Long universityId, Long categoryId, String region, int limit) {
+        Long sidoCode = null;
+        if (region != null && !region.isBlank()) {
+            RegionService.Region parsed = regionService.parse(region);
+            if (parsed == null) {
+                return new ArrayList<>();  // 인식할 수 없는 지역
+            }
+            sidoCode = parsed.sidoCode();
+        }
+        Map<String, TopKBoard> boards = shards.get(universityId != null ? universityId : ALL_UNIVERSITIES);
+        TopKBoard board = boards != null ? boards.get(boardKey(categoryId, sidoCode)) : null;
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        double decay = currentDecay();
+        List<TrendingItem> result = new ArrayList<>();
+        for (TopKBoard.Entry entry : board.top(limit)) {
+            ProductTrendingMeta meta = metas.get(entry.id());
+            if (meta != null) {
+                result.add(new TrendingItem(entry.id(), meta.title(), meta.price(), entry.score() * decay));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 현재 시점 감쇠 점수 (활동이 없으면 0)
+     */
+    public double score(Long productId) {
+        Double score = scores.get(productId);
+        return score == null ? 0.0 : score * currentDecay();
+    }
+
+    /**
+     * 상품 목록을 인기 점수 높은 순으로 정렬합니다. (점수 조회는 메모리 맵 조회)
+     */
+    public List<Product> sortByTrending(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingDouble((Product product) -> scores.getOrDefault(product.getId(), 0.0)).reversed());
+        return sorted;
+    }
+
+    /**
+     * 감쇠 기준 시점을 현재로 옮기고 미미한 점수를 정리합니다. (exp 값 overflow 방지)
+     * 정리된 상품은 순위표에서도 빼서, 메타데이터 없는 항목이 자리를 차지하지 않게 한다
+     */
+    @Scheduled(fixedDelayString = "${app.trending.rebase-interval-ms:3600000}")
+    public void rebase() {
+        rebaseLock.writeLock().lock();
+        try {
+            long now = nowEpochSecond();
+            double factor = Math.exp(-lambda() * (now - landmarkEpochSecond));
+            landmarkEpochSecond = now;
+            scores.replaceAll((id, score) -> score * factor);
+            scores.entrySet().removeIf(entry -> entry.getValue() < PRUNE_THRESHOLD);
+            metas.keySet().retainAll(scores.keySet());
+            shards.values().forEach(boards -> boards.values().forEach(board -> {
+                board.retainAll(scores.keySet());
+                board.rescale(score -> score * factor);
+            }));
+            shards.values().forEach(boards -> boards.values().removeIf(board -> board.size() == 0));
+            shards.values().removeIf(Map::isEmpty);
+        } finally {
+            rebaseLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String subscriberName() {
+        return "trending";
+    }
+
+    @Override
+    public Set<String> aggregateTypes() {
+        return Set.of(ChangeEvent.PRODUCT);
+    }
+
+    /**
+     * 커밋된 상품 수정/삭제를 순위표에 반영합니다.
+     * 판매중이 아니게 되면(예약중/판매완료/삭제) 제외, 순위에 있는 상품은 메타데이터를 바꾸고 카테고리/지역이 바뀌었으면 순위표를 옮긴다.
+     * 순위에 없는 상품은 무시한다 (활동 이벤트가 들어오면 그때 DB 에서 메타데이터를 읽음).
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            if (event.deleted() || !STATUS_ON_SALE.equals(event.text("status"))) {
+                removeProduct(event.aggregateId());
+                continue;
+            }
+            ProductTrendingMeta updated = new ProductTrendingMeta(event.aggregateId(), event.longValue("categoryId"),
+                    event.longValue("regionCode"), event.longValue("universityId"), event.text("title"), event.decimal("price"));
+            rebaseLock.readLock().lock();
+            try {
+                scores.computeIfPresent(updated.productId(), (id, score) -> {
+                    ProductTrendingMeta previous = metas.put(id, updated);
+                    if (previous == null || !universityShards(previous).equals(universityShards(updated))
+                            || !boardKeys(previous).equals(boardKeys(updated))) {
+                        removeFromBoards(id);
+                        offer(id, updated, score);
+                    }
+                    return score;
+                });
+            } finally {
+                rebaseLock.readLock().unlock();
+            }
+        }
+    }
+
+    // record 와 같은 키 잠금 안에서 순위표에서 뺀다 (동시에 들어온 조회 이벤트가 다시 올리지 않도록)
+    private void removeProduct(Long productId) {
+        scores.compute(productId, (id, current) -> {
+            removeFromBoards(id);
+            metas.remove(id);
+            return null;
+        });
+    }
+
+    // 상품이 속하는 모든 순위표에 점수를 올린다 (상품 키 잠금 안에서 호출)
+    private void offer(Long productId, ProductTrendingMeta meta, double score) {
+        List<String> keys = boardKeys(meta);
+        for (Long universityId : universityShards(meta)) {
+            Map<String, TopKBoard> boards = shards.computeIfAbsent(universityId, shard -> new ConcurrentHashMap<>());
+            for (String key : keys) {
+                boards.computeIfAbsent(key, k -> new TopKBoard(boardSize)).offer(productId, score);
+            }
+        }
+    }
+
+    private void removeFromBoards(Long productId) {
+        shards.values().forEach(boards -> boards.values().forEach(board -> board.remove(productId)));
+    }
+
+    // 메타데이터 캐시 조회, 없으면 한 번만 DB 조회 (이벤트 반영 경로에서만 발생)
+    private ProductTrendingMeta meta(Long productId) {
+        ProductTrendingMeta meta = metas.get(productId);
+        if (meta != null) {
+            return meta;
+        }
+        List<ProductTrendingMeta> found = productRepository.findTrendingMetaByIds(List.of(productId));
+        if (found.isEmpty()) {
+            return null;
+        }
+        metas.put(productId, found.get(0));
+        return found.get(0);
+    }
+
+    // 상품이 속하는 대학교 샤드: 전체, 판매자 소속 대학교
+    private List<Long> universityShards(ProductTrendingMeta meta) {
+        return meta.universityId() != null ? List.of(ALL_UNIVERSITIES, meta.universityId()) : List.of(ALL_UNIVERSITIES);
+    }
+
+    // 상품이 속하는 순위표: (카테고리, 시/도), (카테고리, 전체), (전체, 시/도), (전체, 전체)
+    private List<String> boardKeys(ProductTrendingMeta meta) {
+        RegionService.Region parsed = regionService.find(meta.regionCode());
+        Long region = parsed != null ? parsed.sidoCode() : null;
+        List<String> keys = new ArrayList<>(4);
+        keys.add(boardKey(ALL_CATEGORIES, ALL_REGIONS));
+        if (meta.categoryId() != null) {
+            keys.add(boardKey(meta.categoryId(), ALL_REGIONS));
+        }
+        if (region != null) {
+            keys.add(boardKey(ALL_CATEGORIES, region));
+            if (meta.categoryId() != null) {
+                keys.add(boardKey(meta.categoryId(), region));
+            }
+        }
+        return keys;
+    }
+
+    private String boardKey(Long categoryId, Long region) {
+        return (categoryId != null ? categoryId : ALL_CATEGORIES) + "|" + (region != null ? region : ALL_REGIONS);
+    }
+
+    private double currentDecay() {
+        return Math.exp(-lambda() * (nowEpochSecond() - landmarkEpochSecond));
+    }
+
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3600);
+    }
+
+    private static long nowEpochSecond() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,65 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 대학교별로 나눈 캐시
+ * - 대학교마다 독립된 Caffeine 캐시(크기 제한 + 만료)를 두어 한 캠퍼스의 트래픽이 다른 캠퍼스 항목을 밀어내지 않는다
+ * - 무효화도 대학교 단위로 수행
+ */
+public class UniversityPartitionedCache<K, V> {
+
+    private final long maximumSizePerShard;
+    private final Duration expireAfterWrite;
+    private final Map<Long, Cache<K, V>> shards = new ConcurrentHashMap<>();
+
+    public UniversityPartitionedCache(long maximumSizePerShard, Duration expireAfterWrite) {
+        this.maximumSizePerShard = maximumSizePerShard;
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public V get(Long universityId, K key, Function<? super K, ? extends V> loader) {
+        return shard(universityId).get(key, loader);
+    }
+
+    /**
+     * 한 대학교의 항목만 비웁니다.
+     */
+    public void invalidate(Long universityId) {
+        Cache<K, V> shard = shards.get(universityId);
+        if (shard != null) {
+            shard.invalidateAll();
+        }
+    }
+
+    /**
+     * 대학교별 캐시 통계
+     */
+    public Map<Long, CacheStats> stats() {
+        Map<Long, CacheStats> stats = new TreeMap<>();
+        shards.forEach((universityId, shard) -> stats.put(universityId, shard.stats()));
+        return stats;
+    }
+
+    public Map<Long, Long> sizes() {
+        Map<Long, Long> sizes = new TreeMap<>();
+        shards.forEach((universityId, shard) -> sizes.put(universityId, shard.estimatedSize()));
+        return sizes;
+    }
+
+    private Cache<K, V> shard(Long universityId) {
+        return shards.computeIfAbsent(universityId, id -> Caffeine.newBuilder()
+                .maximumSize(maximumSizePerShard)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+}
@@ -16,10 +16,10 @@ INSERT INTO user (user_id, university_id, username, password, email, nickname, i
 (2, 2, 'user2', '$2a$10$example', 'user2@korea.ac.kr', '판매자2', true, 5, NOW());
 
 -- 상품 데이터
-INSERT INTO product (product_id, category_id2, user_id, title, description, price, status, view_count, location_info, create_at, update_at) VALUES
-(1, 2, 1, 'AirPods Pro 2세대', '거의 새상품입니다. 사용감 없음', 180000, '판매중', 100, '서울시 강남구 역삼동', NOW(), NOW()),
-(2, 2, 1, 'Sony WH-1000XM4', '1년 사용했습니다. 상태 양호', 250000, '판매중', 50, '서울시 서초구 서초동', NOW(), NOW()),
-(3, 2, 2, 'AirPods Pro 2세대', '미개봉 새상품입니다', 220000, '판매중', 200, '서울시 강남구 역삼동', NOW(), NOW());
+INSERT INTO product (product_id, category_id2, user_id, university_id, title, description, price, status, view_count, location_info, region_code, create_at, update_at) VALUES
+(1, 2, 1, 1, 'AirPods Pro 2세대', '거의 새상품입니다. 사용감 없음', 180000, '판매중', 100, '서울시 강남구 역삼동', 1168010100, NOW(), NOW()),
+(2, 2, 1, 1, 'Sony WH-1000XM4', '1년 사용했습니다. 상태 양호', 250000, '판매중', 50, '서울시 서초구 서초동', 1165010800, NOW(), NOW()),
+(3, 2, 2, 2, 'AirPods Pro 2세대', '미개봉 새상품입니다', 220000, '판매중', 200, '서울시 강남구 역삼동', 1168010100, NOW(), NOW());
 
 -- 거래 데이터 (review, product, user와 연결)
 INSERT INTO transaction (transaction_id, product_id, user_id, final_price, transaction_date) VALUES
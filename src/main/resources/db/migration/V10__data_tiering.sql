@@ -0,0 +1,70 @@
+-- 데이터 계층화 (hot / cold)
+-- - 판매 완료 후 보존 기간이 지난 상품은 product_archive 로 옮긴다 (추천 쿼리가 읽는 product 와 인덱스를 작게 유지)
+-- - 쌓이기만 하는 chatmessage / useractivitylog 는 월 단위 RANGE 파티션, 보존 기간이 지난 파티션은
+--   chatmessage 는 chatmessage_archive 로 복사한 뒤, useractivitylog 는 바로 DROP PARTITION
+-- - 월 파티션 추가와 이동은 TieringService 가 주기적으로 한다 (여기서는 과거 전체 / 미래 전체 두 파티션으로 시작)
+
+-- 1. 판매 완료 상품 아카이브 (product 와 같은 컬럼 + 이동 시각, 외래 키 없음)
+CREATE TABLE product_archive (
+    product_id               BIGINT NOT NULL PRIMARY KEY,
+    category_id2             BIGINT NOT NULL,
+    user_id                  BIGINT NOT NULL,
+    university_id            BIGINT NOT NULL,
+    ai_predicted_category_id BIGINT,
+    title                    VARCHAR(100) NOT NULL,
+    description              TEXT,
+    price                    DECIMAL(10,0),
+    status                   VARCHAR(20) NOT NULL,
+    ai_price_min             DECIMAL(10,0),
+    ai_price_max             DECIMAL(10,0),
+    view_count               INT,
+    chat_count               INT,
+    location_info            VARCHAR(100),
+    region_code              BIGINT,
+    simhash                  BIGINT,
+    create_at                TIMESTAMP NOT NULL,
+    update_at                TIMESTAMP NOT NULL,
+    refreshed_at             TIMESTAMP,
+    sold_at                  TIMESTAMP,
+    archived_at              TIMESTAMP NOT NULL
+);
+
+-- 판매자별 지난 판매 이력 조회
+CREATE INDEX idx_product_archive_user_sold_at ON product_archive (user_id, sold_at);
+
+-- 아카이브 대상 조회: 판매 완료 + 판매 시각 순
+CREATE INDEX idx_product_status_sold_at ON product (status, sold_at);
+
+-- 아카이브된 상품을 가리키는 이미지 / 채팅방 / 거래 / 알림이 남도록 product 참조 외래 키 제거 (컬럼 인덱스는 유지)
+ALTER TABLE product_image DROP FOREIGN KEY product_image_ibfk_1;
+ALTER TABLE chatroom DROP FOREIGN KEY chatroom_ibfk_1;
+ALTER TABLE transaction DROP FOREIGN KEY transaction_ibfk_1;
+ALTER TABLE notification DROP FOREIGN KEY notification_ibfk_2;
+
+-- 2. 채팅 메시지 아카이브
+CREATE TABLE chatmessage_archive (
+    chatmessage_id  BIGINT NOT NULL PRIMARY KEY,
+    chatroom_id     BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    message_type    VARCHAR(20) NOT NULL,
+    message_content TEXT,
+    sent_at         TIMESTAMP NOT NULL,
+    archived_at     TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_chatmessage_archive_chatroom_sent_at ON chatmessage_archive (chatroom_id, sent_at);
+
+-- 3. 파티션 테이블은 외래 키를 가질 수 없고, 기본 키에 파티션 컬럼이 포함되어야 한다
+ALTER TABLE chatmessage DROP FOREIGN KEY chatmessage_ibfk_1, DROP FOREIGN KEY chatmessage_ibfk_2;
+ALTER TABLE chatmessage DROP PRIMARY KEY, ADD PRIMARY KEY (chatmessage_id, sent_at);
+ALTER TABLE chatmessage PARTITION BY RANGE (UNIX_TIMESTAMP(sent_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+ALTER TABLE useractivitylog DROP FOREIGN KEY useractivitylog_ibfk_1;
+ALTER TABLE useractivitylog DROP PRIMARY KEY, ADD PRIMARY KEY (log_id, create_at);
+ALTER TABLE useractivitylog PARTITION BY RANGE (UNIX_TIMESTAMP(create_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,3 @@
+-- 판매자별로 반영한 마지막 outbox 이벤트 ID
+-- 합계와 같은 upsert 로 저장되므로, 다른 노드가 공유 구독을 넘겨받거나 묶음이 재전달되어도 같은 이벤트를 두 번 더하지 않는다
+ALTER TABLE seller_reputation ADD COLUMN last_outbox_event_id BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- 알림을 만든 outbox 이벤트 ID
+-- 저장된 검색 구독자는 at-least-once 로 전달받으므로 (사용자, 상품, 이벤트) 유일 키 + INSERT IGNORE 로 재전달 시 중복 알림을 막는다
+-- 기존 알림은 이벤트를 모르므로 알림 ID 를 넣어 서로 겹치지 않게 한다
+ALTER TABLE notification ADD COLUMN event_id BIGINT NOT NULL DEFAULT 0;
+UPDATE notification SET event_id = -notification_id;
+CREATE UNIQUE INDEX uk_notification_user_product_event ON notification (user_id, product_id, event_id);
@@ -0,0 +1,153 @@
+-- erd.sql 기반 초기 스키마 (prod 프로필, Flyway 관리)
+-- 엔티티 매핑과 맞추기 위해 다음을 보정:
+--  * PK 는 AUTO_INCREMENT (엔티티는 IDENTITY 전략)
+--  * manner_score / rating 은 DOUBLE (엔티티는 Double)
+--  * productImage 는 Spring 네이밍 전략에 맞춰 product_image
+
+-- 1. 대학교 테이블
+CREATE TABLE university (
+    university_id   BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name            VARCHAR(100) NOT NULL,
+    email_domain    VARCHAR(50) NOT NULL
+);
+
+-- 2. 사용자 테이블
+CREATE TABLE user (
+    user_id           BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    university_id     BIGINT NOT NULL,
+    username          VARCHAR(30) NOT NULL,
+    password          VARCHAR(100) NOT NULL,
+    email             VARCHAR(100) NOT NULL,
+    nickname          VARCHAR(30) NOT NULL,
+    is_email_verified BOOLEAN NOT NULL,
+    profile_image_url VARCHAR(200),
+    manner_score      DOUBLE NOT NULL,
+    create_at         TIMESTAMP NOT NULL,
+    FOREIGN KEY (university_id) REFERENCES university(university_id)
+);
+
+-- 3. 카테고리 테이블 (계층형 구조)
+CREATE TABLE category (
+    category_id         BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    parent_category_id  BIGINT,
+    category_name       VARCHAR(50) NOT NULL,
+    create_at           TIMESTAMP NOT NULL,
+    FOREIGN KEY (parent_category_id) REFERENCES category(category_id)
+);
+
+CREATE INDEX idx_category_name ON category (category_name);
+
+-- 4. 상품 테이블
+CREATE TABLE product (
+    product_id               BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    category_id2             BIGINT NOT NULL,
+    user_id                  BIGINT NOT NULL,
+    ai_predicted_category_id BIGINT,
+    title                    VARCHAR(100) NOT NULL,
+    description              TEXT,
+    price                    DECIMAL(10,0),
+    status                   VARCHAR(20) NOT NULL,
+    ai_price_min             DECIMAL(10,0),
+    ai_price_max             DECIMAL(10,0),
+    view_count               INT,
+    chat_count               INT,
+    location_info            VARCHAR(100),
+    create_at                TIMESTAMP NOT NULL,
+    update_at                TIMESTAMP NOT NULL,
+    refreshed_at             TIMESTAMP,
+    sold_at                  TIMESTAMP,
+    FOREIGN KEY (category_id2) REFERENCES category(category_id),
+    FOREIGN KEY (user_id) REFERENCES user(user_id),
+    FOREIGN KEY (ai_predicted_category_id) REFERENCES category(category_id)
+);
+
+-- 추천 후보 조회: status = '판매중' + 카테고리/가격 필터, 가격/조회수 정렬
+CREATE INDEX idx_product_status_category_price ON product (status, category_id2, price);
+CREATE INDEX idx_product_status_price ON product (status, price);
+CREATE INDEX idx_product_status_view_count ON product (status, view_count);
+
+-- 5. 상품 이미지 테이블
+CREATE TABLE product_image (
+    image_id      BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    product_id    BIGINT NOT NULL,
+    image_url     VARCHAR(200) NOT NULL,
+    sequence      INT NOT NULL,
+    uploaded_at   TIMESTAMP NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES product(product_id)
+);
+
+-- 6. 채팅방 테이블
+CREATE TABLE chatroom (
+    chatroom_id         BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    product_id          BIGINT NOT NULL,
+    user_id             BIGINT NOT NULL,
+    user2_id            BIGINT NOT NULL,
+    create_at           TIMESTAMP NOT NULL,
+    buyer_unread_count  INT NOT NULL,
+    seller_unread_count INT NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES product(product_id),
+    FOREIGN KEY (user_id) REFERENCES user(user_id),
+    FOREIGN KEY (user2_id) REFERENCES user(user_id)
+);
+
+-- 채팅 목록 조회: 참여자별 최신순
+CREATE INDEX idx_chatroom_user_create_at ON chatroom (user_id, create_at);
+CREATE INDEX idx_chatroom_user2_create_at ON chatroom (user2_id, create_at);
+
+-- 7. 채팅 메시지 테이블
+CREATE TABLE chatmessage (
+    chatmessage_id  BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    chatroom_id     BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    message_type    VARCHAR(20) NOT NULL,
+    message_content TEXT,
+    sent_at         TIMESTAMP NOT NULL,
+    FOREIGN KEY (chatroom_id) REFERENCES chatroom(chatroom_id),
+    FOREIGN KEY (user_id) REFERENCES user(user_id)
+);
+
+-- 채팅 이력 조회: 채팅방별 시간순
+CREATE INDEX idx_chatmessage_chatroom_sent_at ON chatmessage (chatroom_id, sent_at);
+
+-- 8. 사용자 활동 로그 테이블
+CREATE TABLE useractivitylog (
+    log_id          BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    session_id      VARCHAR(64) NOT NULL,
+    activity_type   VARCHAR(30) NOT NULL,
+    target_id       BIGINT,
+    activity_detail TEXT,
+    create_at       TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES user(user_id)
+);
+
+CREATE INDEX idx_useractivitylog_user_create_at ON useractivitylog (user_id, create_at);
+CREATE INDEX idx_useractivitylog_type_create_at ON useractivitylog (activity_type, create_at);
+
+-- 9. 거래내역 테이블
+CREATE TABLE transaction (
+    transaction_id   BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    product_id       BIGINT NOT NULL,
+    user_id          BIGINT NOT NULL,
+    final_price      DECIMAL(10,0) NOT NULL,
+    transaction_date TIMESTAMP NOT NULL,
+    review_id2       BIGINT,
+    FOREIGN KEY (product_id) REFERENCES product(product_id),
+    FOREIGN KEY (user_id) REFERENCES user(user_id)
+);
+
+-- 10. 거래 후기 테이블
+CREATE TABLE review (
+    review_id      BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    user_id        BIGINT NOT NULL,
+    rating         DOUBLE NOT NULL,
+    content        TEXT,
+    create_at      TIMESTAMP NOT NULL,
+    FOREIGN KEY (transaction_id) REFERENCES transaction(transaction_id),
+    FOREIGN KEY (user_id) REFERENCES user(user_id)
+);
+
+ALTER TABLE transaction
+    ADD CONSTRAINT fk_transaction_review
+    FOREIGN KEY (review_id2) REFERENCES review(review_id);
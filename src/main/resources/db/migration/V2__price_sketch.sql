@@ -0,0 +1,10 @@
+-- 거래 가격 분위수 스케치 (t-digest) 저장 테이블
+CREATE TABLE price_sketch (
+    sketch_key          VARCHAR(150) NOT NULL PRIMARY KEY,  -- 카테고리 / 카테고리+상품명 클러스터 키
+    category_id         BIGINT NOT NULL,                    -- 카테고리 ID
+    cluster_key         VARCHAR(100),                       -- 상품명 클러스터 키
+    sample_count        BIGINT NOT NULL,                    -- 반영된 거래 수
+    last_transaction_id BIGINT NOT NULL,                    -- 마지막 반영 거래 ID
+    digest              MEDIUMBLOB NOT NULL,                -- 직렬화된 t-digest
+    updated_at          TIMESTAMP NOT NULL                  -- 저장 시간
+);
@@ -0,0 +1,5 @@
+-- 상품 지역 코드 (법정동 코드 10자리, 위치 정보 문자열에서 파싱)
+-- 하위 지역 코드가 상위 지역 코드 범위 안에 있으므로 지역 필터는 (status, region_code) 인덱스 범위 스캔
+ALTER TABLE product ADD COLUMN region_code BIGINT;
+
+CREATE INDEX idx_product_status_region ON product (status, region_code);
@@ -0,0 +1,3 @@
+-- 상품명 + 설명 64비트 SimHash (같은 판매자의 근접 중복 매물 탐지)
+-- 조회는 메모리 LSH 인덱스에서 하므로 컬럼 인덱스는 두지 않는다
+ALTER TABLE product ADD COLUMN simhash BIGINT;
@@ -0,0 +1,12 @@
+-- 상품 대학교 파티션 키 (판매자 소속 대학교를 복사, 캠퍼스 단위 후보 조회용)
+ALTER TABLE product ADD COLUMN university_id BIGINT;
+
+UPDATE product p
+JOIN user u ON u.user_id = p.user_id
+SET p.university_id = u.university_id;
+
+ALTER TABLE product MODIFY COLUMN university_id BIGINT NOT NULL;
+
+-- 캠퍼스 단위 추천 후보 조회: university_id + status 로 좁힌 뒤 가격/지역 조건
+CREATE INDEX idx_product_university_status_price ON product (university_id, status, price);
+CREATE INDEX idx_product_university_status_region ON product (university_id, status, region_code);
@@ -0,0 +1,13 @@
+-- 상품 이미지 원본 파일 메타데이터 (내용 해시로 중복 저장 제거, 썸네일 생성 여부)
+ALTER TABLE product_image
+    ADD COLUMN content_hash    CHAR(64),
+    ADD COLUMN content_type    VARCHAR(50),
+    ADD COLUMN byte_size       BIGINT,
+    ADD COLUMN width           INT,
+    ADD COLUMN height          INT,
+    ADD COLUMN thumbnail_ready BIT NOT NULL DEFAULT 0;
+
+-- 같은 내용 이미지 조회 / 썸네일 완료 반영
+CREATE INDEX idx_product_image_content_hash ON product_image (content_hash);
+-- 상품별 이미지 순서 조회
+CREATE INDEX idx_product_image_product_sequence ON product_image (product_id, sequence);
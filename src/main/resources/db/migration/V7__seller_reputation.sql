@@ -0,0 +1,11 @@
+-- 판매자 매너 점수 누적 상태 (시간 감쇠 가중 합, 증분 갱신용)
+CREATE TABLE seller_reputation (
+    seller_id               BIGINT NOT NULL PRIMARY KEY,  -- 판매자(user) ID
+    rating_sum              DOUBLE NOT NULL,              -- 기준 시점 가중 평점 합
+    weight_sum              DOUBLE NOT NULL,              -- 기준 시점 가중치 합
+    review_count            INT NOT NULL,                 -- 반영된 리뷰 수
+    transaction_count       INT NOT NULL,                 -- 반영된 거래 수
+    last_event_epoch_second BIGINT NOT NULL,              -- 마지막 이벤트 시각 (점수 계산 기준)
+    manner_score            DOUBLE NOT NULL,              -- 계산된 매너 점수
+    updated_at              TIMESTAMP NOT NULL            -- 저장 시간
+);
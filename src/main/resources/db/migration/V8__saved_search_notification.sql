@@ -0,0 +1,37 @@
+-- 저장된 검색 (RecommendationCriteria 를 컬럼으로 저장, 새 매물/가격 인하 알림용)
+CREATE TABLE saved_search (
+    saved_search_id  BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id          BIGINT NOT NULL,
+    user_request     VARCHAR(200),
+    university_id    BIGINT,
+    product_name     VARCHAR(100),
+    category_id      BIGINT,
+    min_price        DECIMAL(10,0),
+    max_price        DECIMAL(10,0),
+    location         VARCHAR(100),
+    region_code      BIGINT,
+    min_manner_score DOUBLE,
+    create_at        TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES user(user_id),
+    FOREIGN KEY (category_id) REFERENCES category(category_id)
+);
+
+-- 사용자별 저장된 검색 목록 / 개수 제한
+CREATE INDEX idx_saved_search_user ON saved_search (user_id);
+
+-- 알림 (저장된 검색에 맞는 새 매물 / 가격 변경)
+CREATE TABLE notification (
+    notification_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    saved_search_id BIGINT,
+    product_id      BIGINT NOT NULL,
+    type            VARCHAR(20) NOT NULL,
+    message         VARCHAR(200) NOT NULL,
+    create_at       TIMESTAMP NOT NULL,
+    read_at         TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES user(user_id),
+    FOREIGN KEY (product_id) REFERENCES product(product_id)
+);
+
+-- 사용자별 최근 알림 / 마지막으로 받은 알림 이후 조회
+CREATE INDEX idx_notification_user_id ON notification (user_id, notification_id);
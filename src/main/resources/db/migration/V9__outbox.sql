@@ -0,0 +1,16 @@
+-- 변경 이벤트 outbox (product / review / transaction / chatroom 쓰기와 같은 트랜잭션에서 기록)
+CREATE TABLE outbox_event (
+    event_id       BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,   -- PRODUCT, REVIEW, TRANSACTION, CHATROOM
+    aggregate_id   BIGINT NOT NULL,
+    event_type     VARCHAR(20) NOT NULL,   -- CREATED, UPDATED, DELETED
+    payload        TEXT NOT NULL,          -- 기록 시점 행 스냅샷 (JSON)
+    create_at      TIMESTAMP(3) NOT NULL   -- 기록 시각 (빈 ID 대기 / 보존 기간 판단)
+);
+
+-- 공유 구독자(DB 에 부수 효과를 남기는 구독자)의 처리 위치
+CREATE TABLE outbox_offset (
+    subscriber    VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    updated_at    TIMESTAMP NOT NULL
+);
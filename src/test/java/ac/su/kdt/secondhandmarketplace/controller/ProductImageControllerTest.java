@@ -0,0 +1,128 @@
+package ac.su.kdt.secondhandmarketplace.controller;
+
+import ac.su.kdt.secondhandmarketplace.config.ImageProperties;
+import ac.su.kdt.secondhandmarketplace.service.ImageFileSender;
+import ac.su.kdt.secondhandmarketplace.service.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 이미지 응답의 ETag / If-None-Match / Range / If-Range / 416 처리 (MockMvc 는 sendfile 미지원이라 버퍼 복사 경로)
+class ProductImageControllerTest {
+
+    private static final String HASH = "0123456789abcdef";
+    private static final String ETAG = "\"" + HASH + "\"";
+    private static final String BODY = "0123456789";
+
+    @TempDir
+    Path storageDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path path = Files.writeString(storageDir.resolve(HASH), BODY, StandardCharsets.US_ASCII);
+        ImageService imageService = mock(ImageService.class);
+        when(imageService.resolve(HASH, null))
+                .thenReturn(Optional.of(new ImageService.ServedFile(path, "image/jpeg", BODY.length(), ETAG, true)));
+        when(imageService.resolve("missing", null)).thenReturn(Optional.empty());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProductImageController(imageService, new ImageFileSender(), new ImageProperties()))
+                .build();
+    }
+
+    @Test
+    void fullResponseCarriesStrongEtagAndAcceptRanges() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BODY.length()))
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void suffixRangeReturnsLastBytes() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void matchingIfRangeReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH)
+                        .header(HttpHeaders.RANGE, "bytes=0-0")
+                        .header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("0"));
+    }
+
+    @Test
+    void staleIfRangeReturnsFullBody() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH)
+                        .header(HttpHeaders.RANGE, "bytes=0-0")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.RANGE, "bytes=10-20"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void multipleRangesAndMalformedRangeFallBackToFullBody() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+        mockMvc.perform(get("/api/images/{hash}", HASH).header(HttpHeaders.RANGE, "items=0-1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void unknownHashReturns404() throws Exception {
+        mockMvc.perform(get("/api/images/{hash}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,63 @@
+package ac.su.kdt.secondhandmarketplace.repository;
+
+import ac.su.kdt.secondhandmarketplace.dto.ReviewDisplayDTO;
+import ac.su.kdt.secondhandmarketplace.entity.ChatRoom;
+import ac.su.kdt.secondhandmarketplace.entity.Product;
+import ac.su.kdt.secondhandmarketplace.support.SqlStatementBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 유스케이스별 fetch plan 이 선언한 SQL 문 예산을 넘지 않는지 검사
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=ac.su.kdt.secondhandmarketplace.support.SqlStatementCounter",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Transactional(readOnly = true)
+class FetchPlanBudgetTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    @SqlStatementBudget(1)
+    void recommendationCandidatesLoadInOneQuery() {
+        List<Product> products = productRepository.findProductsByCriteria(
+            null, null, null, null, null, null, 0.0, null, "price", "asc");
+
+        for (Product product : products) {
+            product.getCategory().getCategoryName();
+            product.getUser().getNickname();
+        }
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void chatListLoadsProductAndParticipantsInOneQuery() {
+        List<ChatRoom> chatRooms = chatRoomRepository.findChatListByUserId(1L);
+
+        for (ChatRoom chatRoom : chatRooms) {
+            chatRoom.getProduct().getTitle();
+            chatRoom.getUser().getNickname();
+            chatRoom.getUser2().getNickname();
+        }
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void reviewDisplayIsASingleProjection() {
+        List<ReviewDisplayDTO> reviews = reviewRepository.findDisplayByProductId(1L);
+
+        reviews.forEach(ReviewDisplayDTO::reviewerNickname);
+    }
+}
@@ -0,0 +1,142 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 스텁 LLM(Mono.delay) 으로 입장 제어를 부하 상황에서 검증
+class AdmissionControlServiceTest {
+
+    private static final String LLM = "llm";
+    private static final String DEGRADED = "degraded";
+
+    private AdmissionProperties properties(int maxConcurrent, int queueCapacity) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxConcurrent(maxConcurrent);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setInitialLatencyMs(100);
+        properties.setMaxOutputTokens(0);
+        properties.setGlobal(new AdmissionProperties.Bucket(1_000_000, 1_000_000));
+        properties.setPerUser(new AdmissionProperties.Bucket(1_000_000, 1_000_000));
+        return properties;
+    }
+
+    // 동시 호출 수를 세는 스텁 LLM
+    private Supplier<Mono<String>> stubLlm(AtomicInteger inFlight, AtomicInteger maxInFlight, Duration latency) {
+        return () -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(latency).thenReturn(LLM).doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    @Test
+    void burstIsBoundedAndShedToDegradedAnswers() {
+        AdmissionControlService admission = new AdmissionControlService(properties(4, 8));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        int requests = 200;
+
+        long start = System.nanoTime();
+        List<String> results = Flux.range(0, requests)
+                .flatMap(i -> {
+                    AdmissionTicket ticket = admission.ticket("user:" + (i % 20), AdmissionControlService.PRIORITY_RECOMMENDATION, 500L, "프롬프트", null);
+                    return admission.submit(ticket, stubLlm(inFlight, maxInFlight, Duration.ofMillis(100)), () -> DEGRADED);
+                }, requests)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long served = results.stream().filter(LLM::equals).count();
+        long degraded = results.stream().filter(DEGRADED::equals).count();
+        assertEquals(requests, served + degraded);
+        assertTrue(maxInFlight.get() <= 4, "in-flight LLM calls exceeded limit: " + maxInFlight.get());
+        assertTrue(served >= 4, "some requests must reach the LLM");
+        assertTrue(degraded > 0, "burst beyond queue capacity must be shed");
+        assertTrue(elapsedMs < 2000, "no request may wait far past its deadline: " + elapsedMs + "ms");
+        assertEquals(degraded, admission.counter("degraded.fallback"));
+    }
+
+    @Test
+    void higherPriorityWaiterIsServedFirst() {
+        AdmissionControlService admission = new AdmissionControlService(properties(1, 8));
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        Mono<String> blocker = admission.submit(
+                admission.ticket("a", AdmissionControlService.PRIORITY_CHAT, 5000L, "x", null),
+                () -> Mono.delay(Duration.ofMillis(200)).thenReturn("blocker"), () -> DEGRADED);
+        Mono<String> low = admission.submit(
+                admission.ticket("b", AdmissionControlService.PRIORITY_CHAT, 5000L, "x", null),
+                () -> Mono.fromCallable(() -> { order.add("low"); return "low"; }), () -> DEGRADED);
+        Mono<String> high = admission.submit(
+                admission.ticket("c", AdmissionControlService.PRIORITY_RECOMMENDATION, 5000L, "x", null),
+                () -> Mono.fromCallable(() -> { order.add("high"); return "high"; }), () -> DEGRADED);
+
+        // blocker 가 슬롯을 잡은 뒤 low, high 순서로 대기열에 들어간다
+        Flux.concat(Mono.fromRunnable(() -> blocker.subscribe()), Mono.delay(Duration.ofMillis(20)))
+                .then(Mono.when(low, high.delaySubscription(Duration.ofMillis(20))))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("high", "low"), order);
+    }
+
+    @Test
+    void perUserBucketDegradesNoisyClientAndServesCachedAnswer() {
+        AdmissionProperties properties = properties(4, 8);
+        properties.setPerUser(new AdmissionProperties.Bucket(10, 0.001));
+        AdmissionControlService admission = new AdmissionControlService(properties);
+
+        // 첫 요청은 통과해서 응답 캐시에 저장, 같은 사용자의 두 번째 요청은 버킷 부족으로 캐시 응답
+        String first = admission.submit(admission.ticket("user:1", 0, 1000L, "열글자가넘는프롬프트입니다", "key"),
+                () -> Mono.just(LLM), () -> DEGRADED).block();
+        String second = admission.submit(admission.ticket("user:1", 0, 1000L, "열글자가넘는프롬프트입니다", "key"),
+                () -> Mono.just("fresh"), () -> DEGRADED).block();
+        String otherKey = admission.submit(admission.ticket("user:1", 0, 1000L, "열글자가넘는프롬프트입니다", "other"),
+                () -> Mono.just("fresh"), () -> DEGRADED).block();
+
+        assertEquals(LLM, first);
+        assertEquals(LLM, second);
+        assertEquals(DEGRADED, otherKey);
+        assertEquals(2, admission.counter("rejected." + AdmissionControlService.REJECT_USER_RATE));
+    }
+
+    @Test
+    void upstreamTimeoutFallsBackWithinDeadline() {
+        AdmissionControlService admission = new AdmissionControlService(properties(2, 2));
+
+        String result = admission.submit(admission.ticket("user:1", 0, 100L, "x", null),
+                () -> Mono.delay(Duration.ofSeconds(5)).thenReturn(LLM), () -> DEGRADED)
+                .block(Duration.ofSeconds(2));
+
+        assertEquals(DEGRADED, result);
+        assertEquals(1, admission.counter("rejected." + AdmissionControlService.REJECT_TIMEOUT));
+    }
+
+    @Test
+    void escalatedCallsSettleAgainstCumulativeUsage() {
+        AdmissionProperties properties = properties(2, 2);
+        properties.setMaxOutputTokens(500);
+        properties.setGlobal(new AdmissionProperties.Bucket(10_000, 0.000_001));
+        AdmissionControlService admission = new AdmissionControlService(properties);
+
+        // 예상 501 토큰 차감 후, 한 티켓으로 두 번 호출 (작은 모델 100, 에스컬레이션 300)
+        AdmissionTicket ticket = admission.ticket("user:1", 0, 1000L, "x", null);
+        String result = admission.submit(ticket, () -> Mono.fromCallable(() -> {
+            admission.recordUsage(ticket, 100);
+            admission.recordUsage(ticket, 300);
+            return LLM;
+        }), () -> DEGRADED).block(Duration.ofSeconds(2));
+
+        assertEquals(LLM, result);
+        assertEquals(10_000L - 400, admission.stats().get("globalTokensAvailable"));
+    }
+}
@@ -0,0 +1,130 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 근접 중복 매물 탐지 벤치마크 (JUnit 테스트가 아닌 main 실행)
+ * - 합성 매물 N건(기본 100만) 생성: 일부는 같은 판매자가 문구를 조금 바꿔 다시 올린 재등록
+ * - 서명 계산 처리량, 인덱스 구축 시간, 조회 지연, 재등록 탐지율(recall), 오탐률 측정
+ *
+ * 실행: java -Xmx2g -cp build/classes/java/main:build/classes/java/test \
+ *       ac.su.kdt.secondhandmarketplace.service.DuplicateListingBenchmark [listings] [sellers] [maxDistance]
+ */
+public class DuplicateListingBenchmark {
+
+    private static final String[] BRANDS = {"애플", "삼성", "LG", "소니", "닌텐도", "다이슨", "나이키", "아디다스", "이케아", "로지텍", "캐논", "필립스"};
+    private static final String[] ITEMS = {"아이폰", "갤럭시", "맥북", "아이패드", "에어팟", "헤드폰", "모니터", "키보드", "마우스", "스위치",
+            "청소기", "운동화", "패딩", "책상", "의자", "카메라", "렌즈", "노트북", "태블릿", "스피커", "전기포트", "자전거", "텐트", "유모차"};
+    private static final String[] MODELS = {"프로", "맥스", "미니", "울트라", "에어", "플러스", "2세대", "3세대", "13", "14", "15", "S23", "M2", "OLED", "라이트"};
+    private static final String[] CONDITIONS = {"새상품", "미개봉", "풀박스", "거의 새것", "사용감 있음", "생활기스", "급처", "상태 좋음", "A급", "박스 없음"};
+    private static final String[] PHRASES = {"직거래 선호합니다", "택배 가능합니다", "네고 가능", "네고 불가", "구매 후 몇 번 안 썼어요",
+            "선물 받은 제품입니다", "이사 때문에 정리합니다", "정품 인증 가능", "충전기 포함", "케이스 같이 드려요",
+            "역삼역 근처 거래", "주말 거래 가능", "문의 주세요", "사진 그대로입니다", "하자 없습니다", "보증기간 남았어요"};
+    private static final String[] EDITS = {"급처", "가격내림", "재업", "오늘만", "최저가", "쿨거래"};
+
+    public static void main(String[] args) {
+        int listings = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int sellers = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int maxDistance = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        double repostRate = 0.3;
+        Random random = new Random(42);
+
+        String[] titles = new String[listings];
+        String[] descriptions = new String[listings];
+        long[] sellerIds = new long[listings];
+        int[] group = new int[listings];  // 정답 클러스터 (원본 매물 번호)
+
+        for (int i = 0; i < listings; i++) {
+            if (i > 0 && random.nextDouble() < repostRate) {
+                int original = group[random.nextInt(i)];
+                titles[i] = edit(titles[original], random);
+                descriptions[i] = edit(descriptions[original], random);
+                sellerIds[i] = sellerIds[original];
+                group[i] = original;
+            } else {
+                titles[i] = pick(BRANDS, random) + " " + pick(ITEMS, random) + " " + pick(MODELS, random) + " " + pick(CONDITIONS, random);
+                descriptions[i] = pick(PHRASES, random) + ". " + pick(PHRASES, random) + ". " + pick(PHRASES, random) + ". "
+                        + (random.nextInt(900) + 100) + "번 정도 사용";
+                sellerIds[i] = random.nextInt(sellers) + 1;
+                group[i] = i;
+            }
+        }
+
+        long start = System.nanoTime();
+        long[] signatures = new long[listings];
+        for (int i = 0; i < listings; i++) {
+            signatures[i] = ListingSimHash.of(titles[i], descriptions[i]);
+        }
+        long signNanos = System.nanoTime() - start;
+
+        SimHashLshIndex index = new SimHashLshIndex(maxDistance);
+        start = System.nanoTime();
+        for (int i = 0; i < listings; i++) {
+            index.add(i, sellerIds[i], signatures[i]);
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        long reposts = 0;
+        long detected = 0;
+        long reported = 0;
+        long falsePositives = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < listings; i++) {
+            List<Long> duplicates = index.nearDuplicates(sellerIds[i], signatures[i], i);
+            boolean isRepost = group[i] != i;
+            if (isRepost) {
+                reposts++;
+            }
+            boolean found = false;
+            for (long duplicate : duplicates) {
+                reported++;
+                if (group[(int) duplicate] != group[i]) {
+                    falsePositives++;
+                } else {
+                    found = true;
+                }
+            }
+            if (isRepost && found) {
+                detected++;
+            }
+        }
+        long queryNanos = System.nanoTime() - start;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+
+        System.out.printf("listings=%d sellers=%d maxDistance=%d reposts=%d%n", listings, sellers, maxDistance, reposts);
+        System.out.printf("signature: %.0f listings/s%n", listings / (signNanos / 1e9));
+        System.out.printf("index build: %d ms%n", indexNanos / 1_000_000);
+        System.out.printf("query: %.2f us/listing%n", queryNanos / 1e3 / listings);
+        System.out.printf("recall (repost -> same-item listing found): %.4f%n", reposts == 0 ? 1.0 : (double) detected / reposts);
+        System.out.printf("false positive share of reported pairs: %.4f (%d/%d)%n",
+                reported == 0 ? 0.0 : (double) falsePositives / reported, falsePositives, reported);
+        System.out.printf("heap used after build: %d MB%n", usedMb);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // 재등록 시 흔한 수정: 앞/뒤에 홍보 문구 추가, 단어 하나 삭제, 문장부호 변경
+    private static String edit(String text, Random random) {
+        List<String> words = new ArrayList<>(List.of(text.split(" ")));
+        switch (random.nextInt(4)) {
+            case 0 -> words.add(0, "[" + pick(EDITS, random) + "]");
+            case 1 -> words.add(pick(EDITS, random));
+            case 2 -> {
+                if (words.size() > 3) {
+                    words.remove(random.nextInt(words.size()));
+                }
+            }
+            default -> {
+                return text.replace(".", "!").replace(" ", "  ");
+            }
+        }
+        return String.join(" ", words);
+    }
+}
@@ -0,0 +1,58 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationDTO;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LLMResponseParserTest {
+
+    private final LLMResponseParser parser = new LLMResponseParser(new ObjectMapper());
+
+    private Map<Long, ProductRecommendationDTO> candidates(int size) {
+        List<ProductRecommendationDTO> products = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            ProductRecommendationDTO dto = new ProductRecommendationDTO();
+            dto.setId(id);
+            products.add(dto);
+        }
+        return LLMResponseParser.indexById(products);
+    }
+
+    @Test
+    void parsesStructuredResponseAndDropsUnknownIds() {
+        String content = """
+                ```json
+                {"recommendations": [
+                  {"productId": 3, "reason": "가격이 저렴합니다"},
+                  {"productId": 9999, "reason": "목록에 없음"},
+                  {"productId": 3, "reason": "중복"},
+                  {"productId": 500, "reason": "매너 점수가 높습니다", "extra": true}
+                ]}
+                ```""";
+
+        List<ProductRecommendationResponse> result = parser.parse(content, candidates(500));
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getProductId());
+        assertEquals("가격이 저렴합니다", result.get(0).getRecommendationReason());
+        assertEquals(500L, result.get(1).getProductId());
+    }
+
+    @Test
+    void fallsBackToFreeTextFormat() {
+        String content = "[상품1] 새상품에 가깝습니다\n[상품42] 조회수가 많습니다\n[상품777] 없는 상품";
+
+        List<ProductRecommendationResponse> result = parser.parse(content, candidates(500));
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getProductId());
+        assertEquals(42L, result.get(1).getProductId());
+    }
+}
@@ -0,0 +1,170 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.config.ModelRoutingProperties;
+import ac.su.kdt.secondhandmarketplace.dto.PerplexityChatResponse;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationDTO;
+import ac.su.kdt.secondhandmarketplace.dto.ProductRecommendationResponse;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 로컬 스텁 Perplexity 엔드포인트(JDK HttpServer)로 모델 라우팅과 상위 모델 재요청을 검증
+class ModelRouterTest {
+
+    private static final String SIMPLE = "stub-fast";
+    private static final String COMPLEX = "stub-pro";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LLMResponseParser parser = new LLMResponseParser(objectMapper);
+    private final List<String> requestedModels = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private WebClient webClient;
+    private ModelRouter router;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/chat/completions", this::handle);
+        server.start();
+        webClient = WebClient.create("http://localhost:" + server.getAddress().getPort());
+
+        ModelRoutingProperties properties = new ModelRoutingProperties();
+        properties.setSimple(new ModelRoutingProperties.Model(SIMPLE, 400, 300));
+        properties.setComplex(new ModelRoutingProperties.Model(COMPLEX, 1000, 5000));
+        router = new ModelRouter(properties, new RegionService(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    // 단순 모델: 프롬프트에 "모호" 가 있으면 빈 추천, "느림" 이 있으면 지연 목표보다 늦게 응답
+    // 상위 모델: 항상 1번 상품 추천
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+        String model = (String) body.get("model");
+        String prompt = String.valueOf(body.get("messages"));
+        requestedModels.add(model);
+        String content = "{\"recommendations\":[{\"productId\":1,\"reason\":\"조건에 맞습니다\"}]}";
+        if (SIMPLE.equals(model) && prompt.contains("모호")) {
+            content = "{\"recommendations\":[]}";
+        }
+        if (SIMPLE.equals(model) && prompt.contains("느림")) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] response = objectMapper.writeValueAsBytes(Map.of(
+                "model", model,
+                "choices", List.of(Map.of("message", Map.of("role", "assistant", "content", content))),
+                "usage", Map.of("total_tokens", 42)));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 지연 목표 초과로 연결을 끊은 경우
+        }
+    }
+
+    private Function<ModelRoutingProperties.Model, Mono<List<ProductRecommendationResponse>>> call(String prompt) {
+        ProductRecommendationDTO candidate = new ProductRecommendationDTO();
+        candidate.setId(1L);
+        Map<Long, ProductRecommendationDTO> candidates = LLMResponseParser.indexById(List.of(candidate));
+        return model -> webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(Map.of(
+                        "model", model.getName(),
+                        "max_tokens", model.getMaxTokens(),
+                        "messages", List.of(Map.of("role", "user", "content", prompt))))
+                .retrieve()
+                .bodyToMono(PerplexityChatResponse.class)
+                .map(response -> parser.parse(response.firstContent(), candidates));
+    }
+
+    private List<ProductRecommendationResponse> execute(ModelRouter.Route route, String prompt) {
+        return router.execute(route, call(prompt), recommendations -> !recommendations.isEmpty())
+                .block(Duration.ofSeconds(10));
+    }
+
+    private RecommendationCriteria structuredCriteria() {
+        RecommendationCriteria criteria = new RecommendationCriteria();
+        criteria.setProductName("아이폰");
+        criteria.setMaxPrice(new BigDecimal("500000"));
+        criteria.setSortBy("price");
+        criteria.setSortDirection("asc");
+        return criteria;
+    }
+
+    @Test
+    void classifiesByCriteriaAndCandidateCount() {
+        RecommendationCriteria criteria = structuredCriteria();
+
+        assertEquals(ModelRouter.Tier.SIMPLE, router.route(criteria, "아이폰 50만원 이하 가격순", 10).tier());
+        assertEquals(ModelRouter.REASON_FREE_TEXT,
+                router.route(criteria, "아이폰 50만원 이하 중에서 자취방 영상 편집용으로 배터리 괜찮은 거 비교해줘", 10).reason());
+        assertEquals(ModelRouter.REASON_MANY_CANDIDATES, router.route(criteria, "아이폰 50만원 이하 가격순", 100).reason());
+        assertEquals(ModelRouter.REASON_NO_FILTER, router.route(new RecommendationCriteria(), "선물할 만한 거", 10).reason());
+    }
+
+    @Test
+    void confidentSimpleAnswerIsNotEscalated() {
+        List<ProductRecommendationResponse> result = execute(new ModelRouter.Route(ModelRouter.Tier.SIMPLE, ModelRouter.REASON_STRUCTURED), "아이폰 추천");
+
+        assertEquals(1, result.size());
+        assertEquals(List.of(SIMPLE), requestedModels);
+        assertEquals(1, router.calls(SIMPLE));
+        assertEquals(0, router.calls(COMPLEX));
+    }
+
+    @Test
+    void lowConfidenceAnswerEscalatesToComplexModel() {
+        List<ProductRecommendationResponse> result = execute(new ModelRouter.Route(ModelRouter.Tier.SIMPLE, ModelRouter.REASON_STRUCTURED), "모호한 요청");
+
+        assertFalse(result.isEmpty());
+        assertEquals(List.of(SIMPLE, COMPLEX), requestedModels);
+        assertEquals(1, router.counter("escalate." + ModelRouter.ESCALATE_LOW_CONFIDENCE));
+        assertEquals(1, router.calls(COMPLEX));
+    }
+
+    @Test
+    void simpleModelMissingLatencySloEscalates() {
+        long start = System.nanoTime();
+        List<ProductRecommendationResponse> result = execute(new ModelRouter.Route(ModelRouter.Tier.SIMPLE, ModelRouter.REASON_STRUCTURED), "느림");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(result.isEmpty());
+        assertEquals(1, router.counter("escalate." + ModelRouter.ESCALATE_SLO));
+        assertEquals(1, router.calls(COMPLEX));
+        assertEquals(0, router.calls(SIMPLE), "timed-out simple call must not be recorded as a completed call");
+        assertTrue(elapsedMs < 1000, "escalation must not wait for the slow model: " + elapsedMs + "ms");
+    }
+}
@@ -0,0 +1,68 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceIntervalTreeTest {
+
+    private static Set<String> stab(PriceIntervalTree<String> tree, long point) {
+        Set<String> found = new HashSet<>();
+        tree.stab(point, found::add);
+        return found;
+    }
+
+    @Test
+    void findsIntervalsContainingPriceIncludingOpenBounds() {
+        PriceIntervalTree<String> tree = new PriceIntervalTree<>();
+        tree.add(1, Long.MIN_VALUE, 1_000_000, "100만원 이하");
+        tree.add(2, 500_000, 800_000, "50~80만원");
+        tree.add(3, 900_000, Long.MAX_VALUE, "90만원 이상");
+        tree.add(4, Long.MIN_VALUE, Long.MAX_VALUE, "가격 무관");
+
+        assertEquals(Set.of("100만원 이하", "50~80만원", "가격 무관"), stab(tree, 800_000));
+        assertEquals(Set.of("100만원 이하", "90만원 이상", "가격 무관"), stab(tree, 1_000_000));
+        assertEquals(Set.of("90만원 이상", "가격 무관"), stab(tree, 1_000_001));
+
+        tree.remove(1);
+        tree.add(2, 850_000, 950_000, "85~95만원");  // 같은 id 는 교체
+        assertEquals(Set.of("85~95만원", "90만원 이상", "가격 무관"), stab(tree, 900_000));
+        assertEquals(3, tree.size());
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        PriceIntervalTree<String> tree = new PriceIntervalTree<>();
+        Map<Long, long[]> expected = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                tree.remove(id);
+                expected.remove(id);
+            } else {
+                long low = random.nextInt(10) == 0 ? Long.MIN_VALUE : random.nextInt(1_000_000);
+                long high = random.nextInt(10) == 0 ? Long.MAX_VALUE : Math.max(low, 0) + random.nextInt(300_000);
+                tree.add(id, low, high, String.valueOf(id));
+                expected.put(id, new long[]{low, high});
+            }
+            if (step % 100 == 0) {
+                long point = random.nextInt(1_300_000);
+                Set<String> brute = new HashSet<>();
+                expected.forEach((key, interval) -> {
+                    if (interval[0] <= point && point <= interval[1]) {
+                        brute.add(String.valueOf(key));
+                    }
+                });
+                assertEquals(brute, stab(tree, point));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+    }
+}
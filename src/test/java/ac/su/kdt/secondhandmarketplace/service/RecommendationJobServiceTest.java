@@ -0,0 +1,167 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationJobResponse;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationRequest;
+import ac.su.kdt.secondhandmarketplace.dto.RecommendationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 스텁 추천 파이프라인으로 작업 중복 제거 / 완료 처리를 검증
+class RecommendationJobServiceTest {
+
+    private final PerplexityService perplexityService = mock(PerplexityService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RecommendationJobService jobService;
+
+    private RecommendationJobService jobService(int workers, int queueCapacity) {
+        RecommendationJobService service = new RecommendationJobService(perplexityService, workers, queueCapacity);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 5L);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(service, "sseTimeoutMs", 1000L);
+        return service;
+    }
+
+    // release 가 열릴 때까지 끝나지 않는 스텁 추천
+    private void stubBlockedRecommendation(String content) {
+        when(perplexityService.getRecommendations(any(), any(), any())).thenReturn(Mono.fromCallable(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new RecommendationResponse(content);
+        }));
+    }
+
+    private static RecommendationRequest request(String text) {
+        RecommendationRequest request = new RecommendationRequest();
+        request.setUserRequest(text);
+        return request;
+    }
+
+    private RecommendationJobResponse awaitDone(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            RecommendationJobResponse job = jobService.find(jobId).orElseThrow();
+            if (RecommendationJobService.STATUS_SUCCEEDED.equals(job.status()) || RecommendationJobService.STATUS_FAILED.equals(job.status())) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("job did not finish: " + jobId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long counter(String name) {
+        Map<String, Long> counters = (Map<String, Long>) jobService.stats().get("counters");
+        return counters.getOrDefault(name, 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+    }
+
+    @Test
+    void sameRequestWhileActiveReturnsExistingJob() throws Exception {
+        jobService = jobService(2, 10);
+        stubBlockedRecommendation("추천");
+
+        String first = jobService.submit(request("노트북 추천"), "user:1").orElseThrow().jobId();
+        String again = jobService.submit(request("  노트북 추천 "), "user:1").orElseThrow().jobId();
+        String otherUser = jobService.submit(request("노트북 추천"), "user:2").orElseThrow().jobId();
+
+        assertEquals(first, again);
+        assertNotEquals(first, otherUser);
+        assertEquals(1, counter("deduplicated"));
+
+        // 끝난 작업은 중복 제거 대상이 아니므로 같은 요청이 새 작업을 만든다
+        release.countDown();
+        awaitDone(first);
+        String afterCompletion = jobService.submit(request("노트북 추천"), "user:1").orElseThrow().jobId();
+        assertNotEquals(first, afterCompletion);
+    }
+
+    @Test
+    void concurrentDuplicateSubmissionsRunOnce() throws Exception {
+        jobService = jobService(4, 100);
+        stubBlockedRecommendation("추천");
+        int submitters = 16;
+        CyclicBarrier start = new CyclicBarrier(submitters);
+        ExecutorService pool = Executors.newFixedThreadPool(submitters);
+
+        List<CompletableFuture<String>> futures = IntStream.range(0, submitters)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return jobService.submit(request("자전거"), "user:1").orElseThrow().jobId();
+                }, pool))
+                .toList();
+        Set<String> jobIds = futures.stream().map(CompletableFuture::join).collect(Collectors.toSet());
+        pool.shutdown();
+        release.countDown();
+        awaitDone(jobIds.iterator().next());
+
+        assertEquals(1, jobIds.size(), "duplicate submissions must share one job: " + jobIds);
+        verify(perplexityService, times(1)).getRecommendations(any(), any(), any());
+        assertEquals(submitters - 1, counter("deduplicated"));
+    }
+
+    @Test
+    void completedJobExposesResultAndFailure() throws Exception {
+        jobService = jobService(1, 10);
+        when(perplexityService.getRecommendations(any(), any(), any()))
+                .thenReturn(Mono.just(new RecommendationResponse("결과")))
+                .thenReturn(Mono.error(new IllegalStateException("LLM 오류")));
+
+        RecommendationJobResponse succeeded = awaitDone(jobService.submit(request("a"), "user:1").orElseThrow().jobId());
+        RecommendationJobResponse failed = awaitDone(jobService.submit(request("b"), "user:1").orElseThrow().jobId());
+
+        assertEquals(RecommendationJobService.STATUS_SUCCEEDED, succeeded.status());
+        assertEquals("결과", succeeded.result().getContent());
+        assertTrue(succeeded.completedAt() != null);
+        assertEquals(RecommendationJobService.STATUS_FAILED, failed.status());
+        assertEquals("LLM 오류", failed.error());
+        assertEquals(1, counter("succeeded"));
+        assertEquals(1, counter("failed"));
+    }
+
+    @Test
+    void fullQueueRejectsAndReleasesDedupKey() throws Exception {
+        jobService = jobService(1, 1);
+        stubBlockedRecommendation("추천");
+
+        jobService.submit(request("a"), "user:1").orElseThrow();  // 실행 중
+        String queued = jobService.submit(request("b"), "user:1").orElseThrow().jobId();  // 대기열
+        assertTrue(jobService.submit(request("c"), "user:1").isEmpty());
+        assertEquals(1, counter("rejected"));
+
+        // 거절된 요청의 키는 남지 않으므로 자리가 나면 같은 요청을 다시 등록할 수 있다
+        release.countDown();
+        awaitDone(queued);
+        assertTrue(jobService.submit(request("c"), "user:1").isPresent());
+    }
+}
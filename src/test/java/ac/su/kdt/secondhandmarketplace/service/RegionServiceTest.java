@@ -0,0 +1,82 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// regions.tsv 사전으로 자유 텍스트 지역 인식을 검증 (DB 없이 parse 만 사용)
+class RegionServiceTest {
+
+    private final RegionService regionService = new RegionService(null);
+
+    private String parsedName(String text) {
+        RegionService.Region region = regionService.parse(text);
+        return region != null ? region.name() : null;
+    }
+
+    @Test
+    void fullAndAbbreviatedNamesResolveToMostSpecificRegion() {
+        assertEquals("역삼동", parsedName("서울 강남구 역삼동 맥북"));
+        assertEquals("역삼동", parsedName("강남 역삼 맥북"));
+        assertEquals("강남구", parsedName("강남에서 아이폰"));
+        assertEquals("서울특별시", parsedName("서울시 자전거"));
+        assertEquals("수원시", parsedName("수원 근처 책상"));
+    }
+
+    @Test
+    void commonWordsAreNotRegions() {
+        assertNull(parsedName("삼성 갤럭시"));                 // 삼성동
+        assertNull(parsedName("신사 정장"));                   // 신사동
+        assertNull(parsedName("정상 동작 확인된 맥북"));        // 동작구
+        assertNull(parsedName("화성 탐사 레고"));               // 화성시
+        assertNull(parsedName("동작의 원리 책"));
+    }
+
+    @Test
+    void sigunguShortFormNeedsSidoOrLocationSuffix() {
+        assertEquals("동작구", parsedName("서울 동작 맥북"));
+        assertEquals("동작구", parsedName("동작에서 직거래"));
+        assertEquals("화성시", parsedName("경기 화성 유모차"));
+        assertEquals("화성시", parsedName("화성근처 유모차"));
+        assertEquals("동작구", parsedName("동작구 맥북"));
+    }
+
+    @Test
+    void dongShortFormNeedsSigunguContext() {
+        assertEquals("삼성동", parsedName("강남 삼성 아이패드"));
+        assertEquals("대치동", parsedName("강남구 대치 교재"));
+        assertNull(parsedName("대치 교재"));
+    }
+
+    @Test
+    void conflictingContextIsIgnored() {
+        // 송파구 안에 역삼동이 없으므로 구까지만 인정
+        assertEquals("송파구", parsedName("송파 역삼 맥북"));
+        // 부산 문맥에서 서울의 구는 인정하지 않는다
+        assertEquals("부산광역시", parsedName("부산 동작 맥북"));
+    }
+
+    @Test
+    void cityWithDistrictsCoversDistrictCodes() {
+        RegionService.Region suwon = regionService.parse("수원시");
+        RegionService.Region jangan = new RegionService.Region(4111100000L, "장안구", RegionService.Level.SIGUNGU, 4111199999L);
+        RegionService.Region yongin = regionService.parse("용인시");
+
+        assertTrue(suwon.contains(jangan));
+        assertFalse(yongin.contains(jangan));
+        assertEquals(4111999999L, suwon.rangeTo());
+        assertEquals(1168099999L, regionService.parse("강남구").rangeTo());
+    }
+
+    @Test
+    void parentWalksUpTheHierarchy() {
+        RegionService.Region yeoksam = regionService.parse("서울 강남구 역삼동");
+
+        assertEquals("강남구", regionService.parent(yeoksam).name());
+        assertEquals("서울특별시", regionService.parent(regionService.parent(yeoksam)).name());
+        assertNull(regionService.parent(regionService.parse("서울")));
+    }
+}
@@ -0,0 +1,74 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReputationModelTest {
+
+    private static final long DAY = 86_400;
+    private static final long NOW = ReputationModel.LANDMARK_EPOCH_SECOND + 400 * DAY;
+
+    private final ReputationModel model = new ReputationModel(180, 3.5, 5, 0.2, 4.0);
+
+    @Test
+    void fewReviewsArePulledTowardPrior() {
+        ReputationModel.State single = new ReputationModel.State();
+        model.applyReview(single, 5.0, NOW);
+
+        ReputationModel.State many = new ReputationModel.State();
+        for (int i = 0; i < 50; i++) {
+            model.applyReview(many, 5.0, NOW);
+        }
+
+        assertTrue(model.score(single) < 4.0, "one 5-star review must not look like a perfect seller");
+        assertTrue(model.score(many) > 4.8);
+    }
+
+    @Test
+    void oldReviewsWeighLessThanRecentOnes() {
+        ReputationModel.State recovered = new ReputationModel.State();
+        ReputationModel.State declined = new ReputationModel.State();
+        for (int i = 0; i < 10; i++) {
+            model.applyReview(recovered, 1.0, NOW - 720 * DAY);
+            model.applyReview(recovered, 5.0, NOW);
+            model.applyReview(declined, 5.0, NOW - 720 * DAY);
+            model.applyReview(declined, 1.0, NOW);
+        }
+
+        assertTrue(model.score(recovered) > model.score(declined));
+    }
+
+    @Test
+    void arrivalOrderDoesNotChangeScore() {
+        List<long[]> events = new ArrayList<>();  // {epochSecond, rating(0 = 거래)}
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            events.add(new long[]{NOW - random.nextInt(1000) * DAY, random.nextInt(6)});
+        }
+        ReputationModel.State ordered = replay(events);
+        Collections.shuffle(events, random);
+        ReputationModel.State shuffled = replay(events);
+
+        assertEquals(model.score(ordered), model.score(shuffled));
+        assertEquals(ordered.getReviewCount(), shuffled.getReviewCount());
+    }
+
+    private ReputationModel.State replay(List<long[]> events) {
+        ReputationModel.State state = new ReputationModel.State();
+        for (long[] event : events) {
+            if (event[1] == 0) {
+                model.applyTransaction(state, event[0]);
+            } else {
+                model.applyReview(state, event[1], event[0]);
+            }
+        }
+        return state;
+    }
+}
@@ -0,0 +1,77 @@
+package ac.su.kdt.secondhandmarketplace.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    @Test
+    void matchesSyllablesStillBeingTyped() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        put(trie, "맥북 에어 M1", 1);
+        put(trie, "아프리카 여행 도서", 1);
+        put(trie, "과자", 1);
+
+        assertEquals(List.of("맥북 에어 M1"), find(trie, "맥ㅂ"));
+        assertEquals(List.of("맥북 에어 M1"), find(trie, "맥북에"));
+        assertEquals(List.of("아프리카 여행 도서"), find(trie, "앞"), "받침이 다음 글자 초성이 되는 입력 중간 상태");
+        assertEquals(List.of("과자"), find(trie, "고"), "겹모음 입력 중간 상태");
+        assertTrue(find(trie, "맥북프").isEmpty());
+    }
+
+    @Test
+    void returnsHighestWeightFirstAndFollowsUpdates() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        put(trie, "아이폰 13", 5);
+        put(trie, "아이폰 14 Pro", 3);
+        put(trie, "아이패드 에어", 1);
+        assertEquals(List.of("아이폰 13", "아이폰 14 Pro"), find(trie, "아이"));
+
+        put(trie, "아이패드 에어", 10);
+        assertEquals(List.of("아이패드 에어", "아이폰 13"), find(trie, "아이"));
+
+        trie.remove(HangulJamo.decompose("아이패드 에어"), "아이패드 에어");
+        assertEquals(List.of("아이폰 13", "아이폰 14 Pro"), find(trie, "아이"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void bulkLoadMatchesIncrementalInserts() {
+        String[] titles = {"갤럭시 S23", "갤럭시 Z플립5", "갤럭시 버즈2 이어폰", "갤럭시 탭 S8 태블릿", "LG 그램 노트북"};
+        SuggestionTrie incremental = new SuggestionTrie(3);
+        SuggestionTrie bulk = new SuggestionTrie(3);
+        for (int i = 0; i < titles.length; i++) {
+            put(incremental, titles[i], i);
+            bulk.add(HangulJamo.decompose(titles[i]), new SuggestionTrie.Suggestion(titles[i], "TITLE", i));
+        }
+        bulk.recomputeAll();
+
+        assertEquals(find(incremental, "갤"), find(bulk, "갤"));
+        assertEquals(List.of("갤럭시 탭 S8 태블릿", "갤럭시 버즈2 이어폰", "갤럭시 Z플립5"), find(bulk, "갤"));
+    }
+
+    @Test
+    void consonantOnlyInputUsesInitials() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        trie.put(HangulJamo.initials("아이폰 13"), new SuggestionTrie.Suggestion("아이폰 13", "TITLE", 1));
+
+        assertTrue(HangulJamo.isInitialsQuery("ㅇㅇㅍ"));
+        assertEquals(List.of("아이폰 13"), texts(trie.find(HangulJamo.initials("ㅇㅇㅍ"), 10)));
+    }
+
+    private static void put(SuggestionTrie trie, String text, double weight) {
+        trie.put(HangulJamo.decompose(text), new SuggestionTrie.Suggestion(text, "TITLE", weight));
+    }
+
+    private static List<String> find(SuggestionTrie trie, String prefix) {
+        return texts(trie.find(HangulJamo.decompose(prefix), 10));
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::text).toList();
+    }
+}
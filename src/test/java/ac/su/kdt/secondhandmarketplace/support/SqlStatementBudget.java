@@ -0,0 +1,18 @@
+package ac.su.kdt.secondhandmarketplace.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 테스트 메서드가 실행할 수 있는 최대 SQL 문 수를 선언한다.
+// 초과하면 테스트가 실패한다. (N+1 회귀 방지)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    int value();
+}
@@ -0,0 +1,28 @@
+package ac.su.kdt.secondhandmarketplace.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// @SqlStatementBudget 으로 선언한 SQL 문 예산을 검사하는 JUnit 확장
+public class SqlStatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlStatementCounter.reset();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        int budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlStatementBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlStatementBudget.class))
+                .map(SqlStatementBudget::value)
+                .orElse(Integer.MAX_VALUE);
+        int executed = SqlStatementCounter.count();
+        assertTrue(executed <= budget,
+                () -> "SQL statement budget exceeded: executed " + executed + ", budget " + budget);
+    }
+}